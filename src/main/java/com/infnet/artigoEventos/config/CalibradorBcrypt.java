@@ -0,0 +1,51 @@
+package com.infnet.artigoEventos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Escolhe o custo do BCrypt na subida: o maior custo cujo hash, nesta maquina, fica dentro do
+ * tempo alvo. Cada ponto de custo dobra o tempo, entao basta medir a partir do minimo e subir
+ * enquanto o dobro da ultima medicao ainda couber no alvo.
+ */
+public final class CalibradorBcrypt {
+
+    private static final Logger log = LoggerFactory.getLogger(CalibradorBcrypt.class);
+    private static final String AMOSTRA = "calibracao-bcrypt";
+
+    private CalibradorBcrypt() {
+    }
+
+    public static int calibrar(Duration alvo, int minimo, int maximo) {
+        new BCryptPasswordEncoder(minimo).encode(AMOSTRA); // aquecimento (JIT)
+        return calibrar(alvo, minimo, maximo, CalibradorBcrypt::medir);
+    }
+
+    // a medicao vem de fora para os testes da escolha nao dependerem do relogio
+    static int calibrar(Duration alvo, int minimo, int maximo, IntToLongFunction medir) {
+        int custo = minimo;
+        long nanos = medir.applyAsLong(custo);
+        while (custo < maximo && nanos * 2 <= alvo.toNanos()) {
+            custo++;
+            nanos = medir.applyAsLong(custo);
+        }
+        if (nanos > alvo.toNanos() && custo > minimo) {
+            custo--;
+            nanos /= 2;
+        }
+        log.info("Custo do BCrypt calibrado em {} (~{} ms por hash, alvo {} ms)",
+                custo, nanos / 1_000_000, alvo.toMillis());
+        return custo;
+    }
+
+    static long medir(int custo) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(custo);
+        long inicio = System.nanoTime();
+        encoder.encode(AMOSTRA);
+        return System.nanoTime() - inicio;
+    }
+}
@@ -0,0 +1,67 @@
+package com.infnet.artigoEventos.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource que conta cada execute* (JPA e JdbcTemplate passam por aqui) na ContagemSql da
+ * thread. Um executeBatch conta como um comando, ja que e uma ida ao banco.
+ */
+public class ContadorSqlDataSource extends DelegatingDataSource {
+
+    public ContadorSqlDataSource(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conexao(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String senha) throws SQLException {
+        return conexao(super.getConnection(usuario, senha));
+    }
+
+    private static Connection conexao(Connection alvo) {
+        return (Connection) Proxy.newProxyInstance(ContadorSqlDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, metodo, args) -> {
+                    Object resultado = invocar(alvo, metodo, args);
+                    if (resultado instanceof Statement comando && metodo.getReturnType().isInterface()) {
+                        return Proxy.newProxyInstance(ContadorSqlDataSource.class.getClassLoader(),
+                                new Class<?>[]{metodo.getReturnType()}, contador(comando));
+                    }
+                    return resultado;
+                });
+    }
+
+    private static InvocationHandler contador(Statement alvo) {
+        return (proxy, metodo, args) -> {
+            if (!metodo.getName().startsWith("execute")) {
+                return invocar(alvo, metodo, args);
+            }
+            long inicio = System.nanoTime();
+            try {
+                return invocar(alvo, metodo, args);
+            } finally {
+                ContagemSql.registrar(System.nanoTime() - inicio);
+            }
+        };
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
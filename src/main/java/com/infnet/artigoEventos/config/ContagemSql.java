@@ -0,0 +1,66 @@
+package com.infnet.artigoEventos.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Comandos SQL executados (e tempo gasto no banco) pela thread atual enquanto uma contagem
+ * estiver aberta. Alimentada pelo ContadorSqlDataSource; o OrcamentoSqlFilter abre uma por
+ * requisicao e os testes usam medir() para travar regressoes de N+1.
+ */
+public final class ContagemSql {
+
+    private static final ThreadLocal<ContagemSql> ATUAL = new ThreadLocal<>();
+
+    private int comandos;
+    private long nanos;
+
+    public static ContagemSql iniciar() {
+        ContagemSql contagem = new ContagemSql();
+        ATUAL.set(contagem);
+        return contagem;
+    }
+
+    public static void encerrar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * Executa a acao com uma contagem propria, restaurando a contagem externa (se houver) no final.
+     * A contagem externa tambem recebe os comandos da acao.
+     */
+    public static <T> Medicao<T> medir(Supplier<T> acao) {
+        ContagemSql externa = ATUAL.get();
+        ContagemSql contagem = iniciar();
+        try {
+            T resultado = acao.get();
+            return new Medicao<>(resultado, contagem.comandos, contagem.nanos);
+        } finally {
+            if (externa != null) {
+                externa.comandos += contagem.comandos;
+                externa.nanos += contagem.nanos;
+                ATUAL.set(externa);
+            } else {
+                encerrar();
+            }
+        }
+    }
+
+    static void registrar(long nanos) {
+        ContagemSql contagem = ATUAL.get();
+        if (contagem != null) {
+            contagem.comandos++;
+            contagem.nanos += nanos;
+        }
+    }
+
+    public int getComandos() {
+        return comandos;
+    }
+
+    public long getTempoMs() {
+        return nanos / 1_000_000;
+    }
+
+    public record Medicao<T>(T resultado, int comandos, long nanos) {
+    }
+}
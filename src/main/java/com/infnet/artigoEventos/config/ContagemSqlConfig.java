@@ -0,0 +1,54 @@
+package com.infnet.artigoEventos.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class ContagemSqlConfig {
+
+    @Bean
+    public static BeanPostProcessor contadorSqlDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ContadorSqlDataSource)) {
+                    return new ContadorSqlDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * app.sql.orcamento.rotas e uma lista "METODO /padrao=limite", ex.: GET /api/eventos/{id}=2
+     */
+    @Bean
+    public FilterRegistrationBean<OrcamentoSqlFilter> orcamentoSqlFilter(
+            @Value("${app.sql.orcamento.rotas:}") List<String> rotas,
+            @Value("${app.sql.orcamento.padrao:0}") int padrao,
+            @Value("${app.sql.orcamento.modo:log}") String modo) {
+        Map<String, Integer> orcamentos = new HashMap<>();
+        for (String rota : rotas) {
+            int separador = rota.lastIndexOf('=');
+            if (separador <= 0) {
+                throw new IllegalStateException("Orcamento SQL invalido: " + rota);
+            }
+            orcamentos.put(rota.substring(0, separador).trim(), Integer.parseInt(rota.substring(separador + 1).trim()));
+        }
+
+        FilterRegistrationBean<OrcamentoSqlFilter> registro = new FilterRegistrationBean<>(
+                new OrcamentoSqlFilter(orcamentos, padrao, "falhar".equals(modo)));
+        registro.addUrlPatterns("/api/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registro;
+    }
+}
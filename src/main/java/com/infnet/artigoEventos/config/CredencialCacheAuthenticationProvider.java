@@ -0,0 +1,52 @@
+package com.infnet.artigoEventos.config;
+
+import com.infnet.artigoEventos.service.CredencialCache;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Autenticacao usuario/senha (HTTP Basic) que consulta o CredencialCache antes de delegar ao
+ * provider com BCrypt. So verificacoes bem-sucedidas entram no cache; falhas sempre pagam o BCrypt.
+ */
+public class CredencialCacheAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegado;
+    private final CredencialCache credencialCache;
+
+    public CredencialCacheAuthenticationProvider(AuthenticationProvider delegado, CredencialCache credencialCache) {
+        this.delegado = delegado;
+        this.credencialCache = credencialCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (authentication.getCredentials() == null) {
+            throw new BadCredentialsException("Credenciais invalidas");
+        }
+        String chave = credencialCache.chave(authentication.getName(), authentication.getCredentials().toString());
+        UserDetails verificado = credencialCache.buscar(chave);
+        if (verificado != null) {
+            return UsernamePasswordAuthenticationToken.authenticated(verificado, null, verificado.getAuthorities());
+        }
+
+        long geracao = credencialCache.geracao();
+        Authentication resultado = delegado.authenticate(authentication);
+        if (resultado != null && resultado.isAuthenticated()) {
+            credencialCache.guardar(chave, User.withUsername(resultado.getName())
+                    .password("")
+                    .authorities(resultado.getAuthorities())
+                    .build(), geracao);
+        }
+        return resultado;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
@@ -0,0 +1,49 @@
+package com.infnet.artigoEventos.config;
+
+import com.infnet.artigoEventos.service.ImagemCache;
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Substitui o ResourceHttpMessageConverter padrao (o Spring Boot troca pelo bean da subclasse):
+ * imagens do ImagemCache vao do ByteBuffer fora do heap direto para a saida da resposta, em vez de
+ * passar pelo InputStream e por um byte[] no heap. Os demais Resources seguem o caminho normal.
+ */
+@Component
+public class ImagemCacheHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    @Override
+    protected void writeContent(Resource resource, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(resource instanceof ImagemCache.ImagemEmMemoria imagem)) {
+            super.writeContent(resource, outputMessage);
+            return;
+        }
+        OutputStream saida = outputMessage.getBody();
+        escrever(imagem.trecho(0, imagem.contentLength()), saida);
+        saida.flush();
+    }
+
+    // o CoyoteOutputStream do Tomcat aceita o ByteBuffer (no Servlet 6.1 vira ServletOutputStream.write(ByteBuffer));
+    // fora do Tomcat, como no MockMvc, o canal copia em blocos
+    static void escrever(ByteBuffer trecho, OutputStream saida) throws IOException {
+        if (saida instanceof CoyoteOutputStream tomcat) {
+            tomcat.write(trecho);
+            return;
+        }
+        WritableByteChannel canal = Channels.newChannel(saida);
+        while (trecho.hasRemaining()) {
+            canal.write(trecho);
+        }
+    }
+}
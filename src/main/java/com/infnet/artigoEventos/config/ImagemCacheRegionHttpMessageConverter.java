@@ -0,0 +1,37 @@
+package com.infnet.artigoEventos.config;
+
+import com.infnet.artigoEventos.service.ImagemCache;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * O mesmo do ImagemCacheHttpMessageConverter para pedidos com Range: o trecho de uma imagem em cache sai
+ * do ByteBuffer sem copia. Varios trechos na mesma resposta (multipart/byteranges) seguem o caminho normal.
+ */
+@Component
+public class ImagemCacheRegionHttpMessageConverter extends ResourceRegionHttpMessageConverter {
+
+    @Override
+    protected void writeResourceRegion(ResourceRegion region, HttpOutputMessage outputMessage) throws IOException {
+        if (!(region.getResource() instanceof ImagemCache.ImagemEmMemoria imagem)) {
+            super.writeResourceRegion(region, outputMessage);
+            return;
+        }
+        long total = imagem.contentLength();
+        long inicio = region.getPosition();
+        long fim = Math.min(inicio + region.getCount(), total);
+        HttpHeaders headers = outputMessage.getHeaders();
+        headers.add(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + '-' + (fim - 1) + '/' + total);
+        headers.setContentLength(fim - inicio);
+
+        OutputStream saida = outputMessage.getBody();
+        ImagemCacheHttpMessageConverter.escrever(imagem.trecho(inicio, fim - inicio), saida);
+        saida.flush();
+    }
+}
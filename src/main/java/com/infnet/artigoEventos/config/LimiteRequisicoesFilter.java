@@ -0,0 +1,167 @@
+package com.infnet.artigoEventos.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infnet.artigoEventos.service.LimitadorTaxa;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limita login e signup (BCrypt) e a criacao de eventos com upload, antes de qualquer autenticacao.
+ * Login consome do balde do IP e do balde do email informado; signup e upload so do IP.
+ * Estourado o limite responde 429 com Retry-After em segundos; login com corpo acima de
+ * MAXIMO_CORPO_LOGIN responde 413, para nao escapar do balde do email.
+ */
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    // um login legitimo e um JSON pequeno; acima disso a requisicao e recusada
+    private static final int MAXIMO_CORPO_LOGIN = 8192;
+
+    private final LimitadorTaxa limitadorTaxa;
+    private final ObjectMapper objectMapper;
+
+    public LimiteRequisicoesFilter(LimitadorTaxa limitadorTaxa, ObjectMapper objectMapper) {
+        this.limitadorTaxa = limitadorTaxa;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        LimitadorTaxa.Grupo grupo = grupo(request);
+        if (grupo == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Duration espera = limitadorTaxa.consumir(grupo, request.getRemoteAddr());
+        if (espera.isZero() && grupo == LimitadorTaxa.Grupo.LOGIN) {
+            CorpoLido corpo = CorpoLido.ler(request);
+            if (corpo == null) {
+                response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.getWriter().write("Corpo do login muito grande");
+                return;
+            }
+            request = corpo;
+            String email = email(corpo.bytes);
+            if (email != null) {
+                espera = limitadorTaxa.consumir(LimitadorTaxa.Grupo.LOGIN_EMAIL, email);
+            }
+        }
+
+        if (!espera.isZero()) {
+            long segundos = Math.max(1, (espera.toMillis() + 999) / 1000);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("Muitas requisicoes, tente novamente em " + segundos + " s");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private LimitadorTaxa.Grupo grupo(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return null;
+        }
+        return switch (request.getRequestURI()) {
+            case "/api/usuarios/login" -> LimitadorTaxa.Grupo.LOGIN;
+            case "/api/usuarios/signup" -> LimitadorTaxa.Grupo.SIGNUP;
+            case "/api/eventos" -> LimitadorTaxa.Grupo.UPLOAD;
+            default -> null;
+        };
+    }
+
+    private String email(byte[] corpo) {
+        try {
+            JsonNode email = objectMapper.readTree(corpo).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException | RuntimeException e) {
+            return null; // corpo invalido: a validacao do controller responde
+        }
+    }
+
+    // guarda o corpo ja lido para que o controller possa le-lo de novo
+    private static final class CorpoLido extends HttpServletRequestWrapper {
+
+        private final byte[] bytes;
+
+        private CorpoLido(HttpServletRequest request, byte[] bytes) {
+            super(request);
+            this.bytes = bytes;
+        }
+
+        // null se o corpo passa do limite; sem Content-Length (chunked) le ate o limite + 1 para descobrir
+        static CorpoLido ler(HttpServletRequest request) throws IOException {
+            if (request.getContentLengthLong() > MAXIMO_CORPO_LOGIN) {
+                return null;
+            }
+            byte[] bytes = request.getInputStream().readNBytes(MAXIMO_CORPO_LOGIN + 1);
+            return bytes.length > MAXIMO_CORPO_LOGIN ? null : new CorpoLido(request, bytes);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // o corpo ja esta todo em memoria: avisa na hora que ha dados e que acabou
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
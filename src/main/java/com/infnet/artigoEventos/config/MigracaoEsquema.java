@@ -0,0 +1,102 @@
+package com.infnet.artigoEventos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Roda o schema.sql e depois acrescenta as colunas que entraram depois do banco ja existir:
+ * CREATE TABLE IF NOT EXISTS nao mexe numa tabela criada antes e o SQLite nao tem ADD COLUMN IF NOT EXISTS,
+ * entao cada coluna e conferida em pragma_table_info. A coluna e o preenchimento inicial dela vao na
+ * mesma transacao, para o preenchimento rodar uma vez so. Substitui o inicializador do Spring Boot,
+ * entao quem depende do banco inicializado tambem espera a migracao.
+ */
+@Component
+public class MigracaoEsquema extends SqlDataSourceScriptDatabaseInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracaoEsquema.class);
+
+    record Coluna(String tabela, String nome, String definicao, String preenchimento) {
+    }
+
+    static final List<Coluna> COLUNAS = List.of(
+            new Coluna("eventos", "versao", "INTEGER NOT NULL DEFAULT 0", null),
+            new Coluna("eventos", "atualizado_em", "DATETIME", null),
+            new Coluna("eventos", "participant_count", "INTEGER NOT NULL DEFAULT 0",
+                    "UPDATE eventos SET participant_count = "
+                            + "(SELECT COUNT(*) FROM participante WHERE evento_id = eventos.id)"),
+            new Coluna("eventos", "capacidade", "INTEGER", null),
+            new Coluna("usuarios", "token_versao", "INTEGER NOT NULL DEFAULT 0", null));
+
+    private final DataSource dataSource;
+
+    public MigracaoEsquema(DataSource dataSource, SqlInitializationProperties properties) {
+        super(dataSource, properties);
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public boolean initializeDatabase() {
+        boolean executou = super.initializeDatabase();
+        try {
+            migrar(dataSource);
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Falha ao migrar o esquema do banco", e);
+        }
+        return executou;
+    }
+
+    static void migrar(DataSource dataSource) throws SQLException {
+        try (Connection conexao = dataSource.getConnection()) {
+            for (Coluna coluna : COLUNAS) {
+                Set<String> existentes = colunas(conexao, coluna.tabela());
+                // tabela ainda nao criada (spring.sql.init.mode=never num banco vazio): nada a migrar
+                if (existentes.isEmpty() || existentes.contains(coluna.nome())) {
+                    continue;
+                }
+                adicionar(conexao, coluna);
+            }
+        }
+    }
+
+    private static void adicionar(Connection conexao, Coluna coluna) throws SQLException {
+        boolean autoCommit = conexao.getAutoCommit();
+        conexao.setAutoCommit(false);
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute("ALTER TABLE " + coluna.tabela() + " ADD COLUMN " + coluna.nome() + " " + coluna.definicao());
+            if (coluna.preenchimento() != null) {
+                comando.executeUpdate(coluna.preenchimento());
+            }
+            conexao.commit();
+            log.info("Coluna {}.{} adicionada ao banco existente", coluna.tabela(), coluna.nome());
+        } catch (SQLException e) {
+            conexao.rollback();
+            throw e;
+        } finally {
+            conexao.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static Set<String> colunas(Connection conexao, String tabela) throws SQLException {
+        Set<String> colunas = new HashSet<>();
+        try (Statement comando = conexao.createStatement();
+             ResultSet resultado = comando.executeQuery("SELECT name FROM pragma_table_info('" + tabela + "')")) {
+            while (resultado.next()) {
+                colunas.add(resultado.getString(1));
+            }
+        }
+        return colunas;
+    }
+}
@@ -0,0 +1,118 @@
+package com.infnet.artigoEventos.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * Abre uma ContagemSql por requisicao, devolve X-SQL-Count / X-SQL-Time-Ms e compara o total com
+ * o orcamento da rota ("METODO /padrao/{var}"), ou com o padrao. Estourado o orcamento, loga um
+ * aviso ou, no modo falhar, lanca IllegalStateException (usado nos testes para barrar N+1).
+ * Os cabecalhos saem quando a resposta comeca a ser escrita; o log tem o total final.
+ */
+public class OrcamentoSqlFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO_COMANDOS = "X-SQL-Count";
+    public static final String CABECALHO_TEMPO = "X-SQL-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(OrcamentoSqlFilter.class);
+
+    private final Map<String, Integer> orcamentos;
+    private final int padrao;
+    private final boolean falhar;
+
+    public OrcamentoSqlFilter(Map<String, Integer> orcamentos, int padrao, boolean falhar) {
+        this.orcamentos = orcamentos;
+        this.padrao = padrao;
+        this.falhar = falhar;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContagemSql contagem = ContagemSql.iniciar();
+        try {
+            chain.doFilter(request, new ComCabecalhos(response, contagem));
+        } finally {
+            ContagemSql.encerrar();
+        }
+
+        Object padraoRota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String rota = request.getMethod() + " " + (padraoRota != null ? padraoRota : request.getRequestURI());
+        int limite = orcamentos.getOrDefault(rota, padrao);
+        log.debug("{} -> {} comandos SQL em {} ms", rota, contagem.getComandos(), contagem.getTempoMs());
+        if (limite > 0 && contagem.getComandos() > limite) {
+            String mensagem = rota + " executou " + contagem.getComandos() + " comandos SQL (orcamento " + limite + ")";
+            if (falhar) {
+                throw new IllegalStateException(mensagem);
+            }
+            log.warn(mensagem);
+        }
+    }
+
+    private static final class ComCabecalhos extends HttpServletResponseWrapper {
+
+        private final ContagemSql contagem;
+        private boolean escritos;
+
+        ComCabecalhos(HttpServletResponse response, ContagemSql contagem) {
+            super(response);
+            this.contagem = contagem;
+        }
+
+        private void escrever() {
+            if (!escritos && !isCommitted()) {
+                escritos = true;
+                setHeader(CABECALHO_COMANDOS, String.valueOf(contagem.getComandos()));
+                setHeader(CABECALHO_TEMPO, String.valueOf(contagem.getTempoMs()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            escrever();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            escrever();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            escrever();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            escrever();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            escrever();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            escrever();
+            super.sendRedirect(location);
+        }
+    }
+}
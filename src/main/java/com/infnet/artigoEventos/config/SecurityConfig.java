@@ -1,40 +1,117 @@
 package com.infnet.artigoEventos.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infnet.artigoEventos.service.CredencialCache;
+import com.infnet.artigoEventos.service.LimitadorTaxa;
+import com.infnet.artigoEventos.service.TokenService;
+import com.infnet.artigoEventos.service.UsuarioService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod; // IMPORT
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer; // IMPORT
+import org.springframework.security.config.ObjectPostProcessor;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.header.HeaderWriterFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 public class SecurityConfig {
 
+    // Basic continua aceito por compatibilidade; com app.auth.basic=false so o Bearer autentica
+    @Value("${app.auth.basic:true}")
+    private boolean basicHabilitado;
+
+    @Value("${app.limite.habilitado:true}")
+    private boolean limiteHabilitado;
+
+    /**
+     * Hashes novos saem como {bcrypt}$2a$<custo>$..., com o custo calibrado para app.senha.alvo
+     * (ou fixado em app.senha.custo). Hashes antigos sem prefixo continuam validos e sao refeitos
+     * no proximo login, assim como os de custo menor que o atual.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.senha.custo:0}") int custo,
+                                           @Value("${app.senha.alvo:PT0.25S}") Duration alvo,
+                                           @Value("${app.senha.custo-minimo:10}") int custoMinimo,
+                                           @Value("${app.senha.custo-maximo:16}") int custoMaximo) {
+        int custoEfetivo = custo > 0 ? custo : CalibradorBcrypt.calibrar(alvo, custoMinimo, custoMaximo);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(custoEfetivo);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public AuthenticationProvider authenticationProvider(UsuarioService usuarioService, PasswordEncoder passwordEncoder,
+                                                         CredencialCache credencialCache) {
+        DaoAuthenticationProvider bcrypt = new DaoAuthenticationProvider(usuarioService);
+        bcrypt.setPasswordEncoder(passwordEncoder);
+        bcrypt.setUserDetailsPasswordService(usuarioService);
+        return new CredencialCacheAuthenticationProvider(bcrypt, credencialCache);
+    }
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService,
+                                                   LimitadorTaxa limitadorTaxa, ObjectMapper objectMapper) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(sessao -> sessao.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // o export (StreamingResponseBody) escreve em outra thread; cabecalhos vao antes dela
+                .headers(headers -> headers.withObjectPostProcessor(new ObjectPostProcessor<HeaderWriterFilter>() {
+                    @Override
+                    public <F extends HeaderWriterFilter> F postProcess(F filtro) {
+                        filtro.setShouldWriteHeadersEagerly(true);
+                        return filtro;
+                    }
+                }))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/usuarios/signup").permitAll()
+                        .requestMatchers("/api/usuarios/login").permitAll()
+                        .requestMatchers("/api/usuarios/refresh").permitAll()
                         .requestMatchers("/api/swagger-ui/**").permitAll()
                         .requestMatchers("/api/v3/api-docs/**").permitAll()
                         .requestMatchers("/api/teste/**").permitAll()
 
+                        // a lista de participantes e so do organizador: precisa vir antes do GET liberado
+                        .requestMatchers(HttpMethod.GET, "/api/eventos/*/participantes").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/eventos").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/eventos/**").permitAll()
 
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         .anyRequest().authenticated()
                 )
-                .httpBasic(Customizer.withDefaults());
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class);
+
+        if (limiteHabilitado) {
+            http.addFilterBefore(new LimiteRequisicoesFilter(limitadorTaxa, objectMapper), TokenAuthenticationFilter.class);
+        }
+
+        if (basicHabilitado) {
+            http.httpBasic(Customizer.withDefaults());
+        } else {
+            http.exceptionHandling(erros -> erros.authenticationEntryPoint((request, response, e) -> {
+                response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            }));
+        }
 
         return http.build();
     }
-}
\ No newline at end of file
+}
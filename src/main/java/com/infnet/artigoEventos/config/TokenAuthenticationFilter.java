@@ -0,0 +1,56 @@
+package com.infnet.artigoEventos.config;
+
+import com.infnet.artigoEventos.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Autentica requisicoes com "Authorization: Bearer <token de acesso>" sem tocar no banco.
+ * Sem o cabecalho a requisicao segue para o Basic (se habilitado) ou fica anonima.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String PREFIXO = "Bearer ";
+
+    private final TokenService tokenService;
+
+    public TokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String cabecalho = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (cabecalho == null || !cabecalho.regionMatches(true, 0, PREFIXO, 0, PREFIXO.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        TokenService.Token token;
+        try {
+            token = tokenService.validar(cabecalho.substring(PREFIXO.length()).trim(), TokenService.ACESSO);
+        } catch (IllegalArgumentException e) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken autenticacao = UsernamePasswordAuthenticationToken.authenticated(
+                token.email(), null, AuthorityUtils.createAuthorityList(token.papeis()));
+        SecurityContext contexto = SecurityContextHolder.createEmptyContext();
+        contexto.setAuthentication(autenticacao);
+        SecurityContextHolder.setContext(contexto);
+        chain.doFilter(request, response);
+    }
+}
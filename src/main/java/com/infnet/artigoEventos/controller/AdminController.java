@@ -0,0 +1,84 @@
+package com.infnet.artigoEventos.controller;
+
+import com.infnet.artigoEventos.dto.CadastroLoteDto;
+import com.infnet.artigoEventos.dto.ImportacaoResumoDto;
+import com.infnet.artigoEventos.dto.MigracaoUploadsDto;
+import com.infnet.artigoEventos.dto.ReconciliacaoUploadsDto;
+import com.infnet.artigoEventos.dto.UsuarioDto;
+import com.infnet.artigoEventos.service.BackupService;
+import com.infnet.artigoEventos.service.MigracaoUploads;
+import com.infnet.artigoEventos.service.ReconciliadorUploads;
+import com.infnet.artigoEventos.service.UsuarioLoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private BackupService backupService;
+
+    @Autowired
+    private UsuarioLoteService usuarioLoteService;
+
+    @Autowired
+    private MigracaoUploads migracaoUploads;
+
+    @Autowired
+    private ReconciliadorUploads reconciliadorUploads;
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody corpo = backupService::exportar;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"artigoEventos.ndjson\"")
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(corpo);
+    }
+
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public ResponseEntity<?> importar(InputStream corpo) {
+        try {
+            ImportacaoResumoDto resumo = backupService.importar(corpo);
+            return ResponseEntity.ok(resumo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro lendo arquivo de importacao");
+        }
+    }
+
+    @PostMapping("/usuarios")
+    public ResponseEntity<?> cadastrarUsuarios(@RequestBody List<UsuarioDto> usuarios) {
+        try {
+            CadastroLoteDto resumo = usuarioLoteService.cadastrar(usuarios);
+            return ResponseEntity.ok(resumo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // roda um lote da migracao do diretorio de upload agora, sem esperar o agendamento
+    @PostMapping("/uploads/migracao")
+    public ResponseEntity<MigracaoUploadsDto> migrarUploads() {
+        return ResponseEntity.ok(migracaoUploads.migrarLote());
+    }
+
+    // passada completa do reconciliador (arquivos orfaos e referencias quebradas) fora do agendamento
+    @PostMapping("/uploads/reconciliacao")
+    public ResponseEntity<ReconciliacaoUploadsDto> reconciliarUploads() {
+        return ResponseEntity.ok(reconciliadorUploads.reconciliar());
+    }
+}
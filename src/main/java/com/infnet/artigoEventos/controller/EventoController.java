@@ -1,46 +1,170 @@
 package com.infnet.artigoEventos.controller;
 
 import com.infnet.artigoEventos.dto.EventoCreateDto;
+import com.infnet.artigoEventos.dto.EventoFiltroDto;
+import com.infnet.artigoEventos.dto.EventoResponseDto;
 import com.infnet.artigoEventos.dto.EventoUpdateDto;
+import com.infnet.artigoEventos.dto.EventoVersaoDto;
+import com.infnet.artigoEventos.dto.PaginaDto;
 import com.infnet.artigoEventos.dto.ParticipanteDto;
+import com.infnet.artigoEventos.dto.ReservaDto;
 import com.infnet.artigoEventos.model.Evento;
 import com.infnet.artigoEventos.model.Participante;
+import com.infnet.artigoEventos.service.ArmazenamentoImagens;
 import com.infnet.artigoEventos.service.EventoService;
+import com.infnet.artigoEventos.service.ParticipanteImportService;
+import com.infnet.artigoEventos.service.VariantesImagem;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.security.core.Authentication;
 
 import java.io.IOException;
-import java.util.List;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/eventos")
 @CrossOrigin(origins = "*")
 public class EventoController {
 
+    private static final String CSP_IMAGEM = "default-src 'none'; sandbox";
+
     @Autowired
     private EventoService eventoService;
 
+    @Autowired
+    private ParticipanteImportService participanteImportService;
+
     @GetMapping
-    public ResponseEntity<List<Evento>> getAllEventos() {
-        return ResponseEntity.ok(eventoService.getAllEventos());
+    public ResponseEntity<?> getAllEventos(
+            EventoFiltroDto filtro,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        try {
+            PaginaDto<EventoResponseDto> pagina = eventoService.listEventos(filtro, cursor, limite);
+            // se o If-None-Match bater, o Spring responde 304 sem serializar a pagina
+            return ResponseEntity.ok().eTag(etagPagina(pagina)).body(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> buscarEventos(
+            @RequestParam(name = "q", required = false) String termo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(eventoService.buscarEventos(termo, cursor, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<?> getCalendario(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) String agrupamento) {
+        try {
+            return ResponseEntity.ok(eventoService.getCalendario(de, ate, agrupamento));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<?> sugerirEventos(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(eventoService.sugerirEventos(prefix, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getEventoById(@PathVariable Integer id) {
+    public ResponseEntity<?> getEventoById(@PathVariable Integer id, WebRequest request) {
         try {
-            return ResponseEntity.ok(eventoService.getEventoById(id));
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                    || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+                // GET condicional: so a versao e consultada
+                EventoVersaoDto versao = eventoService.getEventoVersao(id);
+                if (request.checkNotModified(versao.etag(), versao.ultimaModificacaoMillis())) {
+                    return null;
+                }
+            }
+            EventoResponseDto evento = eventoService.getEventoResponseById(id);
+            EventoVersaoDto versao = evento.toVersao();
+            return ResponseEntity.ok()
+                    .eTag(versao.etag())
+                    .lastModified(versao.ultimaModificacaoMillis())
+                    .body(evento);
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
     }
 
+    // Range e 206/416 ficam com o Spring MVC (corpo Resource); o arquivo e copiado em blocos, sem byte[] inteiro
+    @GetMapping("/{id}/imagem")
+    public ResponseEntity<?> getEventoImagem(@PathVariable Integer id,
+                                             @RequestParam(required = false) String variant,
+                                             WebRequest request) {
+        try {
+            Resource imagem = variant == null
+                    ? eventoService.getEventoImagem(id)
+                    : eventoService.getEventoImagem(id, VariantesImagem.Variante.de(variant));
+            // o nome do arquivo muda a cada upload, entao serve de validador
+            String etag = "\"" + DigestUtils.md5DigestAsHex(
+                    String.valueOf(imagem.getFilename()).getBytes(StandardCharsets.UTF_8)) + "\"";
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && request.checkNotModified(etag)) {
+                return null;
+            }
+            // o upload so aceita JPEG/PNG/GIF/WEBP; qualquer outra extensao (nome antigo) sai como download,
+            // e o CSP impede script mesmo que o navegador tente renderizar o conteudo
+            ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                    .header("Content-Security-Policy", CSP_IMAGEM)
+                    .eTag(etag);
+            Optional<ArmazenamentoImagens.TipoImagem> tipo = ArmazenamentoImagens.TipoImagem.doArquivo(imagem.getFilename());
+            if (tipo.isPresent()) {
+                resposta.contentType(MediaType.parseMediaType(tipo.get().getMediaType()));
+            } else {
+                resposta.contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().build().toString());
+            }
+            return resposta.body(imagem);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private String etagPagina(PaginaDto<EventoResponseDto> pagina) {
+        StringBuilder chave = new StringBuilder();
+        for (EventoResponseDto evento : pagina.getItens()) {
+            chave.append(evento.getId()).append(':').append(evento.getVersao()).append(';');
+        }
+        chave.append(pagina.getProximoCursor());
+        return "\"" + DigestUtils.md5DigestAsHex(chave.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> createEvento(
             @Valid @RequestPart("evento") EventoCreateDto eventoDto,
@@ -53,6 +177,8 @@ public class EventoController {
             return ResponseEntity.status(201).body(novoEvento);
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro processando a imagem");
         }
@@ -65,6 +191,8 @@ public class EventoController {
             return ResponseEntity.ok(evento);
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Evento alterado por outra requisicao, tente novamente");
         }
     }
 
@@ -77,6 +205,10 @@ public class EventoController {
             return ResponseEntity.ok(evento);
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Evento alterado por outra requisicao, tente novamente");
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro processando a imagem");
         }
@@ -93,6 +225,21 @@ public class EventoController {
     }
 
 
+    @GetMapping("/{id}/participantes")
+    public ResponseEntity<?> listParticipantes(
+            @PathVariable("id") Integer eventoId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            Authentication authentication) {
+        try {
+            return ResponseEntity.ok(eventoService.listParticipantes(eventoId, cursor, limite, authentication.getName()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException | SecurityException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @PostMapping("/{id}/participantes")
     public ResponseEntity<?> addParticipante(
             @PathVariable("id") Integer eventoId,
@@ -109,6 +256,38 @@ public class EventoController {
         }
     }
 
+    @PostMapping(value = "/{id}/participantes/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importarParticipantes(
+            @PathVariable("id") Integer eventoId,
+            @RequestPart("arquivo") MultipartFile arquivo,
+            Authentication authentication) {
+        try (InputStream in = arquivo.getInputStream()) {
+            return ResponseEntity.ok(participanteImportService.importar(eventoId, in, authentication.getName()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException | SecurityException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro lendo arquivo de importacao");
+        }
+    }
+
+    // a reserva e sempre do usuario autenticado; o corpo, se vier, e ignorado
+    @PostMapping("/{id}/reservas")
+    public ResponseEntity<?> reservarVaga(
+            @PathVariable("id") Integer eventoId,
+            Authentication authentication) {
+        try {
+            ReservaDto reserva = eventoService.reservarVaga(eventoId, authentication.getName());
+            HttpStatus status = ReservaDto.CONFIRMADA.equals(reserva.getSituacao()) ? HttpStatus.CREATED : HttpStatus.ACCEPTED;
+            return ResponseEntity.status(status).body(reserva);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}/participantes/{participanteId}")
     public ResponseEntity<?> removeParticipante(
             @PathVariable("id") Integer eventoId,
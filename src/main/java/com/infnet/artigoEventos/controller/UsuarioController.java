@@ -1,9 +1,12 @@
 package com.infnet.artigoEventos.controller;
 
 import com.infnet.artigoEventos.dto.LoginDto;
+import com.infnet.artigoEventos.dto.RefreshTokenDto;
+import com.infnet.artigoEventos.dto.TokenDto;
 import com.infnet.artigoEventos.dto.UsuarioDto;
 import com.infnet.artigoEventos.dto.UsuarioUpdateDto;
 import com.infnet.artigoEventos.model.Usuario;
+import com.infnet.artigoEventos.service.TokenService;
 import com.infnet.artigoEventos.service.UsuarioService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
@@ -20,6 +23,9 @@ public class UsuarioController {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private TokenService tokenService;
+
     @PostMapping("/signup")
     public ResponseEntity<?> signup(@Valid @RequestBody UsuarioDto usuarioDto) {
         try {
@@ -34,12 +40,38 @@ public class UsuarioController {
     public ResponseEntity<?> login(@Valid @RequestBody LoginDto loginDto) {
         try {
             Usuario usuario = usuarioService.login(loginDto);
-            return ResponseEntity.ok(usuario);
+            return ResponseEntity.ok(tokens(usuario));
+        } catch (EntityNotFoundException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenDto dto) {
+        try {
+            TokenService.Token token = tokenService.validar(dto.getRefreshToken(), TokenService.REFRESH);
+            Usuario usuario = usuarioService.getUsuarioByEmail(token.email());
+            // senha trocada depois da emissao: o refresh antigo nao renova mais
+            if (token.versao() != usuario.getTokenVersao()) {
+                throw new IllegalArgumentException("Token revogado");
+            }
+            return ResponseEntity.ok(tokens(usuario));
         } catch (EntityNotFoundException | IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
         }
     }
 
+    private TokenDto tokens(Usuario usuario) {
+        TokenDto dto = new TokenDto();
+        dto.setId(usuario.getId());
+        dto.setNome(usuario.getNome());
+        dto.setEmail(usuario.getEmail());
+        dto.setAccessToken(tokenService.emitirAcesso(usuario.getEmail(), usuarioService.papeis(usuario.getEmail())));
+        dto.setRefreshToken(tokenService.emitirRefresh(usuario.getEmail(), usuario.getTokenVersao()));
+        dto.setExpiresIn(tokenService.getValidadeAcesso().toSeconds());
+        return dto;
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateUsuario(@PathVariable Integer id, @Valid @RequestBody UsuarioUpdateDto dto) {
         try {
@@ -0,0 +1,25 @@
+package com.infnet.artigoEventos.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição opaca da paginação da busca textual, ordenada por (rank BM25, id).
+ */
+public record BuscaCursor(double rank, Integer id) {
+
+    public String encode() {
+        String raw = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BuscaCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new BuscaCursor(Double.parseDouble(raw.substring(0, sep)), Integer.valueOf(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor invalido");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.infnet.artigoEventos.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CadastroLoteDto {
+    private long total;
+    private long inseridos;
+    private long duplicados;
+    private long invalidos;
+    private long duracaoMs;
+    private double usuariosPorSegundo;
+    private List<ImportacaoLinhaDto> resultados = new ArrayList<>();
+}
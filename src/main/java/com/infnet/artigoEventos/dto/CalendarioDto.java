@@ -0,0 +1,16 @@
+package com.infnet.artigoEventos.dto;
+
+import com.infnet.artigoEventos.model.StatusEvento;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarioDto {
+    // dia (yyyy-MM-dd) ou mes (yyyy-MM), conforme o agrupamento pedido
+    private String periodo;
+    private StatusEvento status;
+    private long total;
+}
@@ -3,6 +3,7 @@ package com.infnet.artigoEventos.dto;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import java.time.LocalDateTime;
 
@@ -19,4 +20,7 @@ public class EventoCreateDto {
     private String localEvento;
 
     private String descricao;
+
+    @Positive(message = "A capacidade deve ser maior que zero")
+    private Integer capacidade;
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.infnet.artigoEventos.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição opaca da paginação por chave (data_evento, id).
+ */
+public record EventoCursor(LocalDateTime dataEvento, Integer id) {
+
+    public String encode() {
+        String raw = dataEvento + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventoCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new EventoCursor(LocalDateTime.parse(raw.substring(0, sep)), Integer.valueOf(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor invalido");
+        }
+    }
+}
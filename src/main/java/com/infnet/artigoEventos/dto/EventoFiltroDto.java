@@ -0,0 +1,20 @@
+package com.infnet.artigoEventos.dto;
+
+import com.infnet.artigoEventos.model.StatusEvento;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+public class EventoFiltroDto {
+    private StatusEvento status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime de;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime ate;
+
+    private String local;
+}
@@ -0,0 +1,52 @@
+package com.infnet.artigoEventos.dto;
+
+import com.infnet.artigoEventos.model.StatusEvento;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Modelo de leitura do evento, montado direto pela consulta (sem entidade gerenciada).
+ */
+@Data
+@NoArgsConstructor
+public class EventoResponseDto {
+    private Integer id;
+    private String nome;
+    private LocalDateTime dataEvento;
+    private String localEvento;
+    private String descricao;
+    private String imagemPath;
+    private StatusEvento status;
+    private Long versao;
+    private LocalDateTime atualizadoEm;
+    private Integer totalParticipantes;
+    private Integer capacidade;
+    private OrganizadorDto organizador;
+
+    public EventoResponseDto(Integer id, String nome, LocalDateTime dataEvento, String localEvento,
+                             String descricao, String imagemPath, StatusEvento status,
+                             Long versao, LocalDateTime atualizadoEm, Integer totalParticipantes,
+                             Integer capacidade,
+                             Integer organizadorId, String organizadorNome, String organizadorEmail) {
+        this.id = id;
+        this.nome = nome;
+        this.dataEvento = dataEvento;
+        this.localEvento = localEvento;
+        this.descricao = descricao;
+        this.imagemPath = imagemPath;
+        this.status = status;
+        this.versao = versao;
+        this.atualizadoEm = atualizadoEm;
+        this.totalParticipantes = totalParticipantes;
+        this.capacidade = capacidade;
+        if (organizadorId != null) {
+            this.organizador = new OrganizadorDto(organizadorId, organizadorNome, organizadorEmail);
+        }
+    }
+
+    public EventoVersaoDto toVersao() {
+        return new EventoVersaoDto(id, versao, atualizadoEm);
+    }
+}
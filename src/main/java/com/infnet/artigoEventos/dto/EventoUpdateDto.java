@@ -2,6 +2,7 @@ package com.infnet.artigoEventos.dto;
 
 import com.infnet.artigoEventos.model.StatusEvento;
 import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import java.time.LocalDateTime;
 
@@ -15,4 +16,7 @@ public class EventoUpdateDto {
     private String localEvento;
     private String descricao;
     private StatusEvento status;
+
+    @Positive(message = "A capacidade deve ser maior que zero")
+    private Integer capacidade;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.infnet.artigoEventos.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Apenas o necessario para responder GETs condicionais (ETag / Last-Modified).
+ */
+public record EventoVersaoDto(Integer id, Long versao, LocalDateTime atualizadoEm) {
+
+    public String etag() {
+        return "\"" + id + "-" + versao + "\"";
+    }
+
+    public long ultimaModificacaoMillis() {
+        return atualizadoEm == null ? -1 : atualizadoEm.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
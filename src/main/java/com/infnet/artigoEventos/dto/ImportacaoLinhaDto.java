@@ -0,0 +1,19 @@
+package com.infnet.artigoEventos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoLinhaDto {
+    public static final String INSERIDO = "INSERIDO";
+    public static final String DUPLICADO = "DUPLICADO";
+    public static final String INVALIDO = "INVALIDO";
+
+    private long linha;
+    private String email;
+    private String situacao;
+    private String mensagem;
+}
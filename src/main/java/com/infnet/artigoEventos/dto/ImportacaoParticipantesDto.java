@@ -0,0 +1,16 @@
+package com.infnet.artigoEventos.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportacaoParticipantesDto {
+    private long linhas;
+    private long inseridos;
+    private long duplicados;
+    private long invalidos;
+    private long duracaoMs;
+    private List<ImportacaoLinhaDto> resultados = new ArrayList<>();
+}
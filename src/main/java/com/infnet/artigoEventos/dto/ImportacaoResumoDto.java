@@ -0,0 +1,14 @@
+package com.infnet.artigoEventos.dto;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class ImportacaoResumoDto {
+    private long linhas;
+    private Map<String, Long> inseridos = new LinkedHashMap<>();
+    private Map<String, Long> ignorados = new LinkedHashMap<>();
+    private long duracaoMs;
+}
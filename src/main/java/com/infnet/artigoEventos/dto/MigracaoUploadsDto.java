@@ -0,0 +1,17 @@
+package com.infnet.artigoEventos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um lote da migracao do diretorio de upload para o layout por prefixo do hash.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MigracaoUploadsDto {
+    private int movidos;
+    private int falhas;
+    private boolean concluida;
+}
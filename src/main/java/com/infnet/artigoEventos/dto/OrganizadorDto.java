@@ -0,0 +1,14 @@
+package com.infnet.artigoEventos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizadorDto {
+    private Integer id;
+    private String nome;
+    private String email;
+}
@@ -0,0 +1,15 @@
+package com.infnet.artigoEventos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDto<T> {
+    private List<T> itens;
+    private String proximoCursor;
+}
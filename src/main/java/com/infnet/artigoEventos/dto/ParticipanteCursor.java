@@ -0,0 +1,23 @@
+package com.infnet.artigoEventos.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição opaca da paginação dos participantes de um evento, por id.
+ */
+public record ParticipanteCursor(Integer id) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ParticipanteCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return new ParticipanteCursor(Integer.valueOf(raw));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor invalido");
+        }
+    }
+}
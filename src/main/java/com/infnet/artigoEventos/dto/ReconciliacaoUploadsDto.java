@@ -0,0 +1,20 @@
+package com.infnet.artigoEventos.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de uma passada do reconciliador do diretorio de upload.
+ */
+@Data
+public class ReconciliacaoUploadsDto {
+    private long verificados;
+    private long removidos;
+    private long bytesLiberados;
+    private long referenciasQuebradas;
+    // amostra dos caminhos em eventos.imagem_path sem arquivo no disco
+    private List<String> quebradas = new ArrayList<>();
+    private long duracaoMs;
+}
@@ -0,0 +1,10 @@
+package com.infnet.artigoEventos.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshTokenDto {
+    @NotBlank(message = "Refresh token é obrigatório")
+    private String refreshToken;
+}
@@ -0,0 +1,18 @@
+package com.infnet.artigoEventos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservaDto {
+    public static final String CONFIRMADA = "CONFIRMADA";
+    public static final String LISTA_ESPERA = "LISTA_ESPERA";
+
+    private String situacao;
+    private Integer participanteId;
+    // posicao na lista de espera, a partir de 1
+    private Long posicao;
+}
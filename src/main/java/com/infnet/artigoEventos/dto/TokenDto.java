@@ -0,0 +1,19 @@
+package com.infnet.artigoEventos.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resposta do login/refresh: os dados do usuario (como antes) mais o par de tokens.
+ */
+@Data
+@NoArgsConstructor
+public class TokenDto {
+    private Integer id;
+    private String nome;
+    private String email;
+    private String accessToken;
+    private String refreshToken;
+    private String tokenType = "Bearer";
+    private long expiresIn;
+}
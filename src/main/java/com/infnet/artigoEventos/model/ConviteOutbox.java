@@ -0,0 +1,50 @@
+package com.infnet.artigoEventos.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "convites_outbox")
+public class ConviteOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "evento_id", nullable = false)
+    private Integer eventoId;
+
+    @Column(name = "evento_nome", nullable = false)
+    private String eventoNome;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(nullable = false)
+    private String nome;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SituacaoConvite situacao = SituacaoConvite.PENDENTE;
+
+    @Column(nullable = false)
+    private Integer tentativas = 0;
+
+    @Column(name = "proxima_tentativa", nullable = false)
+    private LocalDateTime proximaTentativa;
+
+    @Column(name = "ultimo_erro")
+    private String ultimoErro;
+
+    @CreationTimestamp
+    @Column(name = "criado_em")
+    private LocalDateTime criadoEm;
+
+    @Column(name = "enviado_em")
+    private LocalDateTime enviadoEm;
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.Set;
@@ -35,6 +36,21 @@ public class Evento {
     @Column(nullable = false)
     private StatusEvento status;
 
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
+    @UpdateTimestamp
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+
+    // contador mantido so por EventoRepository.ajustarParticipantes; o save da entidade nao o grava
+    @Column(name = "participant_count", nullable = false, updatable = false)
+    private Integer totalParticipantes = 0;
+
+    // null = sem limite de participantes
+    private Integer capacidade;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organizador_id")
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
@@ -43,4 +59,8 @@ public class Evento {
     @OneToMany(mappedBy = "evento", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
     private Set<Participante> participantes;
+
+    @OneToMany(mappedBy = "evento", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
+    @JsonIgnore
+    private Set<ListaEspera> listaEspera;
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.infnet.artigoEventos.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "imagens_blobs")
+public class ImagemBlob {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private String arquivo;
+
+    @Column(nullable = false)
+    private Long tamanho;
+
+    @Column(nullable = false)
+    private Integer referencias;
+}
@@ -0,0 +1,7 @@
+package com.infnet.artigoEventos.model;
+
+public enum SituacaoConvite {
+    PENDENTE,
+    ENVIADO,
+    FALHOU
+}
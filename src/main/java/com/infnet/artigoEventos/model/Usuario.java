@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.util.Set;
 
 @Data
@@ -25,6 +27,12 @@ public class Usuario {
     @JsonIgnore
     private String senha;
 
+    // sobe a cada troca de senha e revoga os refresh tokens emitidos antes (claim "ver")
+    @Column(name = "token_versao", nullable = false)
+    @ColumnDefault("0")
+    @JsonIgnore
+    private Integer tokenVersao = 0;
+
     @OneToMany(mappedBy = "organizador")
     @JsonIgnore
     private Set<Evento> eventosOrganizados;
@@ -0,0 +1,31 @@
+package com.infnet.artigoEventos.repository;
+
+import com.infnet.artigoEventos.model.ConviteOutbox;
+import com.infnet.artigoEventos.model.SituacaoConvite;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ConviteOutboxRepository extends JpaRepository<ConviteOutbox, Integer> {
+
+    List<ConviteOutbox> findBySituacaoAndProximaTentativaLessThanEqualOrderByIdAsc(
+            SituacaoConvite situacao, LocalDateTime agora, Limit limite);
+
+    long countBySituacao(SituacaoConvite situacao);
+
+    @Modifying
+    @Query("UPDATE ConviteOutbox c SET c.situacao = com.infnet.artigoEventos.model.SituacaoConvite.ENVIADO, "
+            + "c.enviadoEm = :agora WHERE c.id IN :ids")
+    int marcarEnviados(@Param("ids") Collection<Integer> ids, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM ConviteOutbox c WHERE c.situacao = com.infnet.artigoEventos.model.SituacaoConvite.ENVIADO "
+            + "AND c.enviadoEm < :limite")
+    int deleteEnviadosAntesDe(@Param("limite") LocalDateTime limite);
+}
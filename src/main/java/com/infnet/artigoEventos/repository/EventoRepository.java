@@ -1,7 +1,90 @@
 package com.infnet.artigoEventos.repository;
 
+import com.infnet.artigoEventos.dto.EventoResponseDto;
+import com.infnet.artigoEventos.dto.EventoVersaoDto;
 import com.infnet.artigoEventos.model.Evento;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface EventoRepository extends JpaRepository<Evento, Integer> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventoRepository extends JpaRepository<Evento, Integer>, EventoRepositoryCustom {
+
+    // organizador vem no mesmo SELECT, sem carregar entidades nem proxies
+    String SELECT_RESPONSE_DTO = "SELECT new com.infnet.artigoEventos.dto.EventoResponseDto("
+            + "e.id, e.nome, e.dataEvento, e.localEvento, e.descricao, e.imagemPath, e.status, "
+            + "e.versao, e.atualizadoEm, e.totalParticipantes, e.capacidade, "
+            + "o.id, o.nome, o.email) FROM Evento e LEFT JOIN e.organizador o";
+
+    @Query(SELECT_RESPONSE_DTO + " WHERE e.id = :id")
+    Optional<EventoResponseDto> findResponseById(@Param("id") Integer id);
+
+    @Query(SELECT_RESPONSE_DTO + " WHERE e.id IN :ids")
+    List<EventoResponseDto> findResponseByIds(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT new com.infnet.artigoEventos.dto.EventoVersaoDto(e.id, e.versao, e.atualizadoEm) "
+            + "FROM Evento e WHERE e.id = :id")
+    Optional<EventoVersaoDto> findVersaoById(@Param("id") Integer id);
+
+    // id, nome e local de todos os eventos, para montar o indice de sugestoes
+    @Query("SELECT e.id, e.nome, e.localEvento FROM Evento e")
+    List<Object[]> findTermosSugestao();
+
+    // incremento atomico no banco; tambem avanca versao e atualizadoEm para invalidar ETags
+    @Modifying
+    @Query("UPDATE Evento e SET e.totalParticipantes = e.totalParticipantes + :delta, "
+            + "e.versao = e.versao + 1, e.atualizadoEm = :agora WHERE e.id = :id")
+    int ajustarParticipantes(@Param("id") Integer id, @Param("delta") int delta, @Param("agora") LocalDateTime agora);
+
+    // guarda final da capacidade: so ocupa a vaga se ainda houver lugar no banco
+    @Modifying
+    @Query("UPDATE Evento e SET e.totalParticipantes = e.totalParticipantes + 1, "
+            + "e.versao = e.versao + 1, e.atualizadoEm = :agora "
+            + "WHERE e.id = :id AND (e.capacidade IS NULL OR e.totalParticipantes < e.capacidade)")
+    int ocuparVaga(@Param("id") Integer id, @Param("agora") LocalDateTime agora);
+
+    @Query("SELECT e.totalParticipantes FROM Evento e WHERE e.id = :id")
+    Optional<Integer> findTotalParticipantesById(@Param("id") Integer id);
+
+    // recontagem completa, so para dados gravados fora do EventoService (importacao)
+    @Modifying
+    @Query(value = "UPDATE eventos SET participant_count = "
+            + "(SELECT COUNT(*) FROM participante p WHERE p.evento_id = eventos.id)", nativeQuery = true)
+    int recontarParticipantes();
+
+    // data e status de todos os eventos, para reconstruir o resumo do calendario
+    @Query("SELECT e.dataEvento, e.status FROM Evento e")
+    List<Object[]> findDatasEStatus();
+
+    // imagens ainda soltas na raiz do diretorio de upload, em ordem de nome (paginacao por chave)
+    @Query(value = "SELECT DISTINCT imagem_path FROM eventos WHERE imagem_path > :depois "
+            + "AND imagem_path NOT LIKE '%/%' ORDER BY imagem_path LIMIT :limite", nativeQuery = true)
+    List<String> findImagensForaDoLayout(@Param("depois") String depois, @Param("limite") int limite);
+
+    @Query("SELECT e.id FROM Evento e WHERE e.imagemPath = :imagem")
+    List<Integer> findIdsByImagemPath(@Param("imagem") String imagem);
+
+    // o caminho da imagem faz parte da resposta do evento, entao a versao avanca junto
+    @Modifying
+    @Query("UPDATE Evento e SET e.imagemPath = :novo, e.versao = e.versao + 1, e.atualizadoEm = :agora "
+            + "WHERE e.imagemPath = :antigo")
+    int moverImagem(@Param("antigo") String antigo, @Param("novo") String novo, @Param("agora") LocalDateTime agora);
+
+    // todas as imagens referenciadas, em ordem de nome, para conferir o disco aos poucos
+    @Query(value = "SELECT DISTINCT imagem_path FROM eventos WHERE imagem_path > :depois "
+            + "ORDER BY imagem_path LIMIT :limite", nativeQuery = true)
+    List<String> findImagens(@Param("depois") String depois, @Param("limite") int limite);
+
+    @Query("SELECT DISTINCT e.imagemPath FROM Evento e WHERE e.imagemPath IN :caminhos")
+    List<String> findImagensReferenciadas(@Param("caminhos") Collection<String> caminhos);
+
+    // intervalo de nomes no indice de imagem_path (usado como "comeca com")
+    @Query(value = "SELECT imagem_path FROM eventos WHERE imagem_path >= :de AND imagem_path < :ate LIMIT 1",
+            nativeQuery = true)
+    List<String> findImagensEntre(@Param("de") String de, @Param("ate") String ate);
 }
@@ -0,0 +1,42 @@
+package com.infnet.artigoEventos.repository;
+
+import com.infnet.artigoEventos.dto.BuscaCursor;
+import com.infnet.artigoEventos.dto.CalendarioDto;
+import com.infnet.artigoEventos.dto.EventoCursor;
+import com.infnet.artigoEventos.dto.EventoFiltroDto;
+import com.infnet.artigoEventos.dto.EventoResponseDto;
+import com.infnet.artigoEventos.model.Evento;
+import com.infnet.artigoEventos.model.StatusEvento;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EventoRepositoryCustom {
+    List<EventoResponseDto> findPagina(EventoFiltroDto filtro, EventoCursor cursor, int limite);
+
+    /**
+     * Ids dos eventos que casam com a expressao FTS5, em ordem de relevancia (BM25).
+     */
+    List<BuscaCursor> buscarTexto(String expressao, BuscaCursor cursor, int limite);
+
+    /**
+     * Soma delta ao total de (dia, status) no resumo do calendario; linhas zeradas sao removidas.
+     */
+    void ajustarCalendario(LocalDate dia, StatusEvento status, long delta);
+
+    /**
+     * Totais do resumo entre os dias informados (inclusive), por dia ou por mes.
+     */
+    List<CalendarioDto> findCalendario(LocalDate de, LocalDate ate, boolean porMes);
+
+    void limparCalendario();
+
+    boolean calendarioVazio();
+
+    /**
+     * Grava as alteracoes pendentes e rele o evento do banco, depois de updates em lote
+     * (ocuparVaga/ajustarParticipantes) que a entidade gerenciada nao enxerga. A instancia
+     * antiga sai do contexto de persistencia; use a devolvida.
+     */
+    Evento recarregar(Evento evento);
+}
@@ -0,0 +1,142 @@
+package com.infnet.artigoEventos.repository;
+
+import com.infnet.artigoEventos.dto.BuscaCursor;
+import com.infnet.artigoEventos.dto.CalendarioDto;
+import com.infnet.artigoEventos.dto.EventoCursor;
+import com.infnet.artigoEventos.dto.EventoFiltroDto;
+import com.infnet.artigoEventos.dto.EventoResponseDto;
+import com.infnet.artigoEventos.model.Evento;
+import com.infnet.artigoEventos.model.StatusEvento;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class EventoRepositoryImpl implements EventoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EventoResponseDto> findPagina(EventoFiltroDto filtro, EventoCursor cursor, int limite) {
+        StringBuilder jpql = new StringBuilder(EventoRepository.SELECT_RESPONSE_DTO + " WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        // so entram na consulta os filtros informados, para o SQLite escolher o indice certo
+        if (filtro.getStatus() != null) {
+            jpql.append(" AND e.status = :status");
+            params.put("status", filtro.getStatus());
+        }
+        if (filtro.getLocal() != null && !filtro.getLocal().isBlank()) {
+            jpql.append(" AND e.localEvento = :local");
+            params.put("local", filtro.getLocal());
+        }
+        if (filtro.getDe() != null) {
+            jpql.append(" AND e.dataEvento >= :de");
+            params.put("de", filtro.getDe());
+        }
+        if (filtro.getAte() != null) {
+            jpql.append(" AND e.dataEvento <= :ate");
+            params.put("ate", filtro.getAte());
+        }
+        if (cursor != null) {
+            jpql.append(" AND e.dataEvento >= :cursorData")
+                .append(" AND (e.dataEvento > :cursorData OR e.id > :cursorId)");
+            params.put("cursorData", cursor.dataEvento());
+            params.put("cursorId", cursor.id());
+        }
+        jpql.append(" ORDER BY e.dataEvento, e.id");
+
+        TypedQuery<EventoResponseDto> query = entityManager.createQuery(jpql.toString(), EventoResponseDto.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limite).getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<BuscaCursor> buscarTexto(String expressao, BuscaCursor cursor, int limite) {
+        String sql = "SELECT f.rowid AS id, f.rank AS rank FROM eventos_fts f WHERE eventos_fts MATCH :expressao"
+                + (cursor != null ? " AND (f.rank > :rank OR (f.rank = :rank AND f.rowid > :id))" : "")
+                + " ORDER BY f.rank, f.rowid LIMIT :limite";
+
+        // o driver devolve REAL como Float por padrao; o rank precisa voltar como Double
+        // para que o cursor compare exatamente com o valor calculado pelo SQLite
+        Query query = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", StandardBasicTypes.INTEGER)
+                .addScalar("rank", StandardBasicTypes.DOUBLE)
+                .setParameter("expressao", expressao)
+                .setParameter("limite", limite);
+        if (cursor != null) {
+            query.setParameter("rank", cursor.rank()).setParameter("id", cursor.id());
+        }
+
+        List<BuscaCursor> resultado = new ArrayList<>();
+        for (Object[] linha : (List<Object[]>) query.getResultList()) {
+            resultado.add(new BuscaCursor(((Number) linha[1]).doubleValue(), ((Number) linha[0]).intValue()));
+        }
+        return resultado;
+    }
+
+    @Override
+    public void ajustarCalendario(LocalDate dia, StatusEvento status, long delta) {
+        entityManager.createNativeQuery("INSERT INTO eventos_calendario (dia, status, total) VALUES (:dia, :status, :delta)"
+                        + " ON CONFLICT (dia, status) DO UPDATE SET total = total + excluded.total")
+                .setParameter("dia", dia.toString())
+                .setParameter("status", status.name())
+                .setParameter("delta", delta)
+                .executeUpdate();
+        if (delta < 0) {
+            entityManager.createNativeQuery("DELETE FROM eventos_calendario WHERE dia = :dia AND status = :status AND total <= 0")
+                    .setParameter("dia", dia.toString())
+                    .setParameter("status", status.name())
+                    .executeUpdate();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CalendarioDto> findCalendario(LocalDate de, LocalDate ate, boolean porMes) {
+        // o dia e texto ISO, entao o mes e so o prefixo yyyy-MM e a faixa usa a chave primaria
+        String periodo = porMes ? "substr(dia, 1, 7)" : "dia";
+        String sql = "SELECT " + periodo + " AS periodo, status, SUM(total) AS total FROM eventos_calendario"
+                + " WHERE dia BETWEEN :de AND :ate GROUP BY periodo, status ORDER BY periodo, status";
+
+        List<Object[]> linhas = entityManager.createNativeQuery(sql)
+                .setParameter("de", de.toString())
+                .setParameter("ate", ate.toString())
+                .getResultList();
+        List<CalendarioDto> resultado = new ArrayList<>(linhas.size());
+        for (Object[] linha : linhas) {
+            resultado.add(new CalendarioDto((String) linha[0], StatusEvento.valueOf((String) linha[1]),
+                    ((Number) linha[2]).longValue()));
+        }
+        return resultado;
+    }
+
+    @Override
+    public void limparCalendario() {
+        entityManager.createNativeQuery("DELETE FROM eventos_calendario").executeUpdate();
+    }
+
+    @Override
+    public boolean calendarioVazio() {
+        return entityManager.createNativeQuery("SELECT 1 FROM eventos_calendario LIMIT 1").getResultList().isEmpty();
+    }
+
+    @Override
+    public Evento recarregar(Evento evento) {
+        entityManager.flush();
+        // refresh poria as entidades num HashSet, e o hashCode do Lombok inicializaria colecoes lazy
+        entityManager.detach(evento);
+        return entityManager.find(Evento.class, evento.getId());
+    }
+}
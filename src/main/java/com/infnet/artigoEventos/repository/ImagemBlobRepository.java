@@ -0,0 +1,53 @@
+package com.infnet.artigoEventos.repository;
+
+import com.infnet.artigoEventos.model.ImagemBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ImagemBlobRepository extends JpaRepository<ImagemBlob, String> {
+
+    // dois uploads iguais ao mesmo tempo: o segundo so soma a referencia
+    @Modifying
+    @Query(value = "INSERT INTO imagens_blobs (hash, arquivo, tamanho, referencias) VALUES (:hash, :arquivo, :tamanho, 1)"
+            + " ON CONFLICT (hash) DO UPDATE SET referencias = referencias + 1", nativeQuery = true)
+    int referenciar(@Param("hash") String hash, @Param("arquivo") String arquivo, @Param("tamanho") long tamanho);
+
+    @Modifying
+    @Query(value = "INSERT INTO imagens_blobs (hash, arquivo, tamanho, referencias)"
+            + " VALUES (:hash, :arquivo, :tamanho, :referencias)", nativeQuery = true)
+    int inserir(@Param("hash") String hash, @Param("arquivo") String arquivo,
+                @Param("tamanho") long tamanho, @Param("referencias") int referencias);
+
+    @Modifying
+    @Query("UPDATE ImagemBlob b SET b.arquivo = :arquivo, b.referencias = b.referencias + :referencias WHERE b.hash = :hash")
+    int mover(@Param("hash") String hash, @Param("arquivo") String arquivo, @Param("referencias") int referencias);
+
+    @Query("SELECT b.arquivo FROM ImagemBlob b WHERE b.hash = :hash")
+    Optional<String> findArquivo(@Param("hash") String hash);
+
+    @Query("SELECT b.referencias FROM ImagemBlob b WHERE b.hash = :hash")
+    Optional<Integer> findReferencias(@Param("hash") String hash);
+
+    @Modifying
+    @Query("UPDATE ImagemBlob b SET b.referencias = b.referencias - 1 WHERE b.hash = :hash")
+    int liberar(@Param("hash") String hash);
+
+    @Modifying
+    @Query("DELETE FROM ImagemBlob b WHERE b.hash = :hash AND b.referencias <= 0")
+    int deleteSemReferencias(@Param("hash") String hash);
+
+    // recontagem completa pelos eventos, so para dados gravados fora do ArmazenamentoImagens (importacao)
+    @Modifying
+    @Query(value = "UPDATE imagens_blobs SET referencias = "
+            + "(SELECT COUNT(*) FROM eventos e WHERE e.imagem_path = imagens_blobs.arquivo)", nativeQuery = true)
+    int recontarReferencias();
+
+    // bytes referenciados pelos eventos e bytes realmente em disco
+    @Query("SELECT COALESCE(SUM(b.tamanho * b.referencias), 0), COALESCE(SUM(b.tamanho), 0) FROM ImagemBlob b")
+    List<Object[]> totais();
+}
@@ -0,0 +1,12 @@
+package com.infnet.artigoEventos.repository;
+
+import com.infnet.artigoEventos.model.ListaEspera;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ListaEsperaRepository extends JpaRepository<ListaEspera, Integer> {
+    Optional<ListaEspera> findFirstByEventoIdOrderByIdAsc(Integer eventoId);
+
+    long countByEventoIdAndIdLessThanEqual(Integer eventoId, Integer id);
+}
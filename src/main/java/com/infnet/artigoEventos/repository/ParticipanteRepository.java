@@ -1,9 +1,24 @@
 package com.infnet.artigoEventos.repository;
 
-import com.infnet.artigoEventos.model.Evento;
+import com.infnet.artigoEventos.dto.ParticipanteResponseDto;
 import com.infnet.artigoEventos.model.Participante;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Set;
 
 public interface ParticipanteRepository extends JpaRepository<Participante, Integer> {
-    boolean existsByEmailAndEvento(String email, Evento evento);
-}
\ No newline at end of file
+    boolean existsByEmailAndEventoId(String email, Integer eventoId);
+
+    @Query("SELECT p.email FROM Participante p WHERE p.evento.id = :eventoId")
+    Set<String> findEmailsByEventoId(@Param("eventoId") Integer eventoId);
+
+    // paginacao por chave sobre o indice participante(evento_id, id)
+    @Query("SELECT new com.infnet.artigoEventos.dto.ParticipanteResponseDto(p.id, p.nome, p.email) "
+            + "FROM Participante p WHERE p.evento.id = :eventoId AND p.id > :depoisDe ORDER BY p.id")
+    List<ParticipanteResponseDto> findPagina(@Param("eventoId") Integer eventoId,
+                                             @Param("depoisDe") Integer depoisDe, Limit limite);
+}
@@ -0,0 +1,389 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ImagemBlobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Guarda as imagens dos eventos por conteudo: o arquivo fica em {@code ab/cd/<sha256>.<extensao>} (dois niveis
+ * com o prefixo do hash, para nenhum diretorio crescer demais) e a tabela imagens_blobs conta quantos eventos
+ * apontam para ele. O mesmo banner enviado para varios eventos ocupa o disco uma vez so e sai quando o ultimo
+ * evento o libera. Nomes antigos soltos na raiz (UUID_nome) nao tem linha na tabela e continuam sendo
+ * apagados direto, ate a {@link MigracaoUploads} move-los para o layout.
+ * Metricas: imagens.uploads, imagens.uploads.deduplicados, imagens.bytes.deduplicados e
+ * imagens.dedup.razao (bytes referenciados pelos eventos / bytes em disco).
+ */
+@Component
+public class ArmazenamentoImagens {
+
+    private static final Logger log = LoggerFactory.getLogger(ArmazenamentoImagens.class);
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final int CABECALHO = 12;
+
+    @Autowired
+    private ImagemBlobRepository imagemBlobRepository;
+    @Autowired
+    private EventoRepository eventoRepository;
+    @Autowired
+    private VariantesImagem variantesImagem;
+    @Autowired
+    private ImagemCache imagemCache;
+
+    private final Path rootLocation;
+    // apagarAgora e a conferencia do upload depois do commit nao podem se intercalar
+    private final Object travaArquivos = new Object();
+    private final Counter uploads;
+    private final Counter deduplicados;
+    private final Counter bytesDeduplicados;
+    // a soma de imagens_blobs varre a tabela inteira: roda no agendamento, nao a cada leitura das metricas
+    private volatile double razaoDeduplicacao = Double.NaN;
+
+    public ArmazenamentoImagens(@Value("${file.upload-dir}") String uploadDir, MeterRegistry meterRegistry) {
+        this.rootLocation = Paths.get(uploadDir);
+        this.uploads = Counter.builder("imagens.uploads").register(meterRegistry);
+        this.deduplicados = Counter.builder("imagens.uploads.deduplicados").register(meterRegistry);
+        this.bytesDeduplicados = Counter.builder("imagens.bytes.deduplicados").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("imagens.dedup.razao", this, armazenamento -> armazenamento.razaoDeduplicacao)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Os unicos tipos aceitos no upload. O tipo sai dos primeiros bytes do conteudo (nao do nome nem do
+     * Content-Type enviados) e define a extensao gravada; na hora de servir, so essas extensoes viram
+     * image/*, o resto (nomes antigos) vai como download.
+     */
+    public enum TipoImagem {
+        JPEG(".jpg", "image/jpeg"),
+        PNG(".png", "image/png"),
+        GIF(".gif", "image/gif"),
+        WEBP(".webp", "image/webp");
+
+        private final String extensao;
+        private final String mediaType;
+
+        TipoImagem(String extensao, String mediaType) {
+            this.extensao = extensao;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        static Optional<TipoImagem> doConteudo(byte[] cabecalho) {
+            if (comeca(cabecalho, 0, 0xFF, 0xD8, 0xFF)) {
+                return Optional.of(JPEG);
+            }
+            if (comeca(cabecalho, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+                return Optional.of(PNG);
+            }
+            if (comeca(cabecalho, 0, 'G', 'I', 'F', '8') && (comeca(cabecalho, 4, '7', 'a') || comeca(cabecalho, 4, '9', 'a'))) {
+                return Optional.of(GIF);
+            }
+            if (comeca(cabecalho, 0, 'R', 'I', 'F', 'F') && comeca(cabecalho, 8, 'W', 'E', 'B', 'P')) {
+                return Optional.of(WEBP);
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Pelo nome do arquivo gravado; vazio para qualquer extensao fora da lista.
+         */
+        public static Optional<TipoImagem> doArquivo(String arquivo) {
+            if (arquivo == null) {
+                return Optional.empty();
+            }
+            String nome = arquivo.substring(arquivo.lastIndexOf('/') + 1).toLowerCase(Locale.ROOT);
+            for (TipoImagem tipo : values()) {
+                if (nome.endsWith(tipo.extensao)) {
+                    return Optional.of(tipo);
+                }
+            }
+            return nome.endsWith(".jpeg") ? Optional.of(JPEG) : Optional.empty();
+        }
+
+        private static boolean comeca(byte[] bytes, int inicio, int... esperado) {
+            if (bytes.length < inicio + esperado.length) {
+                return false;
+            }
+            for (int i = 0; i < esperado.length; i++) {
+                if ((bytes[inicio + i] & 0xFF) != esperado[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Extensao de um nome antigo, mantida no layout so se for de um tipo aceito ("" caso contrario).
+     */
+    static String extensao(String nomeOriginal) {
+        int ponto = nomeOriginal.lastIndexOf('.');
+        if (ponto < 0 || TipoImagem.doArquivo(nomeOriginal).isEmpty()) {
+            return "";
+        }
+        return nomeOriginal.substring(ponto).toLowerCase(Locale.ROOT);
+    }
+
+    static String hashDe(String arquivo) {
+        String nome = arquivo.substring(arquivo.lastIndexOf('/') + 1);
+        int ponto = nome.indexOf('.');
+        String base = ponto < 0 ? nome : nome.substring(0, ponto);
+        return HASH.matcher(base).matches() ? base : null;
+    }
+
+    /**
+     * Caminho do blob relativo ao diretorio de upload, sempre com '/' (e o que vai para eventos.imagem_path).
+     */
+    static String caminho(String hash, String extensao) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + extensao;
+    }
+
+    static boolean noLayout(String arquivo) {
+        return arquivo.indexOf('/') >= 0;
+    }
+
+    static String hashDoArquivo(Path arquivo) throws IOException {
+        MessageDigest sha256 = sha256();
+        try (InputStream entrada = new DigestInputStream(Files.newInputStream(arquivo), sha256)) {
+            entrada.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    /**
+     * Copia o upload para um temporario calculando o SHA-256 no caminho e devolve o nome do blob.
+     * Se o conteudo ja existe, so a referencia e contada. Conteudo que nao comeca como JPEG, PNG, GIF
+     * ou WEBP e recusado antes de tocar o disco.
+     * O temporario fica ate o fim da transacao: a referencia nova so aparece para outra transacao depois
+     * do commit, entao um apagarAgora concorrente pode remover o blob antes disso; nesse caso ele e
+     * recriado a partir do temporario.
+     */
+    @Transactional
+    public String guardar(InputStream entrada) throws IOException {
+        BufferedInputStream comCabecalho = new BufferedInputStream(entrada);
+        comCabecalho.mark(CABECALHO);
+        byte[] cabecalho = comCabecalho.readNBytes(CABECALHO);
+        comCabecalho.reset();
+        String extensao = TipoImagem.doConteudo(cabecalho)
+                .orElseThrow(() -> new IllegalArgumentException("Imagem deve ser JPEG, PNG, GIF ou WEBP"))
+                .getExtensao();
+
+        Path temporario = Files.createTempFile(rootLocation, ".upload-", ".tmp");
+        boolean entregue = false;
+        try {
+            MessageDigest sha256 = sha256();
+            long tamanho;
+            try (InputStream comHash = new DigestInputStream(comCabecalho, sha256)) {
+                tamanho = Files.copy(comHash, temporario, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(sha256.digest());
+
+            imagemBlobRepository.referenciar(hash, caminho(hash, extensao), tamanho);
+            // o nome fica o do blob existente (um nome antigo migrado pode ter outra extensao)
+            String arquivo = imagemBlobRepository.findArquivo(hash).orElseThrow();
+            Path destino = rootLocation.resolve(arquivo);
+
+            uploads.increment();
+            if (renovar(destino)) {
+                deduplicados.increment();
+                bytesDeduplicados.increment(tamanho);
+            } else {
+                Files.createDirectories(destino.getParent());
+                vincular(temporario, destino);
+            }
+            conferirDepoisDoCommit(temporario, destino);
+            entregue = true;
+            return arquivo;
+        } finally {
+            if (!entregue) {
+                Files.deleteIfExists(temporario);
+            }
+        }
+    }
+
+    // hard link mantem o temporario como copia do blob sem duplicar bytes; sem suporte, copia
+    private static void vincular(Path temporario, Path destino) throws IOException {
+        try {
+            Files.createLink(destino, temporario);
+        } catch (FileAlreadyExistsException e) {
+            // outro upload do mesmo conteudo gravou primeiro
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Files.copy(temporario, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void conferirDepoisDoCommit(Path temporario, Path destino) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            restaurar(temporario, destino);
+            apagarTemporario(temporario);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                restaurar(temporario, destino);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                apagarTemporario(temporario);
+            }
+        });
+    }
+
+    private void restaurar(Path temporario, Path destino) {
+        synchronized (travaArquivos) {
+            if (Files.exists(destino)) {
+                return;
+            }
+            try {
+                Files.createDirectories(destino.getParent());
+                Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+                log.info("Blob {} apagado durante o upload; recriado a partir do temporario", destino);
+            } catch (IOException e) {
+                log.warn("Falha ao recriar o blob {}: {}", destino, e.toString());
+            }
+        }
+    }
+
+    private static void apagarTemporario(Path temporario) {
+        try {
+            Files.deleteIfExists(temporario);
+        } catch (IOException e) {
+            log.warn("Falha ao deletar temporario {}: {}", temporario, e.toString());
+        }
+    }
+
+    /**
+     * Solta uma referencia; o arquivo (e suas variantes) so e apagado quando nenhum evento usa mais.
+     */
+    @Transactional
+    public void liberar(String arquivo) {
+        if (arquivo == null || arquivo.isEmpty()) {
+            return;
+        }
+        String hash = hashDe(arquivo);
+        if (hash != null && imagemBlobRepository.liberar(hash) > 0
+                && imagemBlobRepository.deleteSemReferencias(hash) == 0) {
+            return;
+        }
+        apagar(arquivo);
+    }
+
+    /**
+     * Atualiza a data do blob reaproveitado, para o {@link ReconciliadorUploads} nao tratar como orfao
+     * um arquivo que acabou de ganhar referencia. Falso se o arquivo nao existe.
+     */
+    private static boolean renovar(Path destino) throws IOException {
+        try {
+            Files.setLastModifiedTime(destino, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    // o arquivo so sai depois do commit: se a transacao voltar atras, o evento ainda aponta para ele
+    private void apagar(String arquivo) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apagarAgora(arquivo);
+                }
+            });
+        } else {
+            apagarAgora(arquivo);
+        }
+    }
+
+    // so ve referencias ja commitadas; um upload ainda aberto recria o blob no proprio commit (restaurar)
+    private void apagarAgora(String arquivo) {
+        String hash = hashDe(arquivo);
+        synchronized (travaArquivos) {
+            // um upload do mesmo conteudo pode ter recriado o blob entre o commit e aqui
+            if (hash != null && imagemBlobRepository.findArquivo(hash).filter(arquivo::equals).isPresent()) {
+                return;
+            }
+            // sem linha (ou contagem errada, ex. restauracao antiga): o arquivo so sai se nenhum evento aponta para ele
+            if (!eventoRepository.findIdsByImagemPath(arquivo).isEmpty()) {
+                log.warn("Arquivo {} sem referencias contadas mas ainda usado por eventos; mantido", arquivo);
+                return;
+            }
+            variantesImagem.remover(arquivo);
+            imagemCache.invalidarImagem(rootLocation, arquivo);
+            try {
+                Files.deleteIfExists(rootLocation.resolve(arquivo));
+            } catch (IOException e) {
+                log.warn("Falha ao deletar arquivo {}: {}", arquivo, e.toString());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.imagens.dedup.intervalo:PT1M}")
+    public void atualizarRazaoDeduplicacao() {
+        razaoDeduplicacao = calcularRazaoDeduplicacao();
+    }
+
+    private double calcularRazaoDeduplicacao() {
+        try {
+            List<Object[]> totais = imagemBlobRepository.totais();
+            if (totais.isEmpty()) {
+                return 1.0;
+            }
+            long referenciados = ((Number) totais.get(0)[0]).longValue();
+            long emDisco = ((Number) totais.get(0)[1]).longValue();
+            return emDisco == 0 ? 1.0 : (double) referenciados / emDisco;
+        } catch (DataAccessException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.infnet.artigoEventos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infnet.artigoEventos.model.ConviteOutbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Substituto local do SMTP para desenvolvimento e testes: grava cada convite como uma linha JSON.
+ */
+@Component
+@ConditionalOnProperty(name = "app.convites.sender", havingValue = "arquivo")
+public class ArquivoConviteSender implements ConviteSender {
+
+    private final Path arquivo;
+    private final ObjectMapper objectMapper;
+
+    public ArquivoConviteSender(@Value("${app.convites.arquivo:convites.ndjson}") String arquivo,
+                                ObjectMapper objectMapper) {
+        this.arquivo = Paths.get(arquivo);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void enviar(ConviteOutbox convite) throws IOException {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("id", convite.getId());
+        linha.put("para", convite.getEmail());
+        linha.put("nome", convite.getNome());
+        linha.put("eventoId", convite.getEventoId());
+        linha.put("evento", convite.getEventoNome());
+
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        Files.writeString(arquivo, objectMapper.writeValueAsString(linha) + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
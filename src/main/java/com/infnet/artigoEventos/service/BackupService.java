@@ -0,0 +1,235 @@
+package com.infnet.artigoEventos.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infnet.artigoEventos.dto.ImportacaoResumoDto;
+import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ImagemBlobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Exportacao/importacao do banco inteiro em NDJSON, uma linha por registro:
+ * {"tabela":"eventos","dados":{...}}. As tabelas saem na ordem das chaves estrangeiras.
+ * Os convites ainda nao enviados de convites_outbox vao junto: sem eles, um banco restaurado teria
+ * participantes que nunca recebem o convite.
+ * A contagem de referencias de imagens_blobs e refeita pelos eventos depois da importacao: as linhas
+ * ignoradas (ja existentes) deixariam a contagem do dump errada, e uma contagem baixa apaga o arquivo
+ * enquanto outro evento ainda aponta para ele.
+ */
+@Service
+public class BackupService {
+
+    static final List<String> TABELAS = List.of("usuarios", "eventos", "participante", "lista_espera", "convites_outbox",
+            "imagens_blobs");
+
+    private static final int FETCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EventoCalendario eventoCalendario;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private ImagemBlobRepository imagemBlobRepository;
+
+    @Autowired
+    private EventoCache eventoCache;
+
+    @Autowired
+    private ParticipanteBloom participanteBloom;
+
+    @Autowired
+    private VagasEvento vagasEvento;
+
+    @Autowired
+    private EventoSugestoes eventoSugestoes;
+
+    @Value("${app.backup.lote:5000}")
+    private int tamanhoLote;
+
+    public void exportar(OutputStream out) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null);
+            for (String tabela : TABELAS) {
+                // cursor forward-only: cada linha e escrita assim que lida, nada fica em memoria
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement("SELECT * FROM " + tabela + " ORDER BY " + chave(tabela),
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(FETCH_SIZE);
+                    return ps;
+                }, rs -> {
+                    try {
+                        escreverLinha(gen, tabela, rs);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Falha ao escrever exportacao", e);
+                    }
+                });
+            }
+            gen.flush();
+        }
+    }
+
+    // imagens_blobs e WITHOUT ROWID, com o hash como chave
+    private static String chave(String tabela) {
+        return "imagens_blobs".equals(tabela) ? "hash" : "id";
+    }
+
+    private void escreverLinha(JsonGenerator gen, String tabela, ResultSet rs) throws IOException {
+        try {
+            ResultSetMetaData meta = rs.getMetaData();
+            gen.writeStartObject();
+            gen.writeStringField("tabela", tabela);
+            gen.writeObjectFieldStart("dados");
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                gen.writeFieldName(meta.getColumnLabel(i));
+                gen.writeObject(rs.getObject(i));
+            }
+            gen.writeEndObject();
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao ler registro de " + tabela, e);
+        }
+    }
+
+    public ImportacaoResumoDto importar(InputStream in) throws IOException {
+        long inicio = System.currentTimeMillis();
+        ImportacaoResumoDto resumo = new ImportacaoResumoDto();
+        Map<String, Set<String>> colunasPorTabela = new HashMap<>();
+
+        String sqlAtual = null;
+        String tabelaAtual = null;
+        List<Object[]> lote = new ArrayList<>(tamanhoLote);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String linha;
+        long numero = 0;
+        while ((linha = reader.readLine()) != null) {
+            numero++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            JsonNode registro;
+            try {
+                registro = objectMapper.readTree(linha);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Linha " + numero + " invalida: JSON mal formado");
+            }
+            String tabela = registro.path("tabela").asText();
+            JsonNode dados = registro.path("dados");
+            if (!TABELAS.contains(tabela) || !dados.isObject()) {
+                throw new IllegalArgumentException("Linha " + numero + " invalida: tabela desconhecida");
+            }
+            Set<String> colunas = colunasPorTabela.computeIfAbsent(tabela, this::colunasDaTabela);
+
+            List<String> nomes = new ArrayList<>();
+            List<Object> valores = new ArrayList<>();
+            for (Map.Entry<String, JsonNode> campo : dados.properties()) {
+                if (!colunas.contains(campo.getKey())) {
+                    throw new IllegalArgumentException("Linha " + numero + " invalida: coluna desconhecida " + campo.getKey());
+                }
+                nomes.add(campo.getKey());
+                valores.add(valorJdbc(campo.getValue()));
+            }
+            String sql = "INSERT OR IGNORE INTO " + tabela + " (" + String.join(", ", nomes) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(nomes.size(), "?")) + ")";
+
+            if (!sql.equals(sqlAtual) || lote.size() >= tamanhoLote) {
+                gravarLote(tabelaAtual, sqlAtual, lote, resumo);
+                sqlAtual = sql;
+                tabelaAtual = tabela;
+            }
+            lote.add(valores.toArray());
+            resumo.setLinhas(resumo.getLinhas() + 1);
+        }
+        gravarLote(tabelaAtual, sqlAtual, lote, resumo);
+
+        // eventos e participantes gravados direto por JDBC nao passam pelo EventoService
+        if (resumo.getInseridos().getOrDefault("eventos", 0L) > 0) {
+            eventoCalendario.reconstruir();
+            eventoSugestoes.recarregar();
+        }
+        if (resumo.getInseridos().getOrDefault("eventos", 0L) > 0
+                || resumo.getInseridos().getOrDefault("imagens_blobs", 0L) > 0) {
+            transactionTemplate.executeWithoutResult(status -> imagemBlobRepository.recontarReferencias());
+        }
+        if (resumo.getInseridos().getOrDefault("participante", 0L) > 0) {
+            transactionTemplate.executeWithoutResult(status -> eventoRepository.recontarParticipantes());
+            eventoCache.invalidarTodos();
+            participanteBloom.invalidarTodos();
+            vagasEvento.descartarTodos();
+        }
+
+        resumo.setDuracaoMs(System.currentTimeMillis() - inicio);
+        return resumo;
+    }
+
+    private void gravarLote(String tabela, String sql, List<Object[]> lote, ImportacaoResumoDto resumo) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        int[] resultados = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(sql, lote));
+        long inseridos = 0;
+        for (int r : resultados) {
+            if (r != 0) {
+                inseridos++;
+            }
+        }
+        resumo.getInseridos().merge(tabela, inseridos, Long::sum);
+        resumo.getIgnorados().merge(tabela, lote.size() - inseridos, Long::sum);
+        lote.clear();
+    }
+
+    private Set<String> colunasDaTabela(String tabela) {
+        return Set.copyOf(jdbcTemplate.queryForList("SELECT name FROM pragma_table_info('" + tabela + "')", String.class));
+    }
+
+    private Object valorJdbc(JsonNode valor) {
+        if (valor.isNull()) {
+            return null;
+        }
+        if (valor.isIntegralNumber()) {
+            return valor.longValue();
+        }
+        if (valor.isNumber()) {
+            return valor.doubleValue();
+        }
+        if (valor.isBoolean()) {
+            return valor.booleanValue() ? 1 : 0;
+        }
+        return valor.asText();
+    }
+}
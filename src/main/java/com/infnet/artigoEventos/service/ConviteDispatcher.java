@@ -0,0 +1,156 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.model.ConviteOutbox;
+import com.infnet.artigoEventos.model.SituacaoConvite;
+import com.infnet.artigoEventos.repository.ConviteOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drena a tabela convites_outbox em lotes, fora do caminho das requisicoes.
+ * O envio acontece sem transacao aberta; so o resultado do lote e gravado depois.
+ * Falhas voltam para a fila com espera exponencial (com jitter) ate app.convites.max-tentativas,
+ * quando o convite fica como FALHOU. Enviados mais antigos que app.convites.retencao sao apagados.
+ * Metricas: convites.enviados, convites.falhas, convites.descartados, convites.lote e convites.pendentes.
+ */
+@Component
+public class ConviteDispatcher {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    @Autowired
+    private ConviteOutboxRepository conviteOutboxRepository;
+
+    @Autowired
+    private ConviteSender conviteSender;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.convites.lote:100}")
+    private int tamanhoLote;
+
+    @Value("${app.convites.max-tentativas:8}")
+    private int maximoTentativas;
+
+    @Value("${app.convites.espera-inicial:PT10S}")
+    private Duration esperaInicial;
+
+    @Value("${app.convites.espera-maxima:PT1H}")
+    private Duration esperaMaxima;
+
+    @Value("${app.convites.retencao:P7D}")
+    private Duration retencao;
+
+    private final Counter enviados;
+    private final Counter falhas;
+    private final Counter descartados;
+    private final Timer tempoLote;
+    private final AtomicLong pendentes = new AtomicLong();
+
+    public ConviteDispatcher(MeterRegistry meterRegistry) {
+        this.enviados = Counter.builder("convites.enviados").register(meterRegistry);
+        this.falhas = Counter.builder("convites.falhas").register(meterRegistry);
+        this.descartados = Counter.builder("convites.descartados").register(meterRegistry);
+        this.tempoLote = Timer.builder("convites.lote").register(meterRegistry);
+        Gauge.builder("convites.pendentes", pendentes, AtomicLong::get).register(meterRegistry);
+    }
+
+    static ConviteOutbox novoConvite(Integer eventoId, String eventoNome, String nome, String email) {
+        ConviteOutbox convite = new ConviteOutbox();
+        convite.setEventoId(eventoId);
+        convite.setEventoNome(eventoNome);
+        convite.setNome(nome);
+        convite.setEmail(email);
+        convite.setProximaTentativa(LocalDateTime.now());
+        return convite;
+    }
+
+    @Scheduled(fixedDelayString = "${app.convites.intervalo:PT5S}")
+    public void agendado() {
+        despachar();
+    }
+
+    /**
+     * Envia tudo o que estiver vencido, lote a lote. Retorna quantos convites foram processados.
+     */
+    public synchronized int despachar() {
+        int processados = 0;
+        int lote;
+        do {
+            lote = tempoLote.record(this::despacharLote);
+            processados += lote;
+        } while (lote == tamanhoLote);
+
+        LocalDateTime limite = LocalDateTime.now().minus(retencao);
+        transactionTemplate.executeWithoutResult(status -> conviteOutboxRepository.deleteEnviadosAntesDe(limite));
+        pendentes.set(conviteOutboxRepository.countBySituacao(SituacaoConvite.PENDENTE));
+        return processados;
+    }
+
+    private int despacharLote() {
+        List<ConviteOutbox> convites = conviteOutboxRepository.findBySituacaoAndProximaTentativaLessThanEqualOrderByIdAsc(
+                SituacaoConvite.PENDENTE, LocalDateTime.now(), Limit.of(tamanhoLote));
+        if (convites.isEmpty()) {
+            return 0;
+        }
+
+        List<Integer> entregues = new ArrayList<>();
+        List<ConviteOutbox> comErro = new ArrayList<>();
+        for (ConviteOutbox convite : convites) {
+            try {
+                conviteSender.enviar(convite);
+                entregues.add(convite.getId());
+            } catch (Exception e) {
+                registrarFalha(convite, e);
+                comErro.add(convite);
+            }
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!entregues.isEmpty()) {
+                conviteOutboxRepository.marcarEnviados(entregues, agora);
+            }
+            conviteOutboxRepository.saveAll(comErro);
+        });
+        enviados.increment(entregues.size());
+        return convites.size();
+    }
+
+    private void registrarFalha(ConviteOutbox convite, Exception e) {
+        falhas.increment();
+        int tentativas = convite.getTentativas() + 1;
+        convite.setTentativas(tentativas);
+        String erro = String.valueOf(e.getMessage());
+        convite.setUltimoErro(erro.length() > TAMANHO_MAXIMO_ERRO ? erro.substring(0, TAMANHO_MAXIMO_ERRO) : erro);
+        if (tentativas >= maximoTentativas) {
+            convite.setSituacao(SituacaoConvite.FALHOU);
+            descartados.increment();
+        } else {
+            convite.setProximaTentativa(LocalDateTime.now().plus(espera(tentativas)));
+        }
+    }
+
+    // espera-inicial * 2^(tentativas-1), limitada a espera-maxima, com ate 25% de jitter
+    Duration espera(int tentativas) {
+        long base = esperaInicial.toMillis() << Math.min(tentativas - 1, 30);
+        long limitada = Math.min(base <= 0 ? Long.MAX_VALUE : base, esperaMaxima.toMillis());
+        return Duration.ofMillis(limitada + ThreadLocalRandom.current().nextLong(limitada / 4 + 1));
+    }
+}
@@ -0,0 +1,12 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.model.ConviteOutbox;
+
+/**
+ * Canal de entrega dos convites drenados da outbox pelo ConviteDispatcher.
+ * Uma excecao marca o convite para nova tentativa; o envio pode se repetir
+ * (entrega pelo menos uma vez), entao o destino deve tolerar duplicados.
+ */
+public interface ConviteSender {
+    void enviar(ConviteOutbox convite) throws Exception;
+}
@@ -0,0 +1,99 @@
+package com.infnet.artigoEventos.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache das credenciais Basic ja verificadas pelo BCrypt. A chave e um HMAC-SHA256 de email+senha
+ * com uma chave aleatoria do processo, entao a senha nunca fica em memoria e a busca e um lookup
+ * por hash, sem comparacao dependente do conteudo. Limitado por tamanho e TTL.
+ * Trocar a senha ou remover o usuario invalida as entradas dele; a geracao impede que uma
+ * verificacao iniciada antes da invalidacao grave uma entrada antiga depois dela.
+ */
+@Component
+public class CredencialCache {
+
+    private static final String ALGORITMO = "HmacSHA256";
+
+    private final Cache<String, UserDetails> cache;
+    private final SecretKeySpec chave;
+    private final ThreadLocal<Mac> mac;
+    private final AtomicLong geracao = new AtomicLong();
+
+    public CredencialCache(@Value("${app.auth.cache.max-size:10000}") long maxSize,
+                           @Value("${app.auth.cache.ttl:5m}") Duration ttl,
+                           MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "credenciais");
+
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        this.chave = new SecretKeySpec(bytes, ALGORITMO);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instancia = Mac.getInstance(ALGORITMO);
+                instancia.init(chave);
+                return instancia;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    public String chave(String email, String senha) {
+        Mac instancia = mac.get();
+        instancia.update(email.getBytes(StandardCharsets.UTF_8));
+        instancia.update((byte) 0);
+        return Base64.getEncoder().encodeToString(instancia.doFinal(senha.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public UserDetails buscar(String chave) {
+        return cache.getIfPresent(chave);
+    }
+
+    public long geracao() {
+        return geracao.get();
+    }
+
+    /**
+     * Grava a verificacao, a menos que alguma invalidacao tenha acontecido desde geracaoInicial.
+     */
+    public void guardar(String chave, UserDetails usuario, long geracaoInicial) {
+        cache.put(chave, usuario);
+        if (geracao.get() != geracaoInicial) {
+            cache.invalidate(chave);
+        }
+    }
+
+    public void invalidar(String email) {
+        geracao.incrementAndGet();
+        cache.asMap().values().removeIf(usuario -> usuario.getUsername().equals(email));
+    }
+
+    public void invalidarTodos() {
+        geracao.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    long tamanho() {
+        return cache.estimatedSize();
+    }
+}
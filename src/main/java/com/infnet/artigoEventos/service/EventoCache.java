@@ -0,0 +1,69 @@
+package com.infnet.artigoEventos.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.infnet.artigoEventos.dto.EventoResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache limitado (tamanho + TTL) do modelo de leitura dos eventos.
+ * Buscas simultaneas pelo mesmo id que nao estao no cache disparam uma unica consulta.
+ * Metricas em /actuator/metrics/cache.gets, cache.evictions, cache.size (cache=eventos).
+ */
+@Component
+public class EventoCache {
+
+    private final Cache<Integer, EventoResponseDto> cache;
+
+    public EventoCache(@Value("${app.cache.eventos.max-size:10000}") long maxSize,
+                       @Value("${app.cache.eventos.ttl:5m}") Duration ttl,
+                       MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "eventos");
+    }
+
+    public EventoResponseDto get(Integer id, Function<Integer, EventoResponseDto> carregar) {
+        return cache.get(id, carregar);
+    }
+
+    public EventoResponseDto getIfPresent(Integer id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Com transacao ativa, invalida de novo quando ela termina: uma leitura simultanea pode ter
+     * guardado a linha anterior ao commit, e um rollback desfaz o que a propria transacao leu.
+     */
+    public void invalidar(Integer id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    public void invalidarTodos() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats estatisticas() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,76 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.model.StatusEvento;
+import com.infnet.artigoEventos.repository.EventoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Mantem o resumo eventos_calendario (total de eventos por dia e status).
+ * As alteracoes precisam da transacao de quem escreveu o evento, para o resumo
+ * nunca divergir da tabela eventos.
+ */
+@Component
+public class EventoCalendario {
+
+    @Autowired
+    private EventoRepository eventoRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(LocalDateTime dataEvento, StatusEvento status) {
+        eventoRepository.ajustarCalendario(dataEvento.toLocalDate(), status, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remover(LocalDateTime dataEvento, StatusEvento status) {
+        eventoRepository.ajustarCalendario(dataEvento.toLocalDate(), status, -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void mover(LocalDateTime dataAnterior, StatusEvento statusAnterior,
+                      LocalDateTime dataNova, StatusEvento statusNovo) {
+        if (Objects.equals(dataAnterior.toLocalDate(), dataNova.toLocalDate()) && statusAnterior == statusNovo) {
+            return;
+        }
+        remover(dataAnterior, statusAnterior);
+        registrar(dataNova, statusNovo);
+    }
+
+    /**
+     * Recalcula o resumo inteiro a partir de eventos. Usado quando eventos sao gravados
+     * fora do EventoService (importacao) e para bancos criados antes do resumo existir.
+     */
+    @Transactional
+    public void reconstruir() {
+        // escreve antes de ler: no SQLite, uma transacao que leu e depois tenta escrever recebe SQLITE_BUSY
+        // na hora se outra conexao estiver escrevendo; escrevendo primeiro, ela espera o busy_timeout
+        eventoRepository.limparCalendario();
+        Map<LocalDate, Map<StatusEvento, Long>> totais = new HashMap<>();
+        for (Object[] linha : eventoRepository.findDatasEStatus()) {
+            LocalDate dia = ((LocalDateTime) linha[0]).toLocalDate();
+            totais.computeIfAbsent(dia, d -> new HashMap<>()).merge((StatusEvento) linha[1], 1L, Long::sum);
+        }
+        totais.forEach((dia, porStatus) ->
+                porStatus.forEach((status, total) -> eventoRepository.ajustarCalendario(dia, status, total)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirSeVazio() {
+        if (eventoRepository.calendarioVazio() && eventoRepository.count() > 0) {
+            transactionTemplate.executeWithoutResult(status -> reconstruir());
+        }
+    }
+}
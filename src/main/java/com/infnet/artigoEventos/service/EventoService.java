@@ -1,38 +1,89 @@
 package com.infnet.artigoEventos.service;
 
+import com.infnet.artigoEventos.dto.BuscaCursor;
+import com.infnet.artigoEventos.dto.CalendarioDto;
 import com.infnet.artigoEventos.dto.EventoCreateDto;
+import com.infnet.artigoEventos.dto.EventoCursor;
+import com.infnet.artigoEventos.dto.EventoFiltroDto;
+import com.infnet.artigoEventos.dto.EventoResponseDto;
 import com.infnet.artigoEventos.dto.EventoUpdateDto;
+import com.infnet.artigoEventos.dto.EventoVersaoDto;
+import com.infnet.artigoEventos.dto.PaginaDto;
+import com.infnet.artigoEventos.dto.ParticipanteCursor;
 import com.infnet.artigoEventos.dto.ParticipanteDto;
+import com.infnet.artigoEventos.dto.ParticipanteResponseDto;
+import com.infnet.artigoEventos.dto.ReservaDto;
 import com.infnet.artigoEventos.model.*;
+import com.infnet.artigoEventos.repository.ConviteOutboxRepository;
 import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ListaEsperaRepository;
 import com.infnet.artigoEventos.repository.ParticipanteRepository;
 import com.infnet.artigoEventos.repository.UsuarioRepository;
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
 
 @Service
 public class EventoService {
 
+    public static final int LIMITE_PADRAO = 20;
+    public static final int LIMITE_MAXIMO = 100;
+    private static final int MAXIMO_TERMOS_BUSCA = 8;
+    public static final int LIMITE_SUGESTOES = 10;
+    public static final int MAXIMO_DIAS_CALENDARIO = 366;
+    static final String MSG_JA_CONVIDADO = "Este email ja esta convidado para o evento";
+    static final String MSG_SEM_VAGAS = "Evento sem vagas disponiveis";
+
     @Autowired
     private EventoRepository eventoRepository;
     @Autowired
     private UsuarioRepository usuarioRepository;
     @Autowired
     private ParticipanteRepository participanteRepository;
+    @Autowired
+    private EventoCache eventoCache;
+    @Autowired
+    private ImagemCache imagemCache;
+    @Autowired
+    private EventoSugestoes eventoSugestoes;
+    @Autowired
+    private EventoCalendario eventoCalendario;
+    @Autowired
+    private ParticipanteBloom participanteBloom;
+    @Autowired
+    private VagasEvento vagasEvento;
+    @Autowired
+    private ListaEsperaRepository listaEsperaRepository;
+    @Autowired
+    private ConviteOutboxRepository conviteOutboxRepository;
+    @Autowired
+    private VariantesImagem variantesImagem;
+    @Autowired
+    private ArmazenamentoImagens armazenamentoImagens;
 
     private final Path rootLocation;
     @Autowired
@@ -61,34 +112,107 @@ public class EventoService {
             throw new SecurityException("Nome de arquivo inválido: " + originalFilename);
         }
 
-        String filename = UUID.randomUUID() + "_" + originalFilename;
+        // o nome gravado e o tipo vem do conteudo (sha-256 e assinatura), nao do nome enviado
+        try (InputStream inputStream = file.getInputStream()) {
+            return armazenamentoImagens.guardar(inputStream);
+        }
+    }
+
+    private void deleteFile(String filename) {
+        armazenamentoImagens.liberar(filename);
+    }
 
-        Path destinationFile = this.rootLocation.resolve(filename).normalize().toAbsolutePath();
-        // Ensure the destination file is still within the intended root location
-        if (!destinationFile.startsWith(this.rootLocation.toAbsolutePath())) {
-            throw new SecurityException("Caminho de arquivo inválido: " + originalFilename);
+    public PaginaDto<EventoResponseDto> listEventos(EventoFiltroDto filtro, String cursor, Integer limite) {
+        int tamanho = limite == null ? LIMITE_PADRAO : limite;
+        if (tamanho < 1 || tamanho > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
         }
+        EventoCursor posicao = cursor == null || cursor.isBlank() ? null : EventoCursor.decode(cursor);
+
+        // busca um item a mais so para saber se existe proxima pagina
+        List<EventoResponseDto> eventos = eventoRepository.findPagina(filtro, posicao, tamanho + 1);
+        String proximoCursor = null;
+        if (eventos.size() > tamanho) {
+            eventos = eventos.subList(0, tamanho);
+            EventoResponseDto ultimo = eventos.get(tamanho - 1);
+            proximoCursor = new EventoCursor(ultimo.getDataEvento(), ultimo.getId()).encode();
+        }
+        return new PaginaDto<>(eventos, proximoCursor);
+    }
 
-        try (InputStream inputStream = file.getInputStream()) {
-            Files.copy(inputStream, destinationFile, StandardCopyOption.REPLACE_EXISTING);
+    public PaginaDto<EventoResponseDto> buscarEventos(String termo, String cursor, Integer limite) {
+        int tamanho = limite == null ? LIMITE_PADRAO : limite;
+        if (tamanho < 1 || tamanho > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        BuscaCursor posicao = cursor == null || cursor.isBlank() ? null : BuscaCursor.decode(cursor);
+
+        List<BuscaCursor> encontrados = eventoRepository.buscarTexto(expressaoFts(termo), posicao, tamanho + 1);
+        String proximoCursor = null;
+        if (encontrados.size() > tamanho) {
+            encontrados = encontrados.subList(0, tamanho);
+            proximoCursor = encontrados.get(tamanho - 1).encode();
         }
-        return filename;
+        if (encontrados.isEmpty()) {
+            return new PaginaDto<>(List.of(), null);
+        }
+
+        // o IN nao preserva a ordem de relevancia, entao reordena pelos ids da busca
+        Map<Integer, EventoResponseDto> porId = new HashMap<>();
+        for (EventoResponseDto evento : eventoRepository.findResponseByIds(
+                encontrados.stream().map(BuscaCursor::id).toList())) {
+            porId.put(evento.getId(), evento);
+        }
+        List<EventoResponseDto> eventos = encontrados.stream()
+                .map(e -> porId.get(e.id()))
+                .filter(Objects::nonNull)
+                .toList();
+        return new PaginaDto<>(eventos, proximoCursor);
     }
 
-    private void deleteFile(String filename) {
-        if (filename == null || filename.isEmpty()) {
-            return;
+    public List<CalendarioDto> getCalendario(LocalDate de, LocalDate ate, String agrupamento) {
+        if (de == null || ate == null) {
+            throw new IllegalArgumentException("Parametros from e to sao obrigatorios");
         }
-        try {
-            Path file = this.rootLocation.resolve(filename);
-            Files.deleteIfExists(file);
-        } catch (IOException e) {
-            System.err.println("Falha ao deletar arquivo: " + filename);
+        if (ate.isBefore(de)) {
+            throw new IllegalArgumentException("A data final deve ser igual ou posterior a inicial");
+        }
+        if (ChronoUnit.DAYS.between(de, ate) > MAXIMO_DIAS_CALENDARIO) {
+            throw new IllegalArgumentException("Intervalo maximo do calendario e de " + MAXIMO_DIAS_CALENDARIO + " dias");
         }
+        boolean porMes;
+        if (agrupamento == null || agrupamento.equalsIgnoreCase("dia")) {
+            porMes = false;
+        } else if (agrupamento.equalsIgnoreCase("mes")) {
+            porMes = true;
+        } else {
+            throw new IllegalArgumentException("Agrupamento deve ser dia ou mes");
+        }
+        return eventoRepository.findCalendario(de, ate, porMes);
     }
 
-    public List<Evento> getAllEventos() {
-        return eventoRepository.findAll();
+    public List<String> sugerirEventos(String prefixo, Integer limite) {
+        int tamanho = limite == null ? LIMITE_SUGESTOES : limite;
+        if (tamanho < 1 || tamanho > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        return eventoSugestoes.sugerir(prefixo, tamanho);
+    }
+
+    // cada palavra vira um termo entre aspas com prefixo ("pal"*), todos obrigatorios
+    private String expressaoFts(String termo) {
+        if (termo == null) {
+            throw new IllegalArgumentException("Termo de busca e obrigatorio");
+        }
+        List<String> palavras = Arrays.stream(termo.split("[^\\p{L}\\p{N}]+"))
+                .filter(p -> !p.isEmpty())
+                .limit(MAXIMO_TERMOS_BUSCA)
+                .map(p -> "\"" + p + "\"*")
+                .toList();
+        if (palavras.isEmpty()) {
+            throw new IllegalArgumentException("Termo de busca e obrigatorio");
+        }
+        return String.join(" ", palavras);
     }
 
     public Evento getEventoById(Integer id) {
@@ -96,6 +220,24 @@ public class EventoService {
                 .orElseThrow(() -> new EntityNotFoundException("Evento nao encontrado com id: " + id));
     }
 
+    public EventoResponseDto getEventoResponseById(Integer id) {
+        EventoResponseDto evento = eventoCache.get(id, chave -> eventoRepository.findResponseById(chave).orElse(null));
+        if (evento == null) {
+            throw new EntityNotFoundException("Evento nao encontrado com id: " + id);
+        }
+        return evento;
+    }
+
+    public EventoVersaoDto getEventoVersao(Integer id) {
+        EventoResponseDto emCache = eventoCache.getIfPresent(id);
+        if (emCache != null) {
+            return emCache.toVersao();
+        }
+        return eventoRepository.findVersaoById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Evento nao encontrado com id: " + id));
+    }
+
+    @Transactional
     public Evento createEvento(EventoCreateDto dto, MultipartFile imagem, String organizadorEmail) throws IOException {
         Usuario organizador = usuarioRepository.findByEmail(organizadorEmail)
                 .orElseThrow(() -> new EntityNotFoundException("Usuario Organizador nao encotrado com email: " + organizadorEmail));
@@ -107,67 +249,217 @@ public class EventoService {
         evento.setDescricao(dto.getDescricao());
         evento.setOrganizador(organizador);
         evento.setStatus(StatusEvento.ATIVO);
+        evento.setCapacidade(dto.getCapacidade());
 
         if (imagem != null && !imagem.isEmpty()) {
             String filename = saveFile(imagem);
             evento.setImagemPath(filename);
+            variantesImagem.agendar(filename);
         }
-        return eventoRepository.save(evento);
+        Evento salvo = eventoRepository.save(evento);
+        eventoCalendario.registrar(salvo.getDataEvento(), salvo.getStatus());
+        eventoSugestoes.indexar(salvo.getId(), salvo.getNome(), salvo.getLocalEvento());
+        return salvo;
     }
 
+    @Transactional
     public Participante addParticipante(Integer eventoId, ParticipanteDto dto, String requisitanteEmail) {
-        Evento evento = getEventoById(eventoId);
+        EventoResponseDto evento = getEventoResponseById(eventoId);
+        verificarOrganizador(evento, requisitanteEmail, "Apenas o organizador do evento pode adicionar participantes.");
 
-        Usuario requisitante = usuarioRepository.findByEmail(requisitanteEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Usuário requisitante não encontrado"));
+        if (participanteBloom.jaConvidado(eventoId, dto.getEmail())) {
+            throw new IllegalArgumentException(MSG_JA_CONVIDADO);
+        }
+        if (!ocuparVaga(evento)) {
+            throw new IllegalArgumentException(MSG_SEM_VAGAS);
+        }
+        return inserirParticipante(eventoId, evento.getNome(), dto.getNome(), dto.getEmail());
+    }
 
-        if (!evento.getOrganizador().getId().equals(requisitante.getId())) {
-            throw new SecurityException("Apenas o organizador do evento pode adicionar participantes.");
+    /**
+     * Inscricao do proprio usuario com disputa por vaga: confirma se houver lugar, senao entra na lista de espera.
+     * Nome e email vem da conta; inscrever outras pessoas e com addParticipante, so pelo organizador.
+     */
+    @Transactional
+    public ReservaDto reservarVaga(Integer eventoId, String usuarioEmail) {
+        EventoResponseDto evento = getEventoResponseById(eventoId);
+        if (evento.getStatus() != StatusEvento.ATIVO) {
+            throw new IllegalArgumentException("Evento nao esta aberto para reservas");
+        }
+        Usuario usuario = usuarioRepository.findByEmail(usuarioEmail)
+                .orElseThrow(() -> new EntityNotFoundException("Usuario nao encontrado com email: " + usuarioEmail));
+        if (participanteBloom.jaConvidado(eventoId, usuario.getEmail())) {
+            throw new IllegalArgumentException(MSG_JA_CONVIDADO);
+        }
+        if (ocuparVaga(evento)) {
+            Participante participante = inserirParticipante(eventoId, evento.getNome(), usuario.getNome(), usuario.getEmail());
+            return new ReservaDto(ReservaDto.CONFIRMADA, participante.getId(), null);
         }
 
-        if (participanteRepository.existsByEmailAndEvento(dto.getEmail(), evento)) {
-            throw new IllegalArgumentException("Este email ja esta convidado para o evento");
+        ListaEspera espera = new ListaEspera();
+        espera.setNome(usuario.getNome());
+        espera.setEmail(usuario.getEmail());
+        espera.setEvento(eventoRepository.getReferenceById(eventoId));
+        try {
+            listaEsperaRepository.save(espera);
+        } catch (DataAccessException e) {
+            if (violacaoDeUnicidade(e)) {
+                throw new IllegalArgumentException("Este email ja esta na lista de espera do evento");
+            }
+            throw e;
+        }
+        long posicao = listaEsperaRepository.countByEventoIdAndIdLessThanEqual(eventoId, espera.getId());
+        return new ReservaDto(ReservaDto.LISTA_ESPERA, null, posicao);
+    }
+
+    // a recusa por lotacao sai da memoria sem escrever no banco; o UPDATE condicional confirma a vaga
+    private boolean ocuparVaga(EventoResponseDto evento) {
+        if (evento.getCapacidade() != null && !vagasEvento.reservar(evento.getId(), evento.getCapacidade())) {
+            return false;
+        }
+        if (eventoRepository.ocuparVaga(evento.getId(), LocalDateTime.now()) == 0) {
+            // contador em memoria atrasado em relacao ao banco
+            vagasEvento.descartar(evento.getId());
+            return false;
         }
+        return true;
+    }
+
+    // a vaga (participant_count) ja foi ocupada por quem chama; o convite vai para a outbox na mesma transacao
+    private Participante inserirParticipante(Integer eventoId, String eventoNome, String nome, String email) {
         Participante participante = new Participante();
-        participante.setNome(dto.getNome());
-        participante.setEmail(dto.getEmail());
-        participante.setEvento(evento);
-        return participanteRepository.save(participante);
+        participante.setNome(nome);
+        participante.setEmail(email);
+        // referencia sem SELECT: o evento ja foi validado pelo modelo de leitura em cache
+        participante.setEvento(eventoRepository.getReferenceById(eventoId));
+        Participante salvo;
+        try {
+            salvo = participanteRepository.save(participante);
+        } catch (DataAccessException e) {
+            // convite simultaneo do mesmo email: o indice unico (email, evento_id) decide
+            if (violacaoDeUnicidade(e)) {
+                throw new IllegalArgumentException(MSG_JA_CONVIDADO);
+            }
+            throw e;
+        }
+        conviteOutboxRepository.save(ConviteDispatcher.novoConvite(eventoId, eventoNome, nome, email));
+        participanteBloom.adicionar(eventoId, email);
+        eventoCache.invalidar(eventoId);
+        return salvo;
+    }
+
+    // ocupa as vagas livres com a lista de espera, por ordem de chegada
+    private int promoverListaEspera(Integer eventoId, String eventoNome, int vagas) {
+        int promovidos = 0;
+        while (promovidos < vagas) {
+            ListaEspera espera = listaEsperaRepository.findFirstByEventoIdOrderByIdAsc(eventoId).orElse(null);
+            if (espera == null) {
+                break;
+            }
+            if (participanteBloom.jaConvidado(eventoId, espera.getEmail())) {
+                listaEsperaRepository.delete(espera);
+                continue;
+            }
+            if (eventoRepository.ocuparVaga(eventoId, LocalDateTime.now()) == 0) {
+                break;
+            }
+            listaEsperaRepository.delete(espera);
+            inserirParticipante(eventoId, eventoNome, espera.getNome(), espera.getEmail());
+            promovidos++;
+        }
+        return promovidos;
+    }
+
+    public PaginaDto<ParticipanteResponseDto> listParticipantes(Integer eventoId, String cursor, Integer limite,
+                                                               String requisitanteEmail) {
+        int tamanho = limite == null ? LIMITE_PADRAO : limite;
+        if (tamanho < 1 || tamanho > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        Integer depoisDe = cursor == null || cursor.isBlank() ? 0 : ParticipanteCursor.decode(cursor).id();
+        verificarOrganizador(getEventoResponseById(eventoId), requisitanteEmail,
+                "Apenas o organizador do evento pode ver os participantes.");
+
+        List<ParticipanteResponseDto> participantes =
+                participanteRepository.findPagina(eventoId, depoisDe, Limit.of(tamanho + 1));
+        String proximoCursor = null;
+        if (participantes.size() > tamanho) {
+            participantes = participantes.subList(0, tamanho);
+            proximoCursor = new ParticipanteCursor(participantes.get(tamanho - 1).getId()).encode();
+        }
+        return new PaginaDto<>(participantes, proximoCursor);
     }
 
 
+    @Transactional
     public Evento updateEvento(Integer id, EventoUpdateDto dto) {
         Evento evento = getEventoById(id);
+        LocalDateTime dataAnterior = evento.getDataEvento();
+        StatusEvento statusAnterior = evento.getStatus();
 
         if (dto.getNome() != null) evento.setNome(dto.getNome());
         if (dto.getDataEvento() != null) evento.setDataEvento(dto.getDataEvento());
         if (dto.getLocalEvento() != null) evento.setLocalEvento(dto.getLocalEvento());
         if (dto.getDescricao() != null) evento.setDescricao(dto.getDescricao());
         if (dto.getStatus() != null) evento.setStatus(dto.getStatus());
-
-        return eventoRepository.save(evento);
+        boolean capacidadeAlterada = dto.getCapacidade() != null && !dto.getCapacidade().equals(evento.getCapacidade());
+        if (capacidadeAlterada) evento.setCapacidade(dto.getCapacidade());
+
+        Evento salvo = eventoRepository.save(evento);
+        if (capacidadeAlterada) {
+            vagasEvento.descartar(id);
+            // as promocoes mudam total e versao por update em lote: o retorno (e o ETag) tem que vir do banco
+            if (promoverListaEspera(id, salvo.getNome(), salvo.getCapacidade() - salvo.getTotalParticipantes()) > 0) {
+                salvo = eventoRepository.recarregar(salvo);
+            }
+        }
+        eventoCalendario.mover(dataAnterior, statusAnterior, salvo.getDataEvento(), salvo.getStatus());
+        eventoCache.invalidar(id);
+        eventoSugestoes.indexar(id, salvo.getNome(), salvo.getLocalEvento());
+        return salvo;
     }
 
+    @Transactional
     public Evento updateEventoImagem(Integer id, MultipartFile imagem) throws IOException {
         Evento evento = getEventoById(id);
 
-        deleteFile(evento.getImagemPath());
-
+        // grava a nova antes de soltar a anterior: reenviar a mesma imagem nao apaga o blob
         String newFilename = saveFile(imagem);
+        deleteFile(evento.getImagemPath());
         evento.setImagemPath(newFilename);
+        variantesImagem.agendar(newFilename);
 
-        return eventoRepository.save(evento);
+        Evento salvo = eventoRepository.save(evento);
+        eventoCache.invalidar(id);
+        return salvo;
     }
 
+    @Transactional
     public void deleteEvento(Integer id) {
         Evento evento = getEventoById(id);
         deleteFile(evento.getImagemPath());
 
         eventoRepository.deleteById(id);
+        eventoCalendario.remover(evento.getDataEvento(), evento.getStatus());
+        participanteBloom.invalidar(id);
+        vagasEvento.descartar(id);
+        eventoCache.invalidar(id);
+        eventoSugestoes.remover(id);
     }
 
-    public byte[] getEventoImagem(Integer id) throws IOException {
-        Evento evento = getEventoById(id);
+    /**
+     * A imagem pelo ImagemCache: as quentes saem da memoria fora do heap, as demais direto do arquivo;
+     * nos dois casos o controller transmite (inteira ou por Range) sem montar um byte[] da imagem.
+     */
+    public Resource getEventoImagem(Integer id) {
+        return getEventoImagem(id, null);
+    }
+
+    /**
+     * A variante pedida (thumb/medium) ou, enquanto ela nao fica pronta, o original.
+     */
+    public Resource getEventoImagem(Integer id, VariantesImagem.Variante variante) {
+        EventoResponseDto evento = getEventoResponseById(id);
         String filename = evento.getImagemPath();
 
         if (filename == null || filename.isEmpty()) {
@@ -175,30 +467,61 @@ public class EventoService {
         }
 
         Path file = this.rootLocation.resolve(filename);
+        Path pedido = variante == null ? file : this.rootLocation.resolve(VariantesImagem.nomeVariante(filename, variante));
+        // o que esta em memoria sai do cache junto com o arquivo: nao precisa conferir o disco
+        Resource emCache = imagemCache.emCache(pedido);
+        if (emCache != null) {
+            return emCache;
+        }
+
         if (!Files.exists(file) || !Files.isReadable(file)) {
             throw new EntityNotFoundException("Imagem nao encontrada: " + filename);
         }
+        if (variante != null) {
+            Path reduzida = variantesImagem.resolver(filename, variante);
+            if (reduzida != null) {
+                return imagemCache.lerDoDisco(reduzida);
+            }
+            return imagemCache.obter(file);
+        }
 
-        return Files.readAllBytes(file);
+        return imagemCache.lerDoDisco(file);
     }
 
+    @Transactional
     public void removeParticipante(Integer eventoId, Integer participanteId, String requisitanteEmail) {
-        Evento evento = getEventoById(eventoId);
-
-        Usuario requisitante = usuarioRepository.findByEmail(requisitanteEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Usuário requisitante não encontrado"));
-
-        if (!evento.getOrganizador().getId().equals(requisitante.getId())) {
-            throw new SecurityException("Apenas o organizador do evento pode remover participantes.");
-        }
+        EventoResponseDto evento = getEventoResponseById(eventoId);
+        verificarOrganizador(evento, requisitanteEmail, "Apenas o organizador do evento pode remover participantes.");
 
         Participante participante = participanteRepository.findById(participanteId)
                 .orElseThrow(() -> new EntityNotFoundException("Participante nao encontrado com id" + participanteId));
 
-        if (!participante.getEvento().getId().equals(evento.getId())) {
+        if (!participante.getEvento().getId().equals(eventoId)) {
             throw new IllegalArgumentException("Participante nao convidado para este evento");
         }
         participanteRepository.delete(participante);
+        participanteBloom.invalidar(eventoId);
+        eventoRepository.ajustarParticipantes(eventoId, -1, LocalDateTime.now());
+        promoverListaEspera(eventoId, evento.getNome(), 1);
+        vagasEvento.descartar(eventoId);
+        eventoCache.invalidar(eventoId);
+    }
+
+    // o dialeto SQLite nao converte violacoes de UNIQUE em DataIntegrityViolationException
+    static boolean violacaoDeUnicidade(DataAccessException e) {
+        return NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLiteException sqlite
+                && sqlite.getResultCode() == SQLiteErrorCode.SQLITE_CONSTRAINT_UNIQUE;
+    }
+
+    // o modelo de leitura ja traz o email do organizador; o banco so e consultado quando nao bate
+    void verificarOrganizador(EventoResponseDto evento, String requisitanteEmail, String mensagem) {
+        if (evento.getOrganizador() != null && evento.getOrganizador().getEmail().equals(requisitanteEmail)) {
+            return;
+        }
+        if (!usuarioRepository.existsByEmail(requisitanteEmail)) {
+            throw new EntityNotFoundException("Usuário requisitante não encontrado");
+        }
+        throw new SecurityException(mensagem);
     }
     //metodo adicionado para pull request da apresentacao apresentacao
     public void doNothing(){
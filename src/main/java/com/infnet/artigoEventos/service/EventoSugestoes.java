@@ -0,0 +1,321 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.repository.EventoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Indice em memoria para autocomplete de nomes e locais de eventos.
+ * Cada termo e indexado pelo inicio de cada uma das suas palavras ("sao paulo" e "paulo"),
+ * sem acento e em minusculas, numa arvore de prefixos. Cada no guarda pronta a lista dos termos
+ * mais usados da sua subarvore (ate {@link EventoService#LIMITE_MAXIMO}), atualizada a cada escrita:
+ * a consulta so desce pelo prefixo e devolve o inicio dessa lista.
+ * Carregado na subida da aplicacao e mantido pelo EventoService a cada escrita; dentro de uma
+ * transacao a mudanca so entra no indice depois do commit.
+ */
+@Component
+public class EventoSugestoes {
+
+    private static final int TOPO = EventoService.LIMITE_MAXIMO;
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    // mais eventos primeiro; empate em ordem alfabetica
+    private static final Comparator<Termo> ORDEM = Comparator.comparingInt((Termo t) -> t.eventos).reversed()
+            .thenComparing(t -> t.chave);
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    // a raiz e o prefixo vazio, que nunca e consultado: a lista dela nao e mantida
+    private volatile No raiz = new No();
+
+    // escritas sob o lock do objeto; leituras so descem pela arvore, sem bloqueio
+    private final Map<String, Termo> termos = new HashMap<>();
+    private final Map<Integer, List<String>> termosPorEvento = new HashMap<>();
+    private boolean carregando;
+
+    private static final class Termo {
+        private final String texto;
+        private final String chave;
+        private int eventos;
+
+        private Termo(String texto, String chave) {
+            this.texto = texto;
+            this.chave = chave;
+        }
+    }
+
+    // filhos e topo sao trocados inteiros (copia na escrita), para a leitura sem lock ver sempre uma versao pronta
+    private static final class No {
+        private volatile Map<Character, No> filhos = Map.of();
+        private volatile List<Termo> topo = List.of();
+        // termos com uma palavra inicial que termina exatamente neste no; so sob o lock
+        private List<Termo> terminais;
+
+        private No filhoOuNovo(char c) {
+            No filho = filhos.get(c);
+            if (filho == null) {
+                filho = new No();
+                Map<Character, No> copia = new HashMap<>(filhos);
+                copia.put(c, filho);
+                filhos = Map.copyOf(copia);
+            }
+            return filho;
+        }
+
+        private void removerFilho(char c) {
+            Map<Character, No> copia = new HashMap<>(filhos);
+            copia.remove(c);
+            filhos = Map.copyOf(copia);
+        }
+
+        private boolean vazio() {
+            return (terminais == null || terminais.isEmpty()) && filhos.isEmpty();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void recarregar() {
+        raiz = new No();
+        termos.clear();
+        termosPorEvento.clear();
+        // as listas sao montadas uma vez no fim, de baixo para cima, e nao a cada termo
+        carregando = true;
+        try {
+            for (Object[] linha : eventoRepository.findTermosSugestao()) {
+                indexarAgora((Integer) linha[0], (String) linha[1], (String) linha[2]);
+            }
+        } finally {
+            carregando = false;
+        }
+        for (No filho : raiz.filhos.values()) {
+            ranquear(filho);
+        }
+    }
+
+    public void indexar(Integer eventoId, String nome, String local) {
+        depoisDoCommit(() -> indexarAgora(eventoId, nome, local));
+    }
+
+    public void remover(Integer eventoId) {
+        depoisDoCommit(() -> removerAgora(eventoId));
+    }
+
+    private void depoisDoCommit(Runnable alteracao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    alteracao.run();
+                }
+            });
+        } else {
+            alteracao.run();
+        }
+    }
+
+    private synchronized void indexarAgora(Integer eventoId, String nome, String local) {
+        removerAgora(eventoId);
+        List<String> chaves = new ArrayList<>(2);
+        for (String texto : new String[]{nome, local}) {
+            String chave = normalizar(texto);
+            if (chave.isEmpty() || chaves.contains(chave)) {
+                continue;
+            }
+            chaves.add(chave);
+            Termo termo = termos.get(chave);
+            if (termo == null) {
+                termo = new Termo(texto.trim(), chave);
+                termos.put(chave, termo);
+                for (String inicio : iniciosDePalavra(chave)) {
+                    No no = raiz;
+                    for (int i = 0; i < inicio.length(); i++) {
+                        no = no.filhoOuNovo(inicio.charAt(i));
+                    }
+                    if (no.terminais == null) {
+                        no.terminais = new ArrayList<>(1);
+                    }
+                    no.terminais.add(termo);
+                }
+            }
+            termo.eventos++;
+            if (!carregando) {
+                for (No no : caminho(termo)) {
+                    subiu(no, termo);
+                }
+            }
+        }
+        if (!chaves.isEmpty()) {
+            termosPorEvento.put(eventoId, chaves);
+        }
+    }
+
+    private synchronized void removerAgora(Integer eventoId) {
+        List<String> chaves = termosPorEvento.remove(eventoId);
+        if (chaves == null) {
+            return;
+        }
+        for (String chave : chaves) {
+            Termo termo = termos.get(chave);
+            if (termo == null) {
+                continue;
+            }
+            termo.eventos--;
+            List<No> caminho = caminho(termo);
+            if (termo.eventos <= 0) {
+                termos.remove(chave);
+                for (String inicio : iniciosDePalavra(chave)) {
+                    No no = raiz;
+                    for (int i = 0; i < inicio.length(); i++) {
+                        no = no.filhos.get(inicio.charAt(i));
+                    }
+                    no.terminais.remove(termo);
+                }
+            }
+            for (No no : caminho) {
+                desceu(no, termo);
+            }
+            if (termo.eventos <= 0) {
+                for (String inicio : iniciosDePalavra(chave)) {
+                    podar(raiz, inicio, 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Termos que tem alguma palavra comecando pelo prefixo, os usados por mais eventos primeiro.
+     */
+    public List<String> sugerir(String prefixo, int limite) {
+        String chave = normalizar(prefixo);
+        if (chave.isEmpty()) {
+            return List.of();
+        }
+        No no = raiz;
+        for (int i = 0; i < chave.length() && no != null; i++) {
+            no = no.filhos.get(chave.charAt(i));
+        }
+        if (no == null) {
+            return List.of();
+        }
+        List<Termo> topo = no.topo;
+        return topo.subList(0, Math.min(limite, topo.size())).stream()
+                .map(t -> t.texto)
+                .toList();
+    }
+
+    // nos que tem o termo na subarvore, do mais fundo para o mais raso: um no so e
+    // recalculado depois dos filhos
+    private List<No> caminho(Termo termo) {
+        Map<No, Integer> profundidade = new IdentityHashMap<>();
+        for (String inicio : iniciosDePalavra(termo.chave)) {
+            No no = raiz;
+            for (int i = 0; i < inicio.length(); i++) {
+                no = no.filhos.get(inicio.charAt(i));
+                profundidade.put(no, i);
+            }
+        }
+        List<No> nos = new ArrayList<>(profundidade.keySet());
+        nos.sort(Comparator.comparingInt(profundidade::get).reversed());
+        return nos;
+    }
+
+    // o termo ganhou um evento: a lista continua certa so reposicionando ele
+    private static void subiu(No no, Termo termo) {
+        List<Termo> lista = new ArrayList<>(no.topo.size() + 1);
+        for (Termo t : no.topo) {
+            if (t != termo) {
+                lista.add(t);
+            }
+        }
+        lista.add(termo);
+        lista.sort(ORDEM);
+        if (lista.size() > TOPO) {
+            lista.remove(TOPO);
+        }
+        no.topo = List.copyOf(lista);
+    }
+
+    // o termo perdeu um evento: numa lista cheia outro termo da subarvore pode passar a frente
+    private static void desceu(No no, Termo termo) {
+        if (!no.topo.contains(termo)) {
+            return;
+        }
+        if (no.topo.size() == TOPO) {
+            recalcular(no);
+            return;
+        }
+        // lista incompleta: ja tem a subarvore inteira
+        List<Termo> lista = new ArrayList<>(no.topo);
+        if (termo.eventos <= 0) {
+            lista.remove(termo);
+        }
+        lista.sort(ORDEM);
+        no.topo = List.copyOf(lista);
+    }
+
+    // as listas dos filhos ja tem os melhores de cada subarvore
+    private static void recalcular(No no) {
+        Set<Termo> candidatos = new HashSet<>();
+        if (no.terminais != null) {
+            candidatos.addAll(no.terminais);
+        }
+        for (No filho : no.filhos.values()) {
+            candidatos.addAll(filho.topo);
+        }
+        no.topo = candidatos.stream().sorted(ORDEM).limit(TOPO).toList();
+    }
+
+    private static void ranquear(No no) {
+        for (No filho : no.filhos.values()) {
+            ranquear(filho);
+        }
+        recalcular(no);
+    }
+
+    // tira os nos que ficaram sem termos; devolve se o proprio no ficou vazio
+    private static boolean podar(No no, String inicio, int i) {
+        if (i < inicio.length()) {
+            char c = inicio.charAt(i);
+            No filho = no.filhos.get(c);
+            if (filho != null && podar(filho, inicio, i + 1)) {
+                no.removerFilho(c);
+            }
+        }
+        return no.vazio();
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcento = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcento.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static List<String> iniciosDePalavra(String chave) {
+        List<String> inicios = new ArrayList<>();
+        inicios.add(chave);
+        for (int i = chave.indexOf(' '); i >= 0; i = chave.indexOf(' ', i + 1)) {
+            inicios.add(chave.substring(i + 1));
+        }
+        return inicios;
+    }
+}
@@ -0,0 +1,233 @@
+package com.infnet.artigoEventos.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Bytes das imagens mais pedidas em ByteBuffers diretos (fora do heap), limitados a app.imagens.cache.max-bytes
+ * no total; o despejo e o W-TinyLFU do Caffeine, que segura as imagens quentes mesmo com varreduras de
+ * imagens frias. Arquivos acima de app.imagens.cache.max-bytes-arquivo continuam saindo do disco.
+ * Os nomes dos arquivos nao mudam de conteudo (hash ou UUID), entao a entrada so precisa sair quando o
+ * arquivo e apagado. A memoria direta so volta com o GC: -XX:MaxDirectMemorySize tem que caber o orcamento.
+ * Metricas: cache.gets, cache.evictions, cache.size (cache=imagens) e imagens.cache.bytes.
+ */
+@Component
+public class ImagemCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ImagemCache.class);
+
+    private final Cache<Path, ImagemEmMemoria> cache;
+    private final long maximoBytesArquivo;
+
+    public ImagemCache(@Value("${app.imagens.cache.max-bytes:67108864}") long maximoBytes,
+                       @Value("${app.imagens.cache.max-bytes-arquivo:2097152}") long maximoBytesArquivo,
+                       MeterRegistry meterRegistry) {
+        this.maximoBytesArquivo = Math.min(maximoBytesArquivo, maximoBytes);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(maximoBytes, 0))
+                .weigher((Path arquivo, ImagemEmMemoria imagem) -> imagem.bytes.capacity())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "imagens");
+        Gauge.builder("imagens.cache.bytes", this, ImagemCache::getBytes).baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * A imagem em memoria quando cabe no orcamento; senao (ou se a leitura falhar) o proprio arquivo.
+     */
+    public Resource obter(Path arquivo) {
+        Resource emCache = emCache(arquivo);
+        return emCache != null ? emCache : lerDoDisco(arquivo);
+    }
+
+    /**
+     * So a imagem ja em memoria, sem tocar o disco; null se nao estiver no cache.
+     */
+    public Resource emCache(Path arquivo) {
+        return cache.getIfPresent(chave(arquivo));
+    }
+
+    /**
+     * Como {@link #obter(Path)}, para quem acabou de ver com {@link #emCache(Path)} que a imagem nao esta em memoria.
+     */
+    public Resource lerDoDisco(Path arquivo) {
+        Path chave = chave(arquivo);
+        try {
+            long tamanho = Files.size(chave);
+            if (tamanho > maximoBytesArquivo) {
+                return new FileSystemResource(arquivo);
+            }
+            // pedidos simultaneos pela mesma imagem leem o arquivo uma vez so
+            return cache.get(chave, ImagemCache::carregar);
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Imagem {} fora do cache: {}", arquivo, e.toString());
+            return new FileSystemResource(arquivo);
+        }
+    }
+
+    public void invalidar(Path arquivo) {
+        cache.invalidate(chave(arquivo));
+    }
+
+    /**
+     * Tira o arquivo e as variantes dele (thumb/medium), que saem do disco junto.
+     */
+    public void invalidarImagem(Path rootLocation, String arquivo) {
+        invalidar(rootLocation.resolve(arquivo));
+        for (VariantesImagem.Variante variante : VariantesImagem.Variante.values()) {
+            invalidar(rootLocation.resolve(VariantesImagem.nomeVariante(arquivo, variante)));
+        }
+    }
+
+    public void invalidarTodos() {
+        cache.invalidateAll();
+    }
+
+    boolean contem(Path arquivo) {
+        return cache.getIfPresent(chave(arquivo)) != null;
+    }
+
+    long getBytes() {
+        return cache.policy().eviction().map(despejo -> despejo.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    void limpar() {
+        cache.cleanUp();
+    }
+
+    private static Path chave(Path arquivo) {
+        return arquivo.toAbsolutePath().normalize();
+    }
+
+    private static ImagemEmMemoria carregar(Path arquivo) {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            // le do canal direto para o buffer direto, sem passar por um byte[] no heap
+            ByteBuffer bytes = ByteBuffer.allocateDirect(Math.toIntExact(canal.size()));
+            while (bytes.hasRemaining() && canal.read(bytes) >= 0) {
+                // continua ate encher
+            }
+            bytes.flip();
+            return new ImagemEmMemoria(bytes.asReadOnlyBuffer(), arquivo.getFileName().toString(),
+                    Files.getLastModifiedTime(arquivo).toMillis());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Resource sobre o buffer em cache. Cada leitura usa uma copia da posicao (duplicate), entao varias
+     * respostas (inteiras ou por Range) leem o mesmo buffer ao mesmo tempo sem copia-lo. Na resposta HTTP
+     * o buffer vai direto para a saida (ImagemCacheHttpMessageConverter), sem passar pelo InputStream.
+     */
+    public static final class ImagemEmMemoria extends AbstractResource {
+
+        private final ByteBuffer bytes;
+        private final String filename;
+        private final long lastModified;
+
+        ImagemEmMemoria(ByteBuffer bytes, String filename, long lastModified) {
+            this.bytes = bytes;
+            this.filename = filename;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteBufferInputStream(bytes.duplicate());
+        }
+
+        /**
+         * Visao somente leitura de um trecho do buffer, sem copia.
+         */
+        public ByteBuffer trecho(long inicio, long tamanho) {
+            ByteBuffer trecho = bytes.duplicate();
+            trecho.position(Math.toIntExact(inicio));
+            trecho.limit(Math.toIntExact(inicio + tamanho));
+            return trecho;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return bytes.capacity();
+        }
+
+        @Override
+        public long lastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public String getDescription() {
+            return "imagem em cache [" + filename + "]";
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer bytes;
+
+        ByteBufferInputStream(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() {
+            return bytes.hasRemaining() ? bytes.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] destino, int inicio, int tamanho) {
+            if (tamanho == 0) {
+                return 0;
+            }
+            if (!bytes.hasRemaining()) {
+                return -1;
+            }
+            int lidos = Math.min(tamanho, bytes.remaining());
+            bytes.get(destino, inicio, lidos);
+            return lidos;
+        }
+
+        // o Range pula ate o inicio do trecho: aqui e so mover a posicao
+        @Override
+        public long skip(long quantidade) {
+            int pulados = (int) Math.max(0, Math.min(quantidade, bytes.remaining()));
+            bytes.position(bytes.position() + pulados);
+            return pulados;
+        }
+
+        @Override
+        public int available() {
+            return bytes.remaining();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.infnet.artigoEventos.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Baldes de fichas por chave (IP ou email) e grupo de rota. Cada balde e um unico AtomicLong com o
+ * instante teorico de chegada (GCRA): equivale a um token bucket de "capacidade" fichas repostas
+ * uma a cada "reposicao", atualizado por CAS, sem locks. Baldes ociosos saem do cache depois de
+ * app.limite.ociosidade e o total de chaves e limitado por app.limite.max-chaves.
+ */
+@Component
+public class LimitadorTaxa {
+
+    public enum Grupo {
+        LOGIN, LOGIN_EMAIL, SIGNUP, UPLOAD
+    }
+
+    public record Regra(int capacidade, Duration reposicao) {
+    }
+
+    private final Cache<String, AtomicLong> baldes;
+    private final MeterRegistry meterRegistry;
+    private LongSupplier relogio = System::nanoTime;
+
+    @Value("${app.limite.login.capacidade:10}")
+    private int loginCapacidade;
+    @Value("${app.limite.login.reposicao:PT6S}")
+    private Duration loginReposicao;
+    @Value("${app.limite.login-email.capacidade:5}")
+    private int loginEmailCapacidade;
+    @Value("${app.limite.login-email.reposicao:PT1M}")
+    private Duration loginEmailReposicao;
+    @Value("${app.limite.signup.capacidade:5}")
+    private int signupCapacidade;
+    @Value("${app.limite.signup.reposicao:PT2M}")
+    private Duration signupReposicao;
+    @Value("${app.limite.upload.capacidade:10}")
+    private int uploadCapacidade;
+    @Value("${app.limite.upload.reposicao:PT6S}")
+    private Duration uploadReposicao;
+
+    public LimitadorTaxa(@Value("${app.limite.ociosidade:PT10M}") Duration ociosidade,
+                         @Value("${app.limite.max-chaves:100000}") long maxChaves,
+                         MeterRegistry meterRegistry) {
+        this.baldes = Caffeine.newBuilder()
+                .expireAfterAccess(ociosidade)
+                .maximumSize(maxChaves)
+                .build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Regra regra(Grupo grupo) {
+        return switch (grupo) {
+            case LOGIN -> new Regra(loginCapacidade, loginReposicao);
+            case LOGIN_EMAIL -> new Regra(loginEmailCapacidade, loginEmailReposicao);
+            case SIGNUP -> new Regra(signupCapacidade, signupReposicao);
+            case UPLOAD -> new Regra(uploadCapacidade, uploadReposicao);
+        };
+    }
+
+    /**
+     * Consome uma ficha do balde. Retorna zero se havia ficha, ou quanto falta para a proxima.
+     */
+    public Duration consumir(Grupo grupo, String chave) {
+        Regra regra = regra(grupo);
+        long intervalo = regra.reposicao().toNanos();
+        long tolerancia = intervalo * (regra.capacidade() - 1);
+        AtomicLong balde = baldes.get(grupo + ":" + chave, k -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long agora = relogio.getAsLong();
+            long atual = balde.get();
+            long chegada = atual == Long.MIN_VALUE ? agora : Math.max(atual, agora);
+            if (chegada - agora > tolerancia) {
+                meterRegistry.counter("limite.rejeicoes", "grupo", grupo.name().toLowerCase()).increment();
+                return Duration.ofNanos(chegada - agora - tolerancia);
+            }
+            if (balde.compareAndSet(atual, chegada + intervalo)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    public void limpar() {
+        baldes.invalidateAll();
+    }
+
+    void setRelogio(LongSupplier relogio) {
+        this.relogio = relogio;
+    }
+
+    long chaves() {
+        baldes.cleanUp();
+        return baldes.estimatedSize();
+    }
+}
@@ -0,0 +1,23 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.model.ConviteOutbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envio padrao enquanto nao ha servidor de email configurado: so registra o convite no log.
+ */
+@Component
+@ConditionalOnProperty(name = "app.convites.sender", havingValue = "log", matchIfMissing = true)
+public class LogConviteSender implements ConviteSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LogConviteSender.class);
+
+    @Override
+    public void enviar(ConviteOutbox convite) {
+        log.info("Convite para {} <{}> no evento {} ({})",
+                convite.getNome(), convite.getEmail(), convite.getEventoNome(), convite.getEventoId());
+    }
+}
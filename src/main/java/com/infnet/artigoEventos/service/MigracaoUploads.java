@@ -0,0 +1,230 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.dto.MigracaoUploadsDto;
+import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ImagemBlobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Move as imagens que ainda estao soltas na raiz do diretorio de upload (UUID_nome e os blobs
+ * {@code <sha256>.<extensao>} de antes do layout) para {@code ab/cd/<sha256>.<extensao>}, em lotes de
+ * app.uploads.migracao.lote, sem parar a aplicacao. Cada arquivo ganha antes um link no destino: ate o
+ * commit que reescreve eventos.imagem_path, o caminho antigo e o novo servem a mesma imagem, e o antigo
+ * so e apagado depois. Conteudo repetido entre arquivos antigos vira um blob so.
+ * Metrica: imagens.migracao.arquivos.
+ */
+@Component
+public class MigracaoUploads {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracaoUploads.class);
+
+    @Autowired
+    private EventoRepository eventoRepository;
+    @Autowired
+    private ImagemBlobRepository imagemBlobRepository;
+    @Autowired
+    private EventoCache eventoCache;
+    @Autowired
+    private VariantesImagem variantesImagem;
+    @Autowired
+    private ImagemCache imagemCache;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.uploads.migracao.habilitada:true}")
+    private boolean habilitada;
+
+    @Value("${app.uploads.migracao.lote:200}")
+    private int tamanhoLote;
+
+    private final Path rootLocation;
+    private final Counter migrados;
+
+    // posicao da passada atual (nomes em ordem) e quantos arquivos ela ja moveu
+    private String cursor = "";
+    private int movidosNaPassada;
+    private volatile boolean concluida;
+
+    public MigracaoUploads(@Value("${file.upload-dir}") String uploadDir, MeterRegistry meterRegistry) {
+        this.rootLocation = Paths.get(uploadDir);
+        this.migrados = Counter.builder("imagens.migracao.arquivos").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.uploads.migracao.intervalo:PT30S}",
+            initialDelayString = "${app.uploads.migracao.intervalo:PT30S}")
+    public void agendado() {
+        if (habilitada && !concluida) {
+            migrarLote();
+        }
+    }
+
+    /**
+     * Processa o proximo lote. Arquivos com falha ficam para a passada seguinte; quando uma passada
+     * inteira nao move nada, a migracao e dada como concluida ate o proximo reinicio.
+     */
+    public synchronized MigracaoUploadsDto migrarLote() {
+        List<String> lote = eventoRepository.findImagensForaDoLayout(cursor, tamanhoLote);
+        if (lote.isEmpty()) {
+            if (cursor.isEmpty() || movidosNaPassada == 0) {
+                if (!concluida) {
+                    log.info("Migracao do diretorio de upload concluida");
+                }
+                concluida = true;
+            }
+            cursor = "";
+            movidosNaPassada = 0;
+            return new MigracaoUploadsDto(0, 0, concluida);
+        }
+        concluida = false;
+
+        int movidos = 0;
+        int falhas = 0;
+        for (String antigo : lote) {
+            try {
+                if (migrar(antigo)) {
+                    movidos++;
+                }
+            } catch (IOException | RuntimeException e) {
+                falhas++;
+                log.warn("Falha ao migrar {}: {}", antigo, e.toString());
+            }
+            cursor = antigo;
+        }
+        movidosNaPassada += movidos;
+        migrados.increment(movidos);
+        return new MigracaoUploadsDto(movidos, falhas, false);
+    }
+
+    boolean migrar(String antigo) throws IOException {
+        Path origem = rootLocation.resolve(antigo);
+        if (!Files.isRegularFile(origem)) {
+            log.warn("Imagem {} referenciada por eventos nao existe no diretorio de upload", antigo);
+            return false;
+        }
+        String hashDoNome = ArmazenamentoImagens.hashDe(antigo);
+        String hash = hashDoNome != null ? hashDoNome : ArmazenamentoImagens.hashDoArquivo(origem);
+        long tamanho = Files.size(origem);
+
+        // se o conteudo ja tem blob no layout, e para ele que os eventos passam a apontar
+        Optional<String> existente = imagemBlobRepository.findArquivo(hash);
+        String destino = existente.filter(ArmazenamentoImagens::noLayout)
+                .orElseGet(() -> ArmazenamentoImagens.caminho(hash,
+                        ArmazenamentoImagens.extensao(existente.orElse(antigo))));
+
+        List<Path> criados = new ArrayList<>();
+        vincular(origem, rootLocation.resolve(destino), criados);
+        for (VariantesImagem.Variante variante : VariantesImagem.Variante.values()) {
+            Path reduzida = rootLocation.resolve(VariantesImagem.nomeVariante(antigo, variante));
+            if (Files.exists(reduzida)) {
+                vincular(reduzida, rootLocation.resolve(VariantesImagem.nomeVariante(destino, variante)), criados);
+            }
+        }
+
+        List<String> substituidos = new ArrayList<>();
+        List<Integer> eventos = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    reapontar(hash, tamanho, antigo, destino, substituidos, eventos));
+        } catch (RuntimeException e) {
+            for (Path criado : criados) {
+                Files.deleteIfExists(criado);
+            }
+            throw e;
+        }
+
+        eventos.forEach(eventoCache::invalidar);
+        if (substituidos.isEmpty()) {
+            // ninguem mais apontava para o arquivo (liberado durante a migracao): o link novo e lixo
+            for (Path criado : criados) {
+                Files.deleteIfExists(criado);
+            }
+            return false;
+        }
+        for (String arquivo : substituidos) {
+            variantesImagem.remover(arquivo);
+            imagemCache.invalidarImagem(rootLocation, arquivo);
+            Files.deleteIfExists(rootLocation.resolve(arquivo));
+        }
+        return true;
+    }
+
+    /**
+     * Troca o caminho nos eventos e acerta a contagem do blob; o UPDATE vem primeiro para ja segurar
+     * a escrita do banco antes de ler o blob (uploads e liberacoes concorrentes esperam o commit).
+     */
+    private void reapontar(String hash, long tamanho, String antigo, String destino,
+                           List<String> substituidos, List<Integer> eventos) {
+        LocalDateTime agora = LocalDateTime.now();
+        int referencias = eventoRepository.moverImagem(antigo, destino, agora);
+        Optional<String> atual = imagemBlobRepository.findArquivo(hash);
+
+        if (atual.isEmpty()) {
+            if (referencias > 0) {
+                imagemBlobRepository.inserir(hash, destino, tamanho, referencias);
+                substituidos.add(antigo);
+                eventos.addAll(eventoRepository.findIdsByImagemPath(destino));
+            }
+            return;
+        }
+        String arquivoAtual = atual.get();
+        if (arquivoAtual.equals(antigo)) {
+            // blob de antes do layout: os eventos dele ja estavam contados
+            imagemBlobRepository.mover(hash, destino, 0);
+        } else {
+            if (!arquivoAtual.equals(destino)) {
+                if (ArmazenamentoImagens.noLayout(arquivoAtual)) {
+                    throw new IllegalStateException("Blob " + hash + " mudou para " + arquivoAtual + " durante a migracao");
+                }
+                eventoRepository.moverImagem(arquivoAtual, destino, agora);
+                substituidos.add(arquivoAtual);
+            }
+            imagemBlobRepository.mover(hash, destino, referencias);
+        }
+        substituidos.add(antigo);
+        // inclui quem ja apontava para o destino; invalidar a mais no cache nao faz mal
+        eventos.addAll(eventoRepository.findIdsByImagemPath(destino));
+    }
+
+    private static void vincular(Path origem, Path destino, List<Path> criados) throws IOException {
+        if (Files.exists(destino)) {
+            return;
+        }
+        Files.createDirectories(destino.getParent());
+        try {
+            Files.createLink(destino, origem);
+        } catch (FileAlreadyExistsException e) {
+            return;
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            // sistema de arquivos sem hard link: copia (o original sai depois do commit do mesmo jeito)
+            Files.copy(origem, destino);
+        }
+        // o link herda a data do original: renova para o ReconciliadorUploads respeitar a carencia
+        Files.setLastModifiedTime(destino, FileTime.from(Instant.now()));
+        criados.add(destino);
+    }
+
+    public boolean isConcluida() {
+        return concluida;
+    }
+}
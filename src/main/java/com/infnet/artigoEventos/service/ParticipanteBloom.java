@@ -0,0 +1,197 @@
+package com.infnet.artigoEventos.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.infnet.artigoEventos.repository.ParticipanteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom por evento com os emails ja convidados, na frente de existsByEmailAndEventoId.
+ * "Nao contem" e definitivo e dispensa o banco; "talvez contenha" confirma no banco.
+ * Os filtros sao montados sob demanda a partir do banco e ficam num cache limitado em bytes.
+ * A remocao de um convidado descarta o filtro do evento (Bloom nao suporta remocao), e o
+ * indice unico (email, evento_id) continua sendo a garantia final contra duplicados.
+ * Metricas: participantes.bloom.consultas (resultado=negativo|positivo|falso_positivo),
+ * participantes.bloom.taxa_falsos_positivos, participantes.bloom.memoria e participantes.bloom.filtros.
+ */
+@Component
+public class ParticipanteBloom {
+
+    private static final double TAXA_FALSOS_POSITIVOS = 0.01;
+    private static final int CAPACIDADE_MINIMA = 64;
+
+    private final ParticipanteRepository participanteRepository;
+    private final Cache<Integer, Filtro> filtros;
+    private final Counter negativos;
+    private final Counter positivos;
+    private final Counter falsosPositivos;
+
+    @Autowired
+    public ParticipanteBloom(ParticipanteRepository participanteRepository,
+                             @Value("${app.participantes.bloom.max-bytes:16777216}") long maxBytes,
+                             @Value("${app.participantes.bloom.ttl:30m}") Duration ttl,
+                             MeterRegistry meterRegistry) {
+        this.participanteRepository = participanteRepository;
+        this.filtros = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Integer id, Filtro filtro) -> filtro.bytes())
+                .expireAfterAccess(ttl)
+                .build();
+
+        this.negativos = Counter.builder("participantes.bloom.consultas").tag("resultado", "negativo").register(meterRegistry);
+        this.positivos = Counter.builder("participantes.bloom.consultas").tag("resultado", "positivo").register(meterRegistry);
+        this.falsosPositivos = Counter.builder("participantes.bloom.consultas").tag("resultado", "falso_positivo")
+                .register(meterRegistry);
+        Gauge.builder("participantes.bloom.taxa_falsos_positivos", this, ParticipanteBloom::taxaFalsosPositivos)
+                .register(meterRegistry);
+        Gauge.builder("participantes.bloom.memoria", this, ParticipanteBloom::memoriaEmBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("participantes.bloom.filtros", filtros, cache -> cache.estimatedSize())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifica se o email ja esta convidado, indo ao banco so quando o filtro nao descarta.
+     */
+    public boolean jaConvidado(Integer eventoId, String email) {
+        Filtro filtro = filtros.get(eventoId, this::montar);
+        if (!filtro.talvezContenha(email)) {
+            negativos.increment();
+            return false;
+        }
+        boolean existe = participanteRepository.existsByEmailAndEventoId(email, eventoId);
+        if (existe) {
+            positivos.increment();
+        } else {
+            falsosPositivos.increment();
+        }
+        return existe;
+    }
+
+    public void adicionar(Integer eventoId, String email) {
+        Filtro filtro = filtros.getIfPresent(eventoId);
+        if (filtro == null) {
+            return;
+        }
+        // acima da capacidade a taxa de falsos positivos sobe; o proximo uso remonta maior
+        if (!filtro.adicionar(email)) {
+            filtros.invalidate(eventoId);
+        }
+    }
+
+    // descarta de novo quando a transacao termina: um filtro remontado antes do commit nao ve as escritas dela
+    public void invalidar(Integer eventoId) {
+        filtros.invalidate(eventoId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    filtros.invalidate(eventoId);
+                }
+            });
+        }
+    }
+
+    public void invalidarTodos() {
+        filtros.invalidateAll();
+    }
+
+    double taxaFalsosPositivos() {
+        double possiveis = positivos.count() + falsosPositivos.count();
+        return possiveis == 0 ? 0 : falsosPositivos.count() / possiveis;
+    }
+
+    long memoriaEmBytes() {
+        return filtros.asMap().values().stream().mapToLong(Filtro::bytes).sum();
+    }
+
+    private Filtro montar(Integer eventoId) {
+        Set<String> emails = participanteRepository.findEmailsByEventoId(eventoId);
+        Filtro filtro = new Filtro(Math.max(CAPACIDADE_MINIMA, emails.size() * 2), TAXA_FALSOS_POSITIVOS);
+        emails.forEach(filtro::adicionar);
+        return filtro;
+    }
+
+    static final class Filtro {
+        private final AtomicLongArray bits;
+        private final long tamanho;
+        private final int funcoes;
+        private final int capacidade;
+        private final AtomicInteger inseridos = new AtomicInteger();
+
+        Filtro(int capacidade, double taxaFalsosPositivos) {
+            long m = (long) Math.ceil(-capacidade * Math.log(taxaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((m + 63) / 64));
+            this.tamanho = bits.length() * 64L;
+            this.funcoes = Math.max(1, (int) Math.round((double) tamanho / capacidade * Math.log(2)));
+            this.capacidade = capacidade;
+        }
+
+        /**
+         * Marca o email; retorna false quando o filtro passou da capacidade planejada.
+         */
+        boolean adicionar(String email) {
+            long h1 = hash(email);
+            long h2 = misturar(h1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < funcoes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, tamanho);
+                int palavra = (int) (bit >>> 6);
+                long mascara = 1L << (bit & 63);
+                long atual;
+                do {
+                    atual = bits.get(palavra);
+                } while ((atual & mascara) == 0 && !bits.compareAndSet(palavra, atual, atual | mascara));
+            }
+            return inseridos.incrementAndGet() <= capacidade;
+        }
+
+        boolean talvezContenha(String email) {
+            long h1 = hash(email);
+            long h2 = misturar(h1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < funcoes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, tamanho);
+                if ((bits.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int bytes() {
+            return bits.length() * Long.BYTES;
+        }
+
+        // FNV-1a de 64 bits seguido da finalizacao do MurmurHash3
+        private static long hash(String valor) {
+            long h = 0xcbf29ce484222325L;
+            for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+                h ^= b;
+                h *= 0x100000001b3L;
+            }
+            return misturar(h);
+        }
+
+        private static long misturar(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.dto.EventoResponseDto;
+import com.infnet.artigoEventos.dto.ImportacaoLinhaDto;
+import com.infnet.artigoEventos.dto.ImportacaoParticipantesDto;
+import com.infnet.artigoEventos.dto.ParticipanteDto;
+import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ParticipanteRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importacao de convidados por CSV (cabecalho com as colunas nome e email, em qualquer ordem).
+ * O arquivo e lido linha a linha; o organizador e verificado uma vez, os emails ja
+ * convidados vem numa unica consulta e as insercoes vao em lotes JDBC numa so transacao,
+ * junto com os convites da outbox (enviados depois pelo ConviteDispatcher).
+ */
+@Service
+public class ParticipanteImportService {
+
+    private static final String INSERT = "INSERT INTO participante (nome, email, evento_id) VALUES (?, ?, ?)";
+    private static final String INSERT_CONVITE = "INSERT INTO convites_outbox "
+            + "(evento_id, evento_nome, email, nome, situacao, tentativas, proxima_tentativa, criado_em) "
+            + "VALUES (?, ?, ?, ?, 'PENDENTE', 0, ?, ?)";
+
+    @Autowired
+    private EventoService eventoService;
+
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private EventoCache eventoCache;
+
+    @Autowired
+    private ParticipanteBloom participanteBloom;
+
+    @Autowired
+    private VagasEvento vagasEvento;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.participantes.import.lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${app.participantes.import.max-linhas:50000}")
+    private int maximoLinhas;
+
+    @Transactional
+    public ImportacaoParticipantesDto importar(Integer eventoId, InputStream in, String requisitanteEmail) throws IOException {
+        long inicio = System.currentTimeMillis();
+        EventoResponseDto evento = eventoService.getEventoResponseById(eventoId);
+        eventoService.verificarOrganizador(evento, requisitanteEmail,
+                "Apenas o organizador do evento pode adicionar participantes.");
+        long vagas = evento.getCapacidade() == null ? Long.MAX_VALUE
+                : evento.getCapacidade() - eventoRepository.findTotalParticipantesById(eventoId).orElse(0);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String cabecalho = reader.readLine();
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Arquivo CSV vazio");
+        }
+        List<String> colunas = colunas(cabecalho.replace("\uFEFF", ""));
+        int colunaNome = indiceColuna(colunas, "nome");
+        int colunaEmail = indiceColuna(colunas, "email");
+
+        Set<String> emails = new HashSet<>(participanteRepository.findEmailsByEventoId(eventoId));
+        ImportacaoParticipantesDto resumo = new ImportacaoParticipantesDto();
+        List<Object[]> lote = new ArrayList<>(tamanhoLote);
+
+        String linha;
+        long numero = 1;
+        while ((linha = reader.readLine()) != null) {
+            numero++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            if (resumo.getLinhas() >= maximoLinhas) {
+                throw new IllegalArgumentException("Arquivo excede o limite de " + maximoLinhas + " linhas");
+            }
+            resumo.setLinhas(resumo.getLinhas() + 1);
+
+            List<String> valores = colunas(linha);
+            ParticipanteDto dto = new ParticipanteDto();
+            dto.setNome(valor(valores, colunaNome));
+            dto.setEmail(valor(valores, colunaEmail));
+
+            Set<ConstraintViolation<ParticipanteDto>> erros = validator.validate(dto);
+            if (!erros.isEmpty()) {
+                String mensagem = erros.stream().map(ConstraintViolation::getMessage).sorted()
+                        .collect(Collectors.joining("; "));
+                registrar(resumo, numero, dto.getEmail(), ImportacaoLinhaDto.INVALIDO, mensagem);
+                continue;
+            }
+            if (!emails.add(dto.getEmail())) {
+                registrar(resumo, numero, dto.getEmail(), ImportacaoLinhaDto.DUPLICADO, EventoService.MSG_JA_CONVIDADO);
+                continue;
+            }
+            if (resumo.getInseridos() >= vagas) {
+                registrar(resumo, numero, dto.getEmail(), ImportacaoLinhaDto.INVALIDO, EventoService.MSG_SEM_VAGAS);
+                continue;
+            }
+            lote.add(new Object[]{dto.getNome(), dto.getEmail(), eventoId});
+            registrar(resumo, numero, dto.getEmail(), ImportacaoLinhaDto.INSERIDO, null);
+            if (lote.size() >= tamanhoLote) {
+                gravarLote(lote, evento);
+            }
+        }
+        gravarLote(lote, evento);
+        if (resumo.getInseridos() > 0) {
+            eventoRepository.ajustarParticipantes(eventoId, (int) resumo.getInseridos(), LocalDateTime.now());
+            eventoCache.invalidar(eventoId);
+            participanteBloom.invalidar(eventoId);
+            vagasEvento.descartar(eventoId);
+        }
+
+        resumo.setDuracaoMs(System.currentTimeMillis() - inicio);
+        return resumo;
+    }
+
+    private void gravarLote(List<Object[]> lote, EventoResponseDto evento) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, lote);
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> convites = new ArrayList<>(lote.size());
+        for (Object[] linha : lote) {
+            convites.add(new Object[]{evento.getId(), evento.getNome(), linha[1], linha[0], agora, agora});
+        }
+        jdbcTemplate.batchUpdate(INSERT_CONVITE, convites);
+        lote.clear();
+    }
+
+    private void registrar(ImportacaoParticipantesDto resumo, long linha, String email, String situacao, String mensagem) {
+        switch (situacao) {
+            case ImportacaoLinhaDto.INSERIDO -> resumo.setInseridos(resumo.getInseridos() + 1);
+            case ImportacaoLinhaDto.DUPLICADO -> resumo.setDuplicados(resumo.getDuplicados() + 1);
+            default -> resumo.setInvalidos(resumo.getInvalidos() + 1);
+        }
+        resumo.getResultados().add(new ImportacaoLinhaDto(linha, email, situacao, mensagem));
+    }
+
+    private int indiceColuna(List<String> colunas, String nome) {
+        for (int i = 0; i < colunas.size(); i++) {
+            if (colunas.get(i).trim().toLowerCase(Locale.ROOT).equals(nome)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Cabecalho do CSV deve conter a coluna " + nome);
+    }
+
+    private String valor(List<String> valores, int indice) {
+        if (indice >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // separa uma linha CSV por virgula, respeitando campos entre aspas e aspas duplicadas ("")
+    static List<String> colunas(String linha) {
+        List<String> colunas = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                colunas.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        colunas.add(atual.toString());
+        return colunas;
+    }
+}
@@ -0,0 +1,252 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.dto.ReconciliacaoUploadsDto;
+import com.infnet.artigoEventos.model.ImagemBlob;
+import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ImagemBlobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Confere o diretorio de upload contra eventos.imagem_path, em lotes de app.uploads.reconciliacao.lote e no
+ * ritmo de app.uploads.reconciliacao.arquivos-por-segundo. Apaga arquivos sem referencia (incluindo
+ * temporarios e variantes de originais que ja sairam) mais antigos que app.uploads.reconciliacao.carencia,
+ * que cobre uploads e migracoes ainda nao commitados. Tambem lista os caminhos em eventos que nao existem no disco.
+ * Metricas: uploads.reconciliacao.removidos, uploads.reconciliacao.bytes.liberados e
+ * uploads.reconciliacao.referencias.quebradas (da ultima passada).
+ */
+@Component
+public class ReconciliadorUploads {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliadorUploads.class);
+    private static final int AMOSTRA_QUEBRADAS = 20;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+    @Autowired
+    private ImagemBlobRepository imagemBlobRepository;
+    @Autowired
+    private ImagemCache imagemCache;
+
+    @Value("${app.uploads.reconciliacao.habilitada:true}")
+    private boolean habilitada;
+
+    @Value("${app.uploads.reconciliacao.carencia:PT1H}")
+    private Duration carencia;
+
+    @Value("${app.uploads.reconciliacao.lote:500}")
+    private int tamanhoLote;
+
+    @Value("${app.uploads.reconciliacao.arquivos-por-segundo:2000}")
+    private int arquivosPorSegundo;
+
+    private final Path rootLocation;
+    private final Counter removidos;
+    private final Counter bytesLiberados;
+    private final AtomicLong referenciasQuebradas = new AtomicLong();
+
+    public ReconciliadorUploads(@Value("${file.upload-dir}") String uploadDir, MeterRegistry meterRegistry) {
+        this.rootLocation = Paths.get(uploadDir);
+        this.removidos = Counter.builder("uploads.reconciliacao.removidos").register(meterRegistry);
+        this.bytesLiberados = Counter.builder("uploads.reconciliacao.bytes.liberados").baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("uploads.reconciliacao.referencias.quebradas", referenciasQuebradas, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.uploads.reconciliacao.intervalo:PT6H}",
+            initialDelayString = "${app.uploads.reconciliacao.atraso-inicial:PT10M}")
+    public void agendado() {
+        if (habilitada) {
+            reconciliar();
+        }
+    }
+
+    public synchronized ReconciliacaoUploadsDto reconciliar() {
+        long inicio = System.nanoTime();
+        ReconciliacaoUploadsDto resultado = new ReconciliacaoUploadsDto();
+        Instant limite = Instant.now().minus(carencia);
+        try {
+            recolherOrfaos(limite, resultado);
+            conferirReferencias(resultado);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        referenciasQuebradas.set(resultado.getReferenciasQuebradas());
+        resultado.setDuracaoMs((System.nanoTime() - inicio) / 1_000_000);
+        log.info("Reconciliacao do diretorio de upload: {} arquivos verificados, {} removidos ({} bytes), "
+                        + "{} referencias quebradas em {} ms", resultado.getVerificados(), resultado.getRemovidos(),
+                resultado.getBytesLiberados(), resultado.getReferenciasQuebradas(), resultado.getDuracaoMs());
+        return resultado;
+    }
+
+    private void recolherOrfaos(Instant limite, ReconciliacaoUploadsDto resultado) throws InterruptedException {
+        if (!Files.isDirectory(rootLocation)) {
+            return;
+        }
+        // Files.walk e preguicoso: so o lote atual fica em memoria
+        try (Stream<Path> arquivos = Files.walk(rootLocation)) {
+            Iterator<Path> iterador = arquivos.filter(Files::isRegularFile).iterator();
+            List<Path> lote = new ArrayList<>(tamanhoLote);
+            while (iterador.hasNext()) {
+                lote.add(iterador.next());
+                if (lote.size() == tamanhoLote) {
+                    processar(lote, limite, resultado);
+                    lote.clear();
+                }
+            }
+            processar(lote, limite, resultado);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Falha ao percorrer {}: {}", rootLocation, e.toString());
+        }
+    }
+
+    private void processar(List<Path> lote, Instant limite, ReconciliacaoUploadsDto resultado)
+            throws InterruptedException {
+        if (lote.isEmpty()) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        Map<String, Path> candidatos = new HashMap<>();
+        for (Path arquivo : lote) {
+            if (antigo(arquivo, limite)) {
+                candidatos.put(relativo(arquivo), arquivo);
+            }
+        }
+        resultado.setVerificados(resultado.getVerificados() + lote.size());
+
+        if (!candidatos.isEmpty()) {
+            Set<String> referenciados = referenciados(candidatos.keySet());
+            for (Map.Entry<String, Path> candidato : candidatos.entrySet()) {
+                String caminho = candidato.getKey();
+                if (referenciados.contains(caminho) || varianteDeImagemReferenciada(caminho)) {
+                    continue;
+                }
+                apagar(caminho, candidato.getValue(), limite, resultado);
+            }
+        }
+        pausar(lote.size(), inicio);
+    }
+
+    private Set<String> referenciados(Set<String> caminhos) {
+        Set<String> referenciados = new HashSet<>(eventoRepository.findImagensReferenciadas(caminhos));
+        // blob com contagem mas sem evento (importacao, restauracao) continua protegido
+        Set<String> hashes = new HashSet<>();
+        for (String caminho : caminhos) {
+            String hash = ArmazenamentoImagens.hashDe(caminho);
+            if (hash != null) {
+                hashes.add(hash);
+            }
+        }
+        for (ImagemBlob blob : imagemBlobRepository.findAllById(hashes)) {
+            referenciados.add(blob.getArquivo());
+        }
+        return referenciados;
+    }
+
+    // a variante fica enquanto algum evento aponta para o original dela (qualquer extensao)
+    private boolean varianteDeImagemReferenciada(String caminho) {
+        for (VariantesImagem.Variante variante : VariantesImagem.Variante.values()) {
+            String sufixo = "." + variante.getNome() + ".jpg";
+            if (caminho.endsWith(sufixo)) {
+                String prefixo = caminho.substring(0, caminho.length() - sufixo.length()) + ".";
+                // '/' e o caractere seguinte a '.': o intervalo cobre exatamente os nomes com esse prefixo
+                String ate = prefixo.substring(0, prefixo.length() - 1) + "/";
+                return !eventoRepository.findImagensEntre(prefixo, ate).isEmpty();
+            }
+        }
+        return false;
+    }
+
+    private void apagar(String caminho, Path arquivo, Instant limite, ReconciliacaoUploadsDto resultado) {
+        try {
+            // confere a data de novo: um upload pode ter reaproveitado o arquivo depois da consulta
+            BasicFileAttributes atributos = Files.readAttributes(arquivo, BasicFileAttributes.class);
+            if (!atributos.lastModifiedTime().toInstant().isBefore(limite)) {
+                return;
+            }
+            imagemCache.invalidar(arquivo);
+            if (Files.deleteIfExists(arquivo)) {
+                resultado.setRemovidos(resultado.getRemovidos() + 1);
+                resultado.setBytesLiberados(resultado.getBytesLiberados() + atributos.size());
+                removidos.increment();
+                bytesLiberados.increment(atributos.size());
+                log.debug("Arquivo orfao removido: {}", caminho);
+            }
+        } catch (NoSuchFileException e) {
+            // ja saiu por outro caminho
+        } catch (IOException e) {
+            log.warn("Falha ao remover arquivo orfao {}: {}", caminho, e.toString());
+        }
+    }
+
+    private void conferirReferencias(ReconciliacaoUploadsDto resultado) throws InterruptedException {
+        String depois = "";
+        List<String> lote;
+        do {
+            long inicio = System.nanoTime();
+            lote = eventoRepository.findImagens(depois, tamanhoLote);
+            for (String caminho : lote) {
+                if (!Files.exists(rootLocation.resolve(caminho))) {
+                    resultado.setReferenciasQuebradas(resultado.getReferenciasQuebradas() + 1);
+                    if (resultado.getQuebradas().size() < AMOSTRA_QUEBRADAS) {
+                        resultado.getQuebradas().add(caminho);
+                        log.warn("Eventos apontam para imagem inexistente: {}", caminho);
+                    }
+                }
+                depois = caminho;
+            }
+            pausar(lote.size(), inicio);
+        } while (lote.size() == tamanhoLote);
+    }
+
+    private boolean antigo(Path arquivo, Instant limite) {
+        try {
+            return Files.getLastModifiedTime(arquivo).toInstant().isBefore(limite);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private String relativo(Path arquivo) {
+        return rootLocation.relativize(arquivo).toString().replace('\\', '/');
+    }
+
+    // segura o ritmo para nao disputar disco e banco com as requisicoes
+    private void pausar(int processados, long inicio) throws InterruptedException {
+        if (arquivosPorSegundo <= 0) {
+            return;
+        }
+        long alvoNanos = processados * 1_000_000_000L / arquivosPorSegundo;
+        long restante = alvoNanos - (System.nanoTime() - inicio);
+        if (restante > 0) {
+            Thread.sleep(Duration.ofNanos(restante));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.infnet.artigoEventos.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tokens JWT assinados com HMAC-SHA256. O token de acesso carrega email e papeis, entao a
+ * validacao e so uma conta de HMAC, sem consulta ao banco nem BCrypt. O refresh token e mais
+ * longo e so serve para pedir um novo par em /api/usuarios/refresh; ele leva a versao de tokens do
+ * usuario (claim "ver"), que o refresh confere contra o banco para valer a revogacao na troca de senha.
+ */
+@Service
+public class TokenService {
+
+    public static final String ACESSO = "access";
+    public static final String REFRESH = "refresh";
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getUrlDecoder();
+    private static final String CABECALHO = BASE64.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    public record Token(String email, List<String> papeis, int versao) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec chave;
+    private final Duration validadeAcesso;
+    private final Duration validadeRefresh;
+    private final ThreadLocal<Mac> mac;
+    private Clock clock = Clock.systemUTC();
+
+    public TokenService(ObjectMapper objectMapper,
+                        @Value("${app.jwt.segredo:}") String segredo,
+                        @Value("${app.jwt.acesso-ttl:PT15M}") Duration validadeAcesso,
+                        @Value("${app.jwt.refresh-ttl:P7D}") Duration validadeRefresh) {
+        this.objectMapper = objectMapper;
+        this.chave = new SecretKeySpec(segredo(segredo), ALGORITMO);
+        this.validadeAcesso = validadeAcesso;
+        this.validadeRefresh = validadeRefresh;
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instancia = Mac.getInstance(ALGORITMO);
+                instancia.init(chave);
+                return instancia;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static byte[] segredo(String segredo) {
+        if (segredo == null || segredo.isBlank()) {
+            log.warn("app.jwt.segredo nao configurado; usando chave aleatoria (tokens invalidos apos reinicio)");
+            byte[] aleatorio = new byte[32];
+            new SecureRandom().nextBytes(aleatorio);
+            return aleatorio;
+        }
+        byte[] bytes = Base64.getDecoder().decode(segredo);
+        if (bytes.length < 32) {
+            throw new IllegalStateException("app.jwt.segredo deve ter pelo menos 256 bits");
+        }
+        return bytes;
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public Duration getValidadeAcesso() {
+        return validadeAcesso;
+    }
+
+    public String emitirAcesso(String email, List<String> papeis) {
+        return emitir(email, papeis, ACESSO, validadeAcesso, null);
+    }
+
+    public String emitirRefresh(String email, int versao) {
+        return emitir(email, List.of(), REFRESH, validadeRefresh, versao);
+    }
+
+    private String emitir(String email, List<String> papeis, String tipo, Duration validade, Integer versao) {
+        long agora = clock.instant().getEpochSecond();
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", email);
+        claims.put("typ", tipo);
+        claims.put("roles", papeis);
+        claims.put("iat", agora);
+        claims.put("exp", agora + validade.toSeconds());
+        if (versao != null) {
+            claims.put("ver", versao);
+        }
+        try {
+            String conteudo = CABECALHO + "." + BASE64.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return conteudo + "." + BASE64.encodeToString(assinar(conteudo));
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Confere assinatura, tipo e expiracao. Qualquer problema vira IllegalArgumentException("Token invalido").
+     */
+    public Token validar(String token, String tipoEsperado) {
+        int primeiro = token == null ? -1 : token.indexOf('.');
+        int ultimo = token == null ? -1 : token.lastIndexOf('.');
+        if (primeiro <= 0 || ultimo == primeiro || !token.startsWith(CABECALHO + ".")) {
+            throw new IllegalArgumentException("Token invalido");
+        }
+        try {
+            byte[] assinatura = BASE64_DECODER.decode(token.substring(ultimo + 1));
+            if (!MessageDigest.isEqual(assinatura, assinar(token.substring(0, ultimo)))) {
+                throw new IllegalArgumentException("Token invalido");
+            }
+            Map<String, Object> claims = objectMapper.readValue(
+                    BASE64_DECODER.decode(token.substring(primeiro + 1, ultimo)), new TypeReference<>() {
+                    });
+            if (!tipoEsperado.equals(claims.get("typ"))) {
+                throw new IllegalArgumentException("Token invalido");
+            }
+            if (!(claims.get("exp") instanceof Number exp) || exp.longValue() <= clock.instant().getEpochSecond()) {
+                throw new IllegalArgumentException("Token expirado");
+            }
+            @SuppressWarnings("unchecked")
+            List<String> papeis = (List<String>) claims.getOrDefault("roles", List.of());
+            int versao = claims.get("ver") instanceof Number ver ? ver.intValue() : 0;
+            return new Token((String) claims.get("sub"), papeis, versao);
+        } catch (java.io.IOException | ClassCastException e) {
+            throw new IllegalArgumentException("Token invalido");
+        }
+    }
+
+    private byte[] assinar(String conteudo) {
+        return mac.get().doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+    }
+}
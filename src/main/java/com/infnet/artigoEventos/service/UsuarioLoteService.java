@@ -0,0 +1,172 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.dto.CadastroLoteDto;
+import com.infnet.artigoEventos.dto.ImportacaoLinhaDto;
+import com.infnet.artigoEventos.dto.UsuarioDto;
+import com.infnet.artigoEventos.repository.UsuarioRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Cadastro de usuarios em lote para o admin. Os emails ja cadastrados vem numa unica consulta,
+ * os hashes BCrypt sao calculados em paralelo em virtual threads (no maximo
+ * app.usuarios.lote.paralelismo ao mesmo tempo, ja que o trabalho e de CPU) e as insercoes vao
+ * em lotes JDBC, cada lote na sua transacao.
+ */
+@Service
+public class UsuarioLoteService {
+
+    private static final String INSERT = "INSERT INTO usuarios (nome, email, senha) VALUES (?, ?, ?)";
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.usuarios.lote.tamanho:500}")
+    private int tamanhoLote;
+
+    @Value("${app.usuarios.lote.max:10000}")
+    private int maximoUsuarios;
+
+    @Value("${app.usuarios.lote.paralelismo:0}")
+    private int paralelismo;
+
+    public CadastroLoteDto cadastrar(List<UsuarioDto> usuarios) {
+        long inicio = System.nanoTime();
+        if (usuarios == null || usuarios.isEmpty()) {
+            throw new IllegalArgumentException("Lista de usuarios vazia");
+        }
+        if (usuarios.size() > maximoUsuarios) {
+            throw new IllegalArgumentException("Lote excede o limite de " + maximoUsuarios + " usuarios");
+        }
+
+        CadastroLoteDto resumo = new CadastroLoteDto();
+        resumo.setTotal(usuarios.size());
+        Set<String> emails = new HashSet<>(usuarioRepository.findEmailsExistentes(usuarios.stream()
+                .map(UsuarioDto::getEmail).filter(email -> email != null).collect(Collectors.toSet())));
+
+        List<Integer> validos = new ArrayList<>();
+        for (int i = 0; i < usuarios.size(); i++) {
+            UsuarioDto dto = usuarios.get(i);
+            Set<ConstraintViolation<UsuarioDto>> erros = validator.validate(dto);
+            if (!erros.isEmpty()) {
+                String mensagem = erros.stream().map(ConstraintViolation::getMessage).sorted()
+                        .collect(Collectors.joining("; "));
+                registrar(resumo, i + 1, dto.getEmail(), ImportacaoLinhaDto.INVALIDO, mensagem);
+            } else if (!emails.add(dto.getEmail())) {
+                registrar(resumo, i + 1, dto.getEmail(), ImportacaoLinhaDto.DUPLICADO, "Email ja cadastrado");
+            } else {
+                validos.add(i);
+            }
+        }
+
+        int threads = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        Semaphore vagas = new Semaphore(threads);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int de = 0; de < validos.size(); de += tamanhoLote) {
+                List<Integer> lote = validos.subList(de, Math.min(de + tamanhoLote, validos.size()));
+                List<Future<String>> hashes = new ArrayList<>(lote.size());
+                for (Integer indice : lote) {
+                    String senha = usuarios.get(indice).getSenha();
+                    hashes.add(executor.submit(() -> {
+                        vagas.acquire();
+                        try {
+                            return passwordEncoder.encode(senha);
+                        } finally {
+                            vagas.release();
+                        }
+                    }));
+                }
+
+                List<Object[]> linhas = new ArrayList<>(lote.size());
+                for (int j = 0; j < lote.size(); j++) {
+                    UsuarioDto dto = usuarios.get(lote.get(j));
+                    linhas.add(new Object[]{dto.getNome(), dto.getEmail(), aguardar(hashes.get(j))});
+                }
+                gravarLote(resumo, lote, linhas);
+            }
+        }
+
+        resumo.getResultados().sort((a, b) -> Long.compare(a.getLinha(), b.getLinha()));
+        long nanos = System.nanoTime() - inicio;
+        resumo.setDuracaoMs(nanos / 1_000_000);
+        resumo.setUsuariosPorSegundo(resumo.getInseridos() * 1_000_000_000.0 / Math.max(nanos, 1));
+        return resumo;
+    }
+
+    private void gravarLote(CadastroLoteDto resumo, List<Integer> lote, List<Object[]> linhas) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, linhas));
+            for (int j = 0; j < lote.size(); j++) {
+                registrar(resumo, lote.get(j) + 1, (String) linhas.get(j)[1], ImportacaoLinhaDto.INSERIDO, null);
+            }
+        } catch (DataAccessException e) {
+            if (!EventoService.violacaoDeUnicidade(e)) {
+                throw e;
+            }
+            // alguem cadastrou um destes emails depois da consulta: refaz o lote linha a linha
+            for (int j = 0; j < lote.size(); j++) {
+                Object[] linha = linhas.get(j);
+                try {
+                    jdbcTemplate.update(INSERT, linha);
+                    registrar(resumo, lote.get(j) + 1, (String) linha[1], ImportacaoLinhaDto.INSERIDO, null);
+                } catch (DataAccessException duplicado) {
+                    if (!EventoService.violacaoDeUnicidade(duplicado)) {
+                        throw duplicado;
+                    }
+                    registrar(resumo, lote.get(j) + 1, (String) linha[1], ImportacaoLinhaDto.DUPLICADO,
+                            "Email ja cadastrado");
+                }
+            }
+        }
+    }
+
+    private String aguardar(Future<String> hash) {
+        try {
+            return hash.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cadastro em lote interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao gerar hash de senha", e.getCause());
+        }
+    }
+
+    private void registrar(CadastroLoteDto resumo, long linha, String email, String situacao, String mensagem) {
+        switch (situacao) {
+            case ImportacaoLinhaDto.INSERIDO -> resumo.setInseridos(resumo.getInseridos() + 1);
+            case ImportacaoLinhaDto.DUPLICADO -> resumo.setDuplicados(resumo.getDuplicados() + 1);
+            default -> resumo.setInvalidos(resumo.getInvalidos() + 1);
+        }
+        resumo.getResultados().add(new ImportacaoLinhaDto(linha, email, situacao, mensagem));
+    }
+}
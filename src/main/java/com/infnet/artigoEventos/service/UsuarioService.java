@@ -7,15 +7,19 @@ import com.infnet.artigoEventos.model.Usuario;
 import com.infnet.artigoEventos.repository.UsuarioRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 @Service
-public class UsuarioService implements UserDetailsService {
+public class UsuarioService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UsuarioRepository usuarioRepository;
@@ -23,6 +27,12 @@ public class UsuarioService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CredencialCache credencialCache;
+
+    @Value("${app.admin.emails:}")
+    private Set<String> adminEmails;
+
     public Usuario signup(UsuarioDto usuarioDto) {
         if (usuarioRepository.findByEmail(usuarioDto.getEmail()).isPresent()) {
             throw new IllegalArgumentException("Email ja cadastrado");
@@ -43,6 +53,10 @@ public class UsuarioService implements UserDetailsService {
         if (!passwordEncoder.matches(loginDto.getSenha(), usuario.getSenha())) {
             throw new IllegalArgumentException("Senha invalida");
         }
+        if (passwordEncoder.upgradeEncoding(usuario.getSenha())) {
+            usuario.setSenha(passwordEncoder.encode(loginDto.getSenha()));
+            usuario = usuarioRepository.save(usuario);
+        }
         return usuario;
     }
 
@@ -54,18 +68,24 @@ public class UsuarioService implements UserDetailsService {
             usuario.setNome(dto.getNome());
         }
 
-        if (dto.getSenha() != null && !dto.getSenha().isEmpty()) {
+        boolean trocouSenha = dto.getSenha() != null && !dto.getSenha().isEmpty();
+        if (trocouSenha) {
             usuario.setSenha(passwordEncoder.encode(dto.getSenha()));
+            usuario.setTokenVersao(usuario.getTokenVersao() + 1);
         }
 
-        return usuarioRepository.save(usuario);
+        Usuario salvo = usuarioRepository.save(usuario);
+        if (trocouSenha) {
+            credencialCache.invalidar(usuario.getEmail());
+        }
+        return salvo;
     }
 
     public void deleteUsuario(Integer id) {
-        if (!usuarioRepository.existsById(id)) {
-            throw new EntityNotFoundException("Usuario nao encontrado com id: " + id);
-        }
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Usuario nao encontrado com id: " + id));
         usuarioRepository.deleteById(id);
+        credencialCache.invalidar(usuario.getEmail());
     }
 
     @Override
@@ -76,10 +96,29 @@ public class UsuarioService implements UserDetailsService {
         return new org.springframework.security.core.userdetails.User(
                 usuario.getEmail(),
                 usuario.getSenha(),
-                new ArrayList<>()
+                AuthorityUtils.createAuthorityList(papeis(usuario.getEmail()))
         );
     }
 
+    public List<String> papeis(String email) {
+        return adminEmails.contains(email) ? List.of("ROLE_ADMIN") : List.of();
+    }
+
+    public Usuario getUsuarioByEmail(String email) {
+        return usuarioRepository.findByEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("Usuario nao encontrado"));
+    }
+
+    // chamado pelo DaoAuthenticationProvider quando um login Basic usa hash antigo ou de custo menor
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        usuarioRepository.findByEmail(user.getUsername()).ifPresent(usuario -> {
+            usuario.setSenha(newPassword);
+            usuarioRepository.save(usuario);
+        });
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
+
     //metodo adicionado para pull request da apresentacao apresentacao
     public void doNothing(){
         System.out.println("fazendo nada");
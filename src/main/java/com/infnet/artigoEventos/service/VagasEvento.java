@@ -0,0 +1,114 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.repository.EventoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contadores em memoria das vagas ocupadas dos eventos com capacidade.
+ * Cada tentativa de reserva disputa so um compareAndSet; quando o evento esta lotado a
+ * recusa sai sem tocar no banco. O UPDATE condicional de EventoRepository.ocuparVaga
+ * continua sendo a garantia final, e os contadores sao reconciliados com o banco
+ * periodicamente e sempre que uma escrita muda a ocupacao por outro caminho.
+ */
+@Component
+public class VagasEvento {
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    private final Map<Integer, Vagas> vagasPorEvento = new ConcurrentHashMap<>();
+
+    private static final class Vagas {
+        private final AtomicInteger ocupadas;
+        // reservas cuja transacao ainda nao terminou; a reconciliacao espera zerar
+        private final AtomicInteger emAndamento = new AtomicInteger();
+
+        private Vagas(int ocupadas) {
+            this.ocupadas = new AtomicInteger(ocupadas);
+        }
+    }
+
+    /**
+     * Tenta separar uma vaga. Se houver transacao ativa, a vaga volta sozinha em caso de rollback.
+     */
+    public boolean reservar(Integer eventoId, int capacidade) {
+        Vagas vagas = vagasPorEvento.computeIfAbsent(eventoId, this::carregar);
+        int atual;
+        do {
+            atual = vagas.ocupadas.get();
+            if (atual >= capacidade) {
+                return false;
+            }
+        } while (!vagas.ocupadas.compareAndSet(atual, atual + 1));
+
+        vagas.emAndamento.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        vagas.ocupadas.decrementAndGet();
+                    }
+                    vagas.emAndamento.decrementAndGet();
+                }
+            });
+        } else {
+            vagas.emAndamento.decrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Descarta o contador do evento (depois do commit, se houver transacao); o proximo uso recarrega do banco.
+     */
+    public void descartar(Integer eventoId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    vagasPorEvento.remove(eventoId);
+                }
+            });
+        } else {
+            vagasPorEvento.remove(eventoId);
+        }
+    }
+
+    public void descartarTodos() {
+        vagasPorEvento.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${app.reservas.reconciliacao:PT30S}")
+    public void reconciliar() {
+        vagasPorEvento.forEach((eventoId, vagas) -> {
+            int antes = vagas.ocupadas.get();
+            if (vagas.emAndamento.get() > 0) {
+                return;
+            }
+            Integer noBanco = eventoRepository.findTotalParticipantesById(eventoId).orElse(null);
+            if (noBanco == null) {
+                vagasPorEvento.remove(eventoId, vagas);
+            } else if (vagas.emAndamento.get() == 0) {
+                // se alguma reserva mexeu no contador durante a consulta, fica para a proxima rodada
+                vagas.ocupadas.compareAndSet(antes, noBanco);
+            }
+        });
+    }
+
+    int ocupadas(Integer eventoId) {
+        Vagas vagas = vagasPorEvento.get(eventoId);
+        return vagas == null ? -1 : vagas.ocupadas.get();
+    }
+
+    private Vagas carregar(Integer eventoId) {
+        return new Vagas(eventoRepository.findTotalParticipantesById(eventoId).orElse(0));
+    }
+}
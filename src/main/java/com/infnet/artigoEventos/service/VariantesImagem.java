@@ -0,0 +1,322 @@
+package com.infnet.artigoEventos.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gera as variantes reduzidas (JPEG) das imagens de evento, ao lado do original no diretorio de upload.
+ * O trabalho roda num pool limitado (app.imagens.variantes.threads, fila app.imagens.variantes.fila) e so
+ * comeca depois do commit; com a fila cheia o upload segue normalmente e a variante e pedida de novo
+ * na primeira leitura. Enquanto nao existe, quem le recebe o original.
+ * Metricas: imagens.variantes.geradas, imagens.variantes.falhas, imagens.variantes.descartadas e imagens.variantes.tempo.
+ */
+@Component
+public class VariantesImagem {
+
+    private static final Logger log = LoggerFactory.getLogger(VariantesImagem.class);
+
+    public enum Variante {
+        THUMB("thumb", 240),
+        MEDIUM("medium", 960);
+
+        private final String nome;
+        private final int ladoMaximo;
+
+        Variante(String nome, int ladoMaximo) {
+            this.nome = nome;
+            this.ladoMaximo = ladoMaximo;
+        }
+
+        public String getNome() {
+            return nome;
+        }
+
+        public int getLadoMaximo() {
+            return ladoMaximo;
+        }
+
+        public static Variante de(String nome) {
+            for (Variante variante : values()) {
+                if (variante.nome.equalsIgnoreCase(nome)) {
+                    return variante;
+                }
+            }
+            throw new IllegalArgumentException("Variante de imagem invalida: " + nome + " (use thumb ou medium)");
+        }
+    }
+
+    private final Path rootLocation;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pendentes = ConcurrentHashMap.newKeySet();
+    // originais que nao sao imagens decodificaveis: nao adianta tentar de novo a cada leitura. Limitado
+    // (app.imagens.variantes.sem-variantes-max); quem sai do cache so custa uma nova leitura do cabecalho
+    private final Cache<String, Boolean> semVariantes;
+
+    @Value("${app.imagens.variantes.qualidade:0.82}")
+    private float qualidade;
+
+    @Value("${app.imagens.variantes.max-pixels:40000000}")
+    private long maximoPixels;
+
+    private final Counter geradas;
+    private final Counter falhas;
+    private final Counter descartadas;
+    private final Timer tempo;
+
+    public VariantesImagem(@Value("${file.upload-dir}") String uploadDir,
+                           @Value("${app.imagens.variantes.threads:2}") int threads,
+                           @Value("${app.imagens.variantes.fila:64}") int fila,
+                           @Value("${app.imagens.variantes.sem-variantes-max:10000}") long maximoSemVariantes,
+                           MeterRegistry meterRegistry) {
+        this.rootLocation = Paths.get(uploadDir);
+        this.semVariantes = Caffeine.newBuilder().maximumSize(maximoSemVariantes).build();
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), tarefa -> {
+                    Thread thread = new Thread(tarefa, "variantes-imagem-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+        this.geradas = Counter.builder("imagens.variantes.geradas").register(meterRegistry);
+        this.falhas = Counter.builder("imagens.variantes.falhas").register(meterRegistry);
+        this.descartadas = Counter.builder("imagens.variantes.descartadas").register(meterRegistry);
+        this.tempo = Timer.builder("imagens.variantes.tempo").register(meterRegistry);
+        ImageIO.setUseCache(false);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    static String nomeVariante(String filename, Variante variante) {
+        int ponto = filename.lastIndexOf('.');
+        String base = ponto > 0 ? filename.substring(0, ponto) : filename;
+        return base + "." + variante.nome + ".jpg";
+    }
+
+    /**
+     * Agenda a geracao das variantes de um original recem-gravado. Dentro de uma transacao,
+     * espera o commit: se o evento nao for salvo, nao ha o que gerar.
+     */
+    public void agendar(String filename) {
+        if (filename == null || filename.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enfileirar(filename);
+                }
+            });
+        } else {
+            enfileirar(filename);
+        }
+    }
+
+    /**
+     * O arquivo da variante, ou null se ainda nao ficou pronta (nesse caso a geracao e pedida de novo).
+     */
+    public Path resolver(String filename, Variante variante) {
+        Path arquivo = rootLocation.resolve(nomeVariante(filename, variante));
+        if (Files.isReadable(arquivo)) {
+            return arquivo;
+        }
+        if (semVariantes.getIfPresent(filename) == null && Files.exists(rootLocation.resolve(filename))) {
+            enfileirar(filename);
+        }
+        return null;
+    }
+
+    public void remover(String filename) {
+        if (filename == null || filename.isEmpty()) {
+            return;
+        }
+        semVariantes.invalidate(filename);
+        for (Variante variante : Variante.values()) {
+            try {
+                Files.deleteIfExists(rootLocation.resolve(nomeVariante(filename, variante)));
+            } catch (IOException e) {
+                log.warn("Falha ao deletar variante {} de {}", variante.nome, filename);
+            }
+        }
+    }
+
+    private void enfileirar(String filename) {
+        if (!pendentes.add(filename)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    gerar(filename);
+                } finally {
+                    pendentes.remove(filename);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendentes.remove(filename);
+            descartadas.increment();
+        }
+    }
+
+    /**
+     * Gera de forma sincrona as variantes que ainda faltam. Retorna quantas foram gravadas.
+     */
+    int gerar(String filename) {
+        Path original = rootLocation.resolve(filename);
+        if (!Files.exists(original)) {
+            return 0;
+        }
+        long inicio = System.nanoTime();
+        try {
+            BufferedImage imagem = ler(original);
+            if (imagem == null) {
+                semVariantes.put(filename, Boolean.TRUE);
+                return 0;
+            }
+            int gravadas = 0;
+            for (Variante variante : Variante.values()) {
+                Path destino = rootLocation.resolve(nomeVariante(filename, variante));
+                if (!Files.exists(destino)) {
+                    gravar(redimensionar(imagem, variante.ladoMaximo), destino);
+                    gravadas++;
+                }
+            }
+            geradas.increment(gravadas);
+            return gravadas;
+        } catch (IOException | RuntimeException e) {
+            falhas.increment();
+            log.warn("Falha ao gerar variantes de {}: {}", filename, e.toString());
+            return 0;
+        } finally {
+            tempo.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private BufferedImage ler(Path original) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> leitores = entrada == null ? null : ImageIO.getImageReaders(entrada);
+            if (leitores == null || !leitores.hasNext()) {
+                return null;
+            }
+            ImageReader leitor = leitores.next();
+            try {
+                leitor.setInput(entrada, true, true);
+                // confere o tamanho pelo cabecalho antes de decodificar para nao estourar o heap
+                long pixels = (long) leitor.getWidth(0) * leitor.getHeight(0);
+                if (pixels > maximoPixels) {
+                    log.warn("Imagem {} com {} pixels acima de app.imagens.variantes.max-pixels; sem variantes",
+                            original.getFileName(), pixels);
+                    return null;
+                }
+                return leitor.read(0);
+            } finally {
+                leitor.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reduz para caber em ladoMaximo x ladoMaximo, sem ampliar. Reducoes grandes sao feitas
+     * pela metade a cada passo: o bilinear direto pula pixels e serrilha a miniatura.
+     */
+    static BufferedImage redimensionar(BufferedImage origem, int ladoMaximo) {
+        int largura = origem.getWidth();
+        int altura = origem.getHeight();
+        double escala = Math.min(1.0, (double) ladoMaximo / Math.max(largura, altura));
+        int larguraFinal = Math.max(1, (int) Math.round(largura * escala));
+        int alturaFinal = Math.max(1, (int) Math.round(altura * escala));
+
+        BufferedImage atual = origem;
+        while (largura / 2 >= larguraFinal && altura / 2 >= alturaFinal) {
+            largura /= 2;
+            altura /= 2;
+            atual = desenhar(atual, largura, altura);
+        }
+        return desenhar(atual, larguraFinal, alturaFinal);
+    }
+
+    private static BufferedImage desenhar(BufferedImage origem, int largura, int altura) {
+        // JPEG nao tem canal alfa: transparencia vira fundo branco
+        BufferedImage destino = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, largura, altura);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(origem, 0, 0, largura, altura, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    private void gravar(BufferedImage imagem, Path destino) throws IOException {
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam parametros = escritor.getDefaultWriteParam();
+        parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        parametros.setCompressionQuality(qualidade);
+
+        // grava num temporario e renomeia: quem le nunca ve um JPEG pela metade
+        Path temporario = Files.createTempFile(rootLocation, ".variante-", ".tmp");
+        try {
+            try (ImageOutputStream saida = ImageIO.createImageOutputStream(temporario.toFile())) {
+                escritor.setOutput(saida);
+                escritor.write(null, new IIOImage(imagem, null, null), parametros);
+            } finally {
+                escritor.dispose();
+            }
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    int getPendentes() {
+        return pendentes.size();
+    }
+
+    long getSemVariantes() {
+        semVariantes.cleanUp();
+        return semVariantes.estimatedSize();
+    }
+}
@@ -2,8 +2,9 @@ CREATE TABLE IF NOT EXISTS usuarios (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
     nome TEXT NOT NULL,
     email TEXT NOT NULL UNIQUE,
-    senha TEXT NOT NULL
-);
+    senha TEXT NOT NULL,
+    token_versao INTEGER NOT NULL DEFAULT 0
+)^;
 
 CREATE TABLE IF NOT EXISTS eventos (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
@@ -13,9 +14,13 @@ CREATE TABLE IF NOT EXISTS eventos (
     descricao TEXT,
     imagem_path TEXT,
     status TEXT NOT NULL DEFAULT 'ATIVO',
+    versao INTEGER NOT NULL DEFAULT 0,
+    atualizado_em DATETIME,
+    participant_count INTEGER NOT NULL DEFAULT 0,
+    capacidade INTEGER,
     organizador_id INTEGER,
     FOREIGN KEY (organizador_id) REFERENCES usuarios(id) ON DELETE CASCADE
-    );
+    )^;
 
 CREATE TABLE IF NOT EXISTS participante (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
@@ -24,4 +29,92 @@ CREATE TABLE IF NOT EXISTS participante (
     evento_id INTEGER,
     UNIQUE(email, evento_id),
     FOREIGN KEY (evento_id) REFERENCES eventos(id) ON DELETE CASCADE
-    );
\ No newline at end of file
+    )^;
+
+-- fila de espera dos eventos lotados, promovida por ordem de chegada (id)
+CREATE TABLE IF NOT EXISTS lista_espera (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    nome TEXT NOT NULL,
+    email TEXT NOT NULL,
+    evento_id INTEGER NOT NULL,
+    criado_em DATETIME,
+    UNIQUE(email, evento_id),
+    FOREIGN KEY (evento_id) REFERENCES eventos(id) ON DELETE CASCADE
+    )^;
+
+CREATE INDEX IF NOT EXISTS idx_lista_espera_evento_id ON lista_espera(evento_id, id)^;
+
+-- outbox dos convites: gravada na mesma transacao do participante e drenada pelo ConviteDispatcher
+CREATE TABLE IF NOT EXISTS convites_outbox (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    evento_id INTEGER NOT NULL,
+    evento_nome TEXT NOT NULL,
+    email TEXT NOT NULL,
+    nome TEXT NOT NULL,
+    situacao TEXT NOT NULL DEFAULT 'PENDENTE',
+    tentativas INTEGER NOT NULL DEFAULT 0,
+    proxima_tentativa DATETIME NOT NULL,
+    ultimo_erro TEXT,
+    criado_em DATETIME,
+    enviado_em DATETIME
+    )^;
+
+CREATE INDEX IF NOT EXISTS idx_convites_outbox_situacao ON convites_outbox(situacao, proxima_tentativa, id)^;
+
+-- paginacao por chave (data_evento, id) com os filtros da listagem
+CREATE INDEX IF NOT EXISTS idx_eventos_data_id ON eventos(data_evento, id)^;
+CREATE INDEX IF NOT EXISTS idx_eventos_status_data_id ON eventos(status, data_evento, id)^;
+CREATE INDEX IF NOT EXISTS idx_eventos_local_data_id ON eventos(local_evento, data_evento, id)^;
+
+-- liberacao de imagens e migracao do diretorio de upload procuram eventos pelo arquivo
+CREATE INDEX IF NOT EXISTS idx_eventos_imagem_path ON eventos(imagem_path)^;
+
+-- listagem paginada dos participantes de um evento
+CREATE INDEX IF NOT EXISTS idx_participante_evento_id ON participante(evento_id, id)^;
+
+-- busca textual (FTS5) sobre nome, descricao e local_evento, mantida pelos triggers abaixo.
+-- como os triggers tem ';' no corpo, o separador dos comandos deste arquivo e '^;'
+CREATE VIRTUAL TABLE IF NOT EXISTS eventos_fts USING fts5(
+    nome, descricao, local_evento,
+    content='eventos', content_rowid='id',
+    tokenize='unicode61 remove_diacritics 2',
+    prefix='2 3'
+)^;
+
+CREATE TRIGGER IF NOT EXISTS eventos_fts_insert AFTER INSERT ON eventos BEGIN
+    INSERT INTO eventos_fts(rowid, nome, descricao, local_evento)
+    VALUES (new.id, new.nome, new.descricao, new.local_evento);
+END^;
+
+CREATE TRIGGER IF NOT EXISTS eventos_fts_delete AFTER DELETE ON eventos BEGIN
+    INSERT INTO eventos_fts(eventos_fts, rowid, nome, descricao, local_evento)
+    VALUES ('delete', old.id, old.nome, old.descricao, old.local_evento);
+END^;
+
+CREATE TRIGGER IF NOT EXISTS eventos_fts_update AFTER UPDATE OF nome, descricao, local_evento ON eventos BEGIN
+    INSERT INTO eventos_fts(eventos_fts, rowid, nome, descricao, local_evento)
+    VALUES ('delete', old.id, old.nome, old.descricao, old.local_evento);
+    INSERT INTO eventos_fts(rowid, nome, descricao, local_evento)
+    VALUES (new.id, new.nome, new.descricao, new.local_evento);
+END^;
+
+-- indexa eventos que ja existiam antes da tabela de busca (so roda com o indice vazio)
+INSERT INTO eventos_fts(eventos_fts)
+SELECT 'rebuild' WHERE NOT EXISTS (SELECT 1 FROM eventos_fts_docsize) AND EXISTS (SELECT 1 FROM eventos)^;
+
+-- resumo do calendario: quantos eventos existem por dia e status (dia em ISO, yyyy-MM-dd).
+-- mantido pelo EventoService na mesma transacao das escritas em eventos
+CREATE TABLE IF NOT EXISTS eventos_calendario (
+    dia TEXT NOT NULL,
+    status TEXT NOT NULL,
+    total INTEGER NOT NULL,
+    PRIMARY KEY (dia, status)
+) WITHOUT ROWID^;
+
+-- imagens dos eventos guardadas por conteudo: arquivo <sha256>.<extensao> e quantos eventos o usam
+CREATE TABLE IF NOT EXISTS imagens_blobs (
+    hash TEXT PRIMARY KEY,
+    arquivo TEXT NOT NULL,
+    tamanho INTEGER NOT NULL,
+    referencias INTEGER NOT NULL
+) WITHOUT ROWID^;
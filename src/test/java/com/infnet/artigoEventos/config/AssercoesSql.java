@@ -0,0 +1,29 @@
+package com.infnet.artigoEventos.config;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Orcamento de comandos SQL para testes: falha quando a acao executa mais comandos que o esperado,
+ * pegando N+1 e consultas extras antes de chegarem em producao.
+ */
+public final class AssercoesSql {
+
+    private AssercoesSql() {
+    }
+
+    public static <T> T assertComandosSql(int maximo, Supplier<T> acao) {
+        ContagemSql.Medicao<T> medicao = ContagemSql.medir(acao);
+        assertTrue(medicao.comandos() <= maximo,
+                "Esperado no maximo " + maximo + " comandos SQL, executou " + medicao.comandos());
+        return medicao.resultado();
+    }
+
+    public static void assertComandosSql(int maximo, Runnable acao) {
+        assertComandosSql(maximo, () -> {
+            acao.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.infnet.artigoEventos.config;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class CalibradorBcryptTest {
+
+    @Test
+    void respeitaLimitesTest() {
+        assertEquals(4, CalibradorBcrypt.calibrar(Duration.ofNanos(1), 4, 8));
+        assertEquals(6, CalibradorBcrypt.calibrar(Duration.ofHours(1), 4, 6));
+    }
+
+    // custo 4 leva 1 ms e cada ponto dobra: 1, 2, 4, 8, 16, 32, 64 ms...
+    private static long dobrando(int custo) {
+        return Duration.ofMillis(1L << (custo - 4)).toNanos();
+    }
+
+    @Test
+    void escolheOMaiorCustoDentroDoAlvoTest() {
+        assertEquals(9, CalibradorBcrypt.calibrar(Duration.ofMillis(40), 4, 14, CalibradorBcryptTest::dobrando));
+        assertEquals(9, CalibradorBcrypt.calibrar(Duration.ofMillis(32), 4, 14, CalibradorBcryptTest::dobrando));
+        assertEquals(8, CalibradorBcrypt.calibrar(Duration.ofMillis(31), 4, 14, CalibradorBcryptTest::dobrando));
+        assertEquals(4, CalibradorBcrypt.calibrar(Duration.ofNanos(1), 4, 14, CalibradorBcryptTest::dobrando));
+        assertEquals(7, CalibradorBcrypt.calibrar(Duration.ofSeconds(10), 4, 7, CalibradorBcryptTest::dobrando));
+    }
+
+    @Test
+    void medicaoAcimaDoAlvoVoltaUmCustoTest() {
+        // ruido: a medicao do custo 6 estourou o alvo mesmo com a do custo 5 prevendo que cabia
+        int[] medidos = {0, 0, 0, 0, 10, 20, 90};
+
+        assertEquals(5, CalibradorBcrypt.calibrar(Duration.ofNanos(40), 4, 14, custo -> medidos[custo]));
+    }
+
+    // benchmark com relogio de verdade (fora do mvn test; rodar com -Pbenchmark): com o custo calibrado
+    // para 40 ms, o p99 de 50 verificacoes de login fica perto do alvo
+    @Test
+    @Tag("benchmark")
+    void p99DoLoginDentroDoAlvoTest() {
+        Duration alvo = Duration.ofMillis(40);
+        int custo = CalibradorBcrypt.calibrar(alvo, 4, 14);
+        assumeTrue(custo > 4, "maquina lenta demais ate para o custo minimo");
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(custo);
+        String hash = encoder.encode("123456");
+        long[] tempos = new long[50];
+        for (int i = 0; i < tempos.length; i++) {
+            long inicio = System.nanoTime();
+            assertTrue(encoder.matches("123456", hash));
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        long p99 = tempos[(int) Math.ceil(tempos.length * 0.99) - 1];
+
+        // folga de 2x para ruido do ambiente de teste; o custo seguinte dobraria o tempo
+        assertTrue(p99 <= alvo.toNanos() * 2, "p99 de " + p99 / 1_000_000 + " ms com custo " + custo);
+    }
+}
@@ -0,0 +1,96 @@
+package com.infnet.artigoEventos.config;
+
+import com.infnet.artigoEventos.service.CredencialCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CredencialCacheAuthenticationProviderTest {
+
+    private AuthenticationProvider bcrypt;
+    private CredencialCache credencialCache;
+    private CredencialCacheAuthenticationProvider provider;
+
+    @BeforeEach
+    void setup() {
+        bcrypt = Mockito.mock(AuthenticationProvider.class);
+        when(bcrypt.authenticate(any())).thenAnswer(invocacao -> {
+            Authentication pedido = invocacao.getArgument(0);
+            if (!"123456".equals(pedido.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(pedido.getName(), null,
+                    AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+        });
+        credencialCache = new CredencialCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        provider = new CredencialCacheAuthenticationProvider(bcrypt, credencialCache);
+    }
+
+    private Authentication pedido(String email, String senha) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(email, senha);
+    }
+
+    @Test
+    void segundaVerificacaoVemDoCacheTest() {
+        provider.authenticate(pedido("ana@test.com", "123456"));
+        Authentication segunda = provider.authenticate(pedido("ana@test.com", "123456"));
+
+        verify(bcrypt, times(1)).authenticate(any());
+        assertTrue(segunda.isAuthenticated());
+        assertEquals("ana@test.com", segunda.getName());
+        assertEquals("ROLE_ADMIN", segunda.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void senhaErradaNaoUsaCacheTest() {
+        provider.authenticate(pedido("ana@test.com", "123456"));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(pedido("ana@test.com", "errada")));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(pedido("ana@test.com", "errada")));
+        verify(bcrypt, times(3)).authenticate(any());
+    }
+
+    @Test
+    void invalidarForcaNovaVerificacaoTest() {
+        provider.authenticate(pedido("ana@test.com", "123456"));
+        provider.authenticate(pedido("bia@test.com", "123456"));
+
+        credencialCache.invalidar("ana@test.com");
+        provider.authenticate(pedido("ana@test.com", "123456"));
+        provider.authenticate(pedido("bia@test.com", "123456"));
+
+        verify(bcrypt, times(2)).authenticate(pedido("ana@test.com", "123456"));
+        verify(bcrypt, times(1)).authenticate(pedido("bia@test.com", "123456"));
+    }
+
+    @Test
+    void invalidacaoDuranteVerificacaoNaoGravaTest() {
+        reset(bcrypt);
+        when(bcrypt.authenticate(any())).thenAnswer(invocacao -> {
+            credencialCache.invalidar("ana@test.com");
+            return UsernamePasswordAuthenticationToken.authenticated("ana@test.com", null, AuthorityUtils.NO_AUTHORITIES);
+        });
+
+        provider.authenticate(pedido("ana@test.com", "123456"));
+
+        assertNull(credencialCache.buscar(credencialCache.chave("ana@test.com", "123456")));
+    }
+
+    @Test
+    void chaveNaoMisturaEmailESenhaTest() {
+        assertEquals(credencialCache.chave("a@test.com", "x"), credencialCache.chave("a@test.com", "x"));
+        assertNotEquals(credencialCache.chave("a@test.com", "x"), credencialCache.chave("a@test.co", "mx"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.infnet.artigoEventos.config;
+
+import com.infnet.artigoEventos.service.ImagemCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImagemCacheHttpMessageConverterTest {
+
+    @TempDir
+    Path dir;
+
+    private Resource emCache() throws IOException {
+        Path arquivo = Files.writeString(dir.resolve("foto.png"), "0123456789", StandardCharsets.US_ASCII);
+        Resource imagem = new ImagemCache(1000, 400, new SimpleMeterRegistry()).obter(arquivo);
+        assertInstanceOf(ImagemCache.ImagemEmMemoria.class, imagem);
+        return imagem;
+    }
+
+    @Test
+    void imagemInteiraSaiDoBufferTest() throws IOException {
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+
+        new ImagemCacheHttpMessageConverter().write(emCache(), MediaType.IMAGE_PNG, saida);
+
+        assertEquals("0123456789", saida.getBodyAsString(StandardCharsets.US_ASCII));
+        assertEquals(10, saida.getHeaders().getContentLength());
+        assertEquals(MediaType.IMAGE_PNG, saida.getHeaders().getContentType());
+    }
+
+    @Test
+    void trechoSaiDoBufferTest() throws IOException {
+        Resource imagem = emCache();
+        ImagemCacheRegionHttpMessageConverter conversor = new ImagemCacheRegionHttpMessageConverter();
+
+        MockHttpOutputMessage meio = new MockHttpOutputMessage();
+        conversor.write(new ResourceRegion(imagem, 2, 4), ResourceRegion.class, MediaType.IMAGE_PNG, meio);
+        assertEquals("2345", meio.getBodyAsString(StandardCharsets.US_ASCII));
+        assertEquals("bytes 2-5/10", meio.getHeaders().getFirst("Content-Range"));
+        assertEquals(4, meio.getHeaders().getContentLength());
+
+        // trecho pedido alem do fim: vai ate o ultimo byte
+        MockHttpOutputMessage fim = new MockHttpOutputMessage();
+        conversor.write(new ResourceRegion(imagem, 7, 50), ResourceRegion.class, MediaType.IMAGE_PNG, fim);
+        assertEquals("789", fim.getBodyAsString(StandardCharsets.US_ASCII));
+        assertEquals("bytes 7-9/10", fim.getHeaders().getFirst("Content-Range"));
+
+        // o buffer em cache nao anda: a proxima resposta le do inicio
+        assertEquals("0123456789", new String(imagem.getContentAsByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void outrosResourcesSeguemOCaminhoPadraoTest() throws IOException {
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+
+        new ImagemCacheRegionHttpMessageConverter().write(
+                new ResourceRegion(new ByteArrayResource("abcdef".getBytes(StandardCharsets.US_ASCII)), 1, 2),
+                ResourceRegion.class, MediaType.IMAGE_PNG, saida);
+
+        assertEquals("bc", saida.getBodyAsString(StandardCharsets.US_ASCII));
+        assertEquals("bytes 1-2/6", saida.getHeaders().getFirst("Content-Range"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.infnet.artigoEventos.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infnet.artigoEventos.service.LimitadorTaxa;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteRequisicoesFilterTest {
+
+    private LimiteRequisicoesFilter filter;
+
+    @BeforeEach
+    void setup() {
+        LimitadorTaxa limitador = new LimitadorTaxa(Duration.ofMinutes(10), 1000, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(limitador, "loginCapacidade", 10);
+        ReflectionTestUtils.setField(limitador, "loginReposicao", Duration.ofSeconds(6));
+        ReflectionTestUtils.setField(limitador, "loginEmailCapacidade", 2);
+        ReflectionTestUtils.setField(limitador, "loginEmailReposicao", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(limitador, "signupCapacidade", 1);
+        ReflectionTestUtils.setField(limitador, "signupReposicao", Duration.ofMinutes(2));
+        filter = new LimiteRequisicoesFilter(limitador, new ObjectMapper());
+    }
+
+    private MockHttpServletRequest login(String ip, String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/usuarios/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"email\":\"" + email + "\",\"senha\":\"123456\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse executar(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    void loginLimitadoPorEmailTest() throws Exception {
+        assertEquals(200, executar(login("10.0.0.1", "ana@test.com"), new MockFilterChain()).getStatus());
+        assertEquals(200, executar(login("10.0.0.2", "ANA@test.com"), new MockFilterChain()).getStatus());
+
+        MockHttpServletResponse bloqueada = executar(login("10.0.0.3", "ana@test.com"), new MockFilterChain());
+
+        assertEquals(429, bloqueada.getStatus());
+        assertEquals("60", bloqueada.getHeader("Retry-After"));
+        assertEquals(200, executar(login("10.0.0.3", "bia@test.com"), new MockFilterChain()).getStatus());
+    }
+
+    // Transfer-Encoding: chunked chega sem Content-Length
+    private MockHttpServletRequest semTamanho(MockHttpServletRequest request) {
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", request.getRequestURI()) {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunked.setRemoteAddr(request.getRemoteAddr());
+        chunked.setContentType(request.getContentType());
+        chunked.setContent(request.getContentAsByteArray());
+        return chunked;
+    }
+
+    @Test
+    void loginChunkedTambemContaParaOEmailTest() throws Exception {
+        assertEquals(200, executar(semTamanho(login("10.0.0.1", "ana@test.com")), new MockFilterChain()).getStatus());
+        assertEquals(200, executar(semTamanho(login("10.0.0.2", "ana@test.com")), new MockFilterChain()).getStatus());
+
+        MockFilterChain chain = new MockFilterChain();
+        assertEquals(429, executar(semTamanho(login("10.0.0.3", "ana@test.com")), chain).getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void loginComCorpoGrandeERecusadoTest() throws Exception {
+        MockHttpServletRequest grande = login("10.0.0.1", "ana@test.com");
+        grande.setContent(("{\"email\":\"ana@test.com\",\"x\":\"" + "a".repeat(9000) + "\"}")
+                .getBytes(StandardCharsets.UTF_8));
+
+        MockFilterChain chain = new MockFilterChain();
+        assertEquals(413, executar(grande, chain).getStatus());
+        assertNull(chain.getRequest());
+        assertEquals(413, executar(semTamanho(grande), new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void corpoContinuaLegivelTest() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        executar(login("10.0.0.1", "ana@test.com"), chain);
+
+        HttpServletRequest repassada = (HttpServletRequest) chain.getRequest();
+        String corpo = new String(repassada.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals("{\"email\":\"ana@test.com\",\"senha\":\"123456\"}", corpo);
+    }
+
+    @Test
+    void corpoLegivelComLeituraAssincronaTest() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        executar(login("10.0.0.1", "ana@test.com"), chain);
+
+        ServletInputStream entrada = ((HttpServletRequest) chain.getRequest()).getInputStream();
+        ByteArrayOutputStream lido = new ByteArrayOutputStream();
+        AtomicBoolean terminou = new AtomicBoolean();
+        entrada.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (entrada.isReady() && !entrada.isFinished()) {
+                    lido.write(entrada.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                terminou.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+        });
+
+        assertTrue(terminou.get());
+        assertEquals("{\"email\":\"ana@test.com\",\"senha\":\"123456\"}", lido.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void signupPorIpEOutrasRotasLivresTest() throws Exception {
+        MockHttpServletRequest signup = new MockHttpServletRequest("POST", "/api/usuarios/signup");
+        signup.setRemoteAddr("10.0.0.1");
+        assertEquals(200, executar(signup, new MockFilterChain()).getStatus());
+
+        MockHttpServletRequest outro = new MockHttpServletRequest("POST", "/api/usuarios/signup");
+        outro.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse bloqueada = executar(outro, new MockFilterChain());
+        assertEquals(429, bloqueada.getStatus());
+        assertEquals("120", bloqueada.getHeader("Retry-After"));
+
+        MockHttpServletRequest leitura = new MockHttpServletRequest("GET", "/api/eventos");
+        leitura.setRemoteAddr("10.0.0.1");
+        MockFilterChain chain = new MockFilterChain();
+        assertEquals(200, executar(leitura, chain).getStatus());
+        assertNotNull(chain.getRequest());
+    }
+}
@@ -0,0 +1,76 @@
+package com.infnet.artigoEventos.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MigracaoEsquemaTest {
+
+    @TempDir
+    Path dir;
+
+    private SQLiteDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    // banco criado pelo schema.sql original, antes das colunas novas
+    @BeforeEach
+    void setup() {
+        dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + dir.resolve("antigo.db"));
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE eventos (id INTEGER PRIMARY KEY AUTOINCREMENT, nome TEXT NOT NULL, "
+                + "data_evento DATETIME NOT NULL, local_evento TEXT NOT NULL, descricao TEXT, imagem_path TEXT, "
+                + "status TEXT NOT NULL DEFAULT 'ATIVO', organizador_id INTEGER)");
+        jdbc.execute("CREATE TABLE participante (id INTEGER PRIMARY KEY AUTOINCREMENT, nome TEXT NOT NULL, "
+                + "email TEXT NOT NULL, evento_id INTEGER, UNIQUE(email, evento_id))");
+        jdbc.execute("CREATE TABLE usuarios (id INTEGER PRIMARY KEY AUTOINCREMENT, nome TEXT NOT NULL, "
+                + "email TEXT NOT NULL UNIQUE, senha TEXT NOT NULL)");
+        jdbc.update("INSERT INTO usuarios (nome, email, senha) VALUES ('U', 'u@test.com', 'x')");
+        jdbc.update("INSERT INTO eventos (id, nome, data_evento, local_evento) VALUES (1, 'A', '2026-01-01', 'X')");
+        jdbc.update("INSERT INTO eventos (id, nome, data_evento, local_evento) VALUES (2, 'B', '2026-01-02', 'Y')");
+        jdbc.update("INSERT INTO participante (nome, email, evento_id) VALUES ('P1', 'p1@test.com', 1)");
+        jdbc.update("INSERT INTO participante (nome, email, evento_id) VALUES ('P2', 'p2@test.com', 1)");
+    }
+
+    private List<String> colunas() {
+        return jdbc.queryForList("SELECT name FROM pragma_table_info('eventos')", String.class);
+    }
+
+    @Test
+    void acrescentaColunasEPreencheAContagemTest() throws SQLException {
+        MigracaoEsquema.migrar(dataSource);
+
+        assertTrue(colunas().containsAll(List.of("versao", "atualizado_em", "participant_count", "capacidade")));
+        assertEquals(List.of(2, 0),
+                jdbc.queryForList("SELECT participant_count FROM eventos ORDER BY id", Integer.class));
+        assertEquals(0, jdbc.queryForObject("SELECT versao FROM eventos WHERE id = 1", Integer.class));
+        assertEquals(0, jdbc.queryForObject("SELECT token_versao FROM usuarios", Integer.class));
+    }
+
+    @Test
+    void segundaExecucaoNaoMexeEmNadaTest() throws SQLException {
+        MigracaoEsquema.migrar(dataSource);
+        jdbc.update("UPDATE eventos SET participant_count = 7 WHERE id = 2");
+
+        MigracaoEsquema.migrar(dataSource);
+
+        assertEquals(12, colunas().size());
+        assertEquals(7, jdbc.queryForObject("SELECT participant_count FROM eventos WHERE id = 2", Integer.class));
+    }
+
+    @Test
+    void bancoVazioNaoQuebraTest() throws SQLException {
+        jdbc.execute("DROP TABLE eventos");
+
+        assertDoesNotThrow(() -> MigracaoEsquema.migrar(dataSource));
+        assertTrue(colunas().isEmpty());
+    }
+}
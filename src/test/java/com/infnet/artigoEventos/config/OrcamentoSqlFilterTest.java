@@ -0,0 +1,111 @@
+package com.infnet.artigoEventos.config;
+
+import com.infnet.artigoEventos.model.Evento;
+import com.infnet.artigoEventos.model.StatusEvento;
+import com.infnet.artigoEventos.model.Usuario;
+import com.infnet.artigoEventos.repository.ConviteOutboxRepository;
+import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ParticipanteRepository;
+import com.infnet.artigoEventos.repository.UsuarioRepository;
+import com.infnet.artigoEventos.service.EventoCache;
+import com.infnet.artigoEventos.service.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.sql.orcamento.rotas=GET /api/eventos/{id}=1,POST /api/eventos/{id}/participantes=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrcamentoSqlFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private EventoRepository eventoRepository;
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+    @Autowired
+    private ConviteOutboxRepository conviteOutboxRepository;
+    @Autowired
+    private EventoCache eventoCache;
+
+    private Evento evento;
+
+    @BeforeEach
+    void setup() {
+        participanteRepository.deleteAll();
+        conviteOutboxRepository.deleteAll();
+        eventoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        eventoCache.invalidarTodos();
+
+        Usuario organizador = new Usuario();
+        organizador.setNome("Organizador");
+        organizador.setEmail("orcamento@test.com");
+        organizador.setSenha("hash");
+        usuarioRepository.save(organizador);
+
+        evento = new Evento();
+        evento.setNome("Evento Orcamento");
+        evento.setLocalEvento("Local");
+        evento.setDataEvento(LocalDateTime.of(2030, 1, 1, 10, 0));
+        evento.setStatus(StatusEvento.ATIVO);
+        evento.setOrganizador(organizador);
+        eventoRepository.save(evento);
+    }
+
+    @Test
+    void cabecalhosComAContagemTest() throws Exception {
+        mockMvc.perform(get("/api/eventos/" + evento.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(OrcamentoSqlFilter.CABECALHO_COMANDOS, "1"))
+                .andExpect(header().exists(OrcamentoSqlFilter.CABECALHO_TEMPO));
+
+        mockMvc.perform(get("/api/eventos/" + evento.getId()))
+                .andExpect(header().string(OrcamentoSqlFilter.CABECALHO_COMANDOS, "0"));
+    }
+
+    @Test
+    void orcamentoEstouradoFalhaNoModoFalharTest() {
+        String token = tokenService.emitirAcesso("orcamento@test.com", List.of());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+                mockMvc.perform(post("/api/eventos/" + evento.getId() + "/participantes")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Ana\",\"email\":\"ana@test.com\"}")));
+
+        assertTrue(e.getMessage().startsWith("POST /api/eventos/{id}/participantes executou"));
+    }
+
+    @Test
+    void medirAcumulaNaContagemExternaTest() {
+        ContagemSql externa = ContagemSql.iniciar();
+        try {
+            ContagemSql.Medicao<Long> medicao = ContagemSql.medir(() -> usuarioRepository.count());
+
+            assertEquals(1, medicao.comandos());
+            assertEquals(1L, medicao.resultado());
+            assertEquals(1, externa.getComandos());
+        } finally {
+            ContagemSql.encerrar();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.infnet.artigoEventos.config;
+
+import com.infnet.artigoEventos.service.CredencialCache;
+import com.infnet.artigoEventos.service.LimitadorTaxa;
+import com.infnet.artigoEventos.service.TokenService;
+import com.infnet.artigoEventos.service.UsuarioService;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Usa o SecurityConfig de producao num @WebMvcTest (o slice sozinho so exige autenticacao em tudo),
+ * para as regras por rota e papel serem testadas de verdade. As dependencias dele viram mocks;
+ * custo BCrypt fixo para nao calibrar e sem limite de requisicoes.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Import(SecurityConfig.class)
+@TestPropertySource(properties = {"app.senha.custo=4", "app.limite.habilitado=false"})
+@MockitoBean(types = {TokenService.class, LimitadorTaxa.class, UsuarioService.class, CredencialCache.class})
+public @interface SegurancaDaAplicacao {
+}
@@ -0,0 +1,186 @@
+package com.infnet.artigoEventos.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infnet.artigoEventos.dto.UsuarioDto;
+import com.infnet.artigoEventos.model.Usuario;
+import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ParticipanteRepository;
+import com.infnet.artigoEventos.repository.UsuarioRepository;
+import com.infnet.artigoEventos.service.CredencialCache;
+import com.infnet.artigoEventos.service.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenAuthenticationFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UsuarioService usuarioService;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private EventoRepository eventoRepository;
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+    @Autowired
+    private CredencialCache credencialCache;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        participanteRepository.deleteAll();
+        eventoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        credencialCache.invalidarTodos();
+
+        UsuarioDto dto = new UsuarioDto();
+        dto.setNome("Token");
+        dto.setEmail("token@test.com");
+        dto.setSenha("123456");
+        usuario = usuarioService.signup(dto);
+    }
+
+    private JsonNode login(String email, String senha) throws Exception {
+        String corpo = mockMvc.perform(post("/api/usuarios/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"senha\":\"" + senha + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(corpo);
+    }
+
+    private String atualizacao() {
+        return "{\"nome\":\"Novo Nome\"}";
+    }
+
+    @Test
+    void loginEmiteTokensTest() throws Exception {
+        JsonNode tokens = login("token@test.com", "123456");
+
+        assertEquals(usuario.getId(), tokens.get("id").asInt());
+        assertEquals("Bearer", tokens.get("tokenType").asText());
+        assertEquals(900, tokens.get("expiresIn").asLong());
+        assertFalse(tokens.get("accessToken").asText().isBlank());
+        assertFalse(tokens.get("refreshToken").asText().isBlank());
+    }
+
+    @Test
+    void bearerAutenticaSemBasicTest() throws Exception {
+        String acesso = login("token@test.com", "123456").get("accessToken").asText();
+
+        mockMvc.perform(put("/api/usuarios/" + usuario.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + acesso)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(atualizacao()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Novo Nome"));
+    }
+
+    @Test
+    void tokenInvalidoTest() throws Exception {
+        mockMvc.perform(put("/api/usuarios/" + usuario.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer abc.def.ghi")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(atualizacao()))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\""));
+    }
+
+    @Test
+    void refreshNaoServeComoAcessoTest() throws Exception {
+        String refresh = login("token@test.com", "123456").get("refreshToken").asText();
+
+        mockMvc.perform(put("/api/usuarios/" + usuario.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + refresh)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(atualizacao()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refreshEmiteNovoParTest() throws Exception {
+        String refresh = login("token@test.com", "123456").get("refreshToken").asText();
+
+        mockMvc.perform(post("/api/usuarios/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refresh + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("token@test.com"))
+                .andExpect(jsonPath("$.accessToken").isNotEmpty());
+
+        mockMvc.perform(post("/api/usuarios/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"invalido\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void papeisVemDoTokenTest() throws Exception {
+        String acesso = login("token@test.com", "123456").get("accessToken").asText();
+        mockMvc.perform(get("/api/admin/export").header(HttpHeaders.AUTHORIZATION, "Bearer " + acesso))
+                .andExpect(status().isForbidden());
+
+        UsuarioDto admin = new UsuarioDto();
+        admin.setNome("Admin");
+        admin.setEmail("admin@test.com");
+        admin.setSenha("123456");
+        usuarioService.signup(admin);
+        String acessoAdmin = login("admin@test.com", "123456").get("accessToken").asText();
+        mockMvc.perform(get("/api/admin/export").header(HttpHeaders.AUTHORIZATION, "Bearer " + acessoAdmin))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void basicContinuaAceitoTest() throws Exception {
+        mockMvc.perform(put("/api/usuarios/" + usuario.getId())
+                        .with(httpBasic("token@test.com", "123456"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(atualizacao()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/usuarios/" + usuario.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(atualizacao()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void trocaDeSenhaInvalidaBasicEmCacheTest() throws Exception {
+        mockMvc.perform(put("/api/usuarios/" + usuario.getId())
+                        .with(httpBasic("token@test.com", "123456"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"senha\":\"nova-senha\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/usuarios/" + usuario.getId())
+                        .with(httpBasic("token@test.com", "123456"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(atualizacao()))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(put("/api/usuarios/" + usuario.getId())
+                        .with(httpBasic("token@test.com", "nova-senha"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(atualizacao()))
+                .andExpect(status().isOk());
+    }
+}
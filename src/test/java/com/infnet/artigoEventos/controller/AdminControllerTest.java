@@ -0,0 +1,198 @@
+package com.infnet.artigoEventos.controller;
+
+import com.infnet.artigoEventos.config.SegurancaDaAplicacao;
+import com.infnet.artigoEventos.dto.CadastroLoteDto;
+import com.infnet.artigoEventos.dto.ImportacaoResumoDto;
+import com.infnet.artigoEventos.dto.MigracaoUploadsDto;
+import com.infnet.artigoEventos.dto.ReconciliacaoUploadsDto;
+import com.infnet.artigoEventos.service.BackupService;
+import com.infnet.artigoEventos.service.MigracaoUploads;
+import com.infnet.artigoEventos.service.ReconciliadorUploads;
+import com.infnet.artigoEventos.service.UsuarioLoteService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminController.class)
+@SegurancaDaAplicacao
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BackupService backupService;
+
+    @MockitoBean
+    private UsuarioLoteService usuarioLoteService;
+
+    @MockitoBean
+    private MigracaoUploads migracaoUploads;
+
+    @MockitoBean
+    private ReconciliadorUploads reconciliadorUploads;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /api/admin/export - transmite o NDJSON gerado pelo servico")
+    void testExportar() throws Exception {
+        Mockito.doAnswer(inv -> {
+            OutputStream out = inv.getArgument(0);
+            out.write("{\"tabela\":\"usuarios\",\"dados\":{}}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(backupService).exportar(any());
+
+        MvcResult result = mockMvc.perform(get("/api/admin/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", AdminController.NDJSON))
+                .andExpect(content().string("{\"tabela\":\"usuarios\",\"dados\":{}}\n"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/admin/export - usuario sem papel ADMIN")
+    void testExportar_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/admin/export"))
+                .andExpect(status().isForbidden());
+
+        Mockito.verify(backupService, Mockito.never()).exportar(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/export - sem autenticação")
+    void testExportar_Unauthorized() throws Exception {
+        mockMvc.perform(get("/api/admin/export"))
+                .andExpect(status().isUnauthorized());
+
+        Mockito.verify(backupService, Mockito.never()).exportar(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /api/admin/import - retorna o resumo da importação")
+    void testImportar() throws Exception {
+        ImportacaoResumoDto resumo = new ImportacaoResumoDto();
+        resumo.setLinhas(1);
+        Mockito.when(backupService.importar(any())).thenReturn(resumo);
+
+        mockMvc.perform(post("/api/admin/import")
+                        .with(csrf())
+                        .contentType(AdminController.NDJSON)
+                        .content("{\"tabela\":\"usuarios\",\"dados\":{}}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhas").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /api/admin/import - linha inválida")
+    void testImportar_LinhaInvalida() throws Exception {
+        Mockito.when(backupService.importar(any()))
+                .thenThrow(new IllegalArgumentException("Linha 1 invalida: JSON mal formado"));
+
+        mockMvc.perform(post("/api/admin/import")
+                        .with(csrf())
+                        .contentType(AdminController.NDJSON)
+                        .content("{"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Linha 1 invalida: JSON mal formado"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /api/admin/usuarios - retorna o resumo do cadastro em lote")
+    void testCadastrarUsuarios() throws Exception {
+        CadastroLoteDto resumo = new CadastroLoteDto();
+        resumo.setTotal(2);
+        resumo.setInseridos(2);
+        resumo.setUsuariosPorSegundo(40.0);
+        Mockito.when(usuarioLoteService.cadastrar(any())).thenReturn(resumo);
+
+        mockMvc.perform(post("/api/admin/usuarios")
+                        .with(csrf())
+                        .contentType("application/json")
+                        .content("[{\"nome\":\"Ana\",\"email\":\"ana@test.com\",\"senha\":\"123456\"},"
+                                + "{\"nome\":\"Bia\",\"email\":\"bia@test.com\",\"senha\":\"123456\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inseridos").value(2))
+                .andExpect(jsonPath("$.usuariosPorSegundo").value(40.0));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("POST /api/admin/usuarios - usuario sem papel ADMIN")
+    void testCadastrarUsuarios_Forbidden() throws Exception {
+        mockMvc.perform(post("/api/admin/usuarios")
+                        .with(csrf())
+                        .contentType("application/json")
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+
+        Mockito.verify(usuarioLoteService, Mockito.never()).cadastrar(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /api/admin/usuarios - lote acima do limite")
+    void testCadastrarUsuarios_LoteGrande() throws Exception {
+        Mockito.when(usuarioLoteService.cadastrar(any()))
+                .thenThrow(new IllegalArgumentException("Lote excede o limite de 10000 usuarios"));
+
+        mockMvc.perform(post("/api/admin/usuarios")
+                        .with(csrf())
+                        .contentType("application/json")
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Lote excede o limite de 10000 usuarios"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /api/admin/uploads/migracao - roda um lote da migracao")
+    void testMigrarUploads() throws Exception {
+        Mockito.when(migracaoUploads.migrarLote()).thenReturn(new MigracaoUploadsDto(12, 1, false));
+
+        mockMvc.perform(post("/api/admin/uploads/migracao").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movidos").value(12))
+                .andExpect(jsonPath("$.falhas").value(1))
+                .andExpect(jsonPath("$.concluida").value(false));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /api/admin/uploads/reconciliacao - passada do reconciliador")
+    void testReconciliarUploads() throws Exception {
+        ReconciliacaoUploadsDto resultado = new ReconciliacaoUploadsDto();
+        resultado.setVerificados(40);
+        resultado.setRemovidos(3);
+        resultado.setBytesLiberados(2048);
+        resultado.setReferenciasQuebradas(1);
+        resultado.getQuebradas().add("ab/cd/sumiu.png");
+        Mockito.when(reconciliadorUploads.reconciliar()).thenReturn(resultado);
+
+        mockMvc.perform(post("/api/admin/uploads/reconciliacao").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.removidos").value(3))
+                .andExpect(jsonPath("$.bytesLiberados").value(2048))
+                .andExpect(jsonPath("$.quebradas[0]").value("ab/cd/sumiu.png"));
+    }
+}
@@ -2,9 +2,11 @@ package com.infnet.artigoEventos.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.infnet.artigoEventos.dto.LoginDto;
+import com.infnet.artigoEventos.dto.RefreshTokenDto;
 import com.infnet.artigoEventos.dto.UsuarioDto;
 import com.infnet.artigoEventos.dto.UsuarioUpdateDto;
 import com.infnet.artigoEventos.model.Usuario;
+import com.infnet.artigoEventos.service.TokenService;
 import com.infnet.artigoEventos.service.UsuarioService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +19,9 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -31,6 +36,9 @@ class UsuarioControllerTest {
     @MockitoBean
     private UsuarioService usuarioService;
 
+    @MockitoBean
+    private TokenService tokenService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -93,6 +101,9 @@ class UsuarioControllerTest {
         usuario.setEmail("teste@x.com");
 
         Mockito.when(usuarioService.login(any())).thenReturn(usuario);
+        Mockito.when(tokenService.emitirAcesso(eq("teste@x.com"), any())).thenReturn("acesso");
+        Mockito.when(tokenService.emitirRefresh("teste@x.com", 0)).thenReturn("refresh");
+        Mockito.when(tokenService.getValidadeAcesso()).thenReturn(Duration.ofMinutes(15));
 
         mockMvc.perform(post("/api/usuarios/login")
                         .with(csrf())
@@ -100,7 +111,54 @@ class UsuarioControllerTest {
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(10))
-                .andExpect(jsonPath("$.email").value("teste@x.com"));
+                .andExpect(jsonPath("$.email").value("teste@x.com"))
+                .andExpect(jsonPath("$.accessToken").value("acesso"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh"))
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.expiresIn").value(900));
+    }
+
+    @Test
+    @DisplayName("@POST /refresh - refresh token expirado")
+    @WithMockUser
+    void testRefresh_Expired() throws Exception {
+        RefreshTokenDto dto = new RefreshTokenDto();
+        dto.setRefreshToken("expirado");
+
+        Mockito.when(tokenService.validar("expirado", TokenService.REFRESH))
+                .thenThrow(new IllegalArgumentException("Token expirado"));
+
+        mockMvc.perform(post("/api/usuarios/refresh")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().string("Token expirado"));
+    }
+
+    @Test
+    @DisplayName("@POST /refresh - refresh token emitido antes da troca de senha")
+    @WithMockUser
+    void testRefresh_Revogado() throws Exception {
+        RefreshTokenDto dto = new RefreshTokenDto();
+        dto.setRefreshToken("antigo");
+
+        Usuario usuario = new Usuario();
+        usuario.setId(10);
+        usuario.setEmail("teste@x.com");
+        usuario.setTokenVersao(1);
+
+        Mockito.when(tokenService.validar("antigo", TokenService.REFRESH))
+                .thenReturn(new TokenService.Token("teste@x.com", List.of(), 0));
+        Mockito.when(usuarioService.getUsuarioByEmail("teste@x.com")).thenReturn(usuario);
+
+        mockMvc.perform(post("/api/usuarios/refresh")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().string("Token revogado"));
+        Mockito.verify(tokenService, Mockito.never()).emitirRefresh(anyString(), anyInt());
     }
 
     @Test
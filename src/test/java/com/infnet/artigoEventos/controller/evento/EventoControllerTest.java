@@ -1,14 +1,24 @@
 package com.infnet.artigoEventos.controller.evento;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infnet.artigoEventos.config.SegurancaDaAplicacao;
 import com.infnet.artigoEventos.controller.EventoController;
+import com.infnet.artigoEventos.dto.CalendarioDto;
 import com.infnet.artigoEventos.dto.EventoCreateDto;
+import com.infnet.artigoEventos.dto.EventoResponseDto;
 import com.infnet.artigoEventos.dto.EventoUpdateDto;
+import com.infnet.artigoEventos.dto.EventoVersaoDto;
+import com.infnet.artigoEventos.dto.ImportacaoParticipantesDto;
+import com.infnet.artigoEventos.dto.PaginaDto;
 import com.infnet.artigoEventos.dto.ParticipanteDto;
+import com.infnet.artigoEventos.dto.ParticipanteResponseDto;
+import com.infnet.artigoEventos.dto.ReservaDto;
 import com.infnet.artigoEventos.model.Evento;
 import com.infnet.artigoEventos.model.Participante;
 import com.infnet.artigoEventos.model.StatusEvento;
 import com.infnet.artigoEventos.service.EventoService;
+import com.infnet.artigoEventos.service.ParticipanteImportService;
+import com.infnet.artigoEventos.service.VariantesImagem;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,19 +26,25 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static com.infnet.artigoEventos.controller.evento.EventoControllerTestConstants.*;
 import static com.infnet.artigoEventos.controller.evento.EventoTestDataBuilder.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -40,6 +56,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Utiliza constantes e builders de classes auxiliares para reduzir duplicação.
  */
 @WebMvcTest(EventoController.class)
+@SegurancaDaAplicacao
 class EventoControllerTest {
 
         @Autowired
@@ -48,6 +65,9 @@ class EventoControllerTest {
         @MockitoBean
         private EventoService eventoService;
 
+        @MockitoBean
+        private ParticipanteImportService participanteImportService;
+
         @Autowired
         private ObjectMapper objectMapper;
 
@@ -63,43 +83,319 @@ class EventoControllerTest {
                 @WithMockUser
                 @DisplayName("GET /api/eventos - deve retornar lista de eventos")
                 void testGetAllEventos() throws Exception {
-                        Evento evento = createMockEvento(EVENTO_ID_EXISTENTE, EVENTO_NOME_TESTE);
+                        EventoResponseDto evento = createMockEventoResponse(EVENTO_ID_EXISTENTE, EVENTO_NOME_TESTE);
 
-                        Mockito.when(eventoService.getAllEventos()).thenReturn(List.of(evento));
+                        Mockito.when(eventoService.listEventos(any(), isNull(), isNull()))
+                                        .thenReturn(new PaginaDto<>(List.of(evento), CURSOR_PROXIMA_PAGINA));
 
                         mockMvc.perform(get("/api/eventos"))
                                         .andExpect(status().isOk())
-                                        .andExpect(jsonPath("$[0].nome").value(EVENTO_NOME_TESTE));
+                                        .andExpect(jsonPath("$.itens[0].nome").value(EVENTO_NOME_TESTE))
+                                        .andExpect(jsonPath("$.proximoCursor").value(CURSOR_PROXIMA_PAGINA));
+
+                        verify(eventoService).listEventos(any(), isNull(), isNull());
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos - repassa filtros, cursor e limite")
+                void testGetAllEventos_ComFiltros() throws Exception {
+                        Mockito.when(eventoService.listEventos(any(), eq(CURSOR_PROXIMA_PAGINA), eq(5)))
+                                        .thenReturn(new PaginaDto<>(List.of(), null));
+
+                        mockMvc.perform(get("/api/eventos")
+                                        .param("status", "ATIVO")
+                                        .param("local", EVENTO_LOCAL_SP)
+                                        .param("de", "2030-01-01T00:00:00")
+                                        .param("cursor", CURSOR_PROXIMA_PAGINA)
+                                        .param("limite", "5"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.itens").isEmpty());
+
+                        verify(eventoService).listEventos(
+                                        argThat(f -> f.getStatus() == StatusEvento.ATIVO
+                                                        && EVENTO_LOCAL_SP.equals(f.getLocal())
+                                                        && f.getDe() != null && f.getAte() == null),
+                                        eq(CURSOR_PROXIMA_PAGINA), eq(5));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos - cursor ou limite inválido")
+                void testGetAllEventos_BadRequest() throws Exception {
+                        Mockito.when(eventoService.listEventos(any(), eq("xx"), isNull()))
+                                        .thenThrow(new IllegalArgumentException(MSG_CURSOR_INVALIDO));
 
-                        verify(eventoService).getAllEventos();
+                        mockMvc.perform(get("/api/eventos").param("cursor", "xx"))
+                                        .andExpect(status().isBadRequest())
+                                        .andExpect(content().string(MSG_CURSOR_INVALIDO));
                 }
 
                 @Test
                 @WithMockUser
                 @DisplayName("GET /api/eventos/{id} - sucesso")
                 void testGetEventoById_Success() throws Exception {
-                        Evento evento = createMockEvento(EVENTO_ID_EXISTENTE, EVENTO_NOME_TESTE);
+                        EventoResponseDto evento = createMockEventoResponse(EVENTO_ID_EXISTENTE, EVENTO_NOME_TESTE);
+
+                        Mockito.when(eventoService.getEventoResponseById(EVENTO_ID_EXISTENTE)).thenReturn(evento);
+
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.nome").value(EVENTO_NOME_TESTE))
+                                        .andExpect(jsonPath("$.organizador.email").value(EMAIL_ORGANIZADOR));
 
-                        Mockito.when(eventoService.getEventoById(EVENTO_ID_EXISTENTE)).thenReturn(evento);
+                        verify(eventoService).getEventoResponseById(EVENTO_ID_EXISTENTE);
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/{id} - envia ETag da versão do evento")
+                void testGetEventoById_ETag() throws Exception {
+                        Mockito.when(eventoService.getEventoResponseById(EVENTO_ID_EXISTENTE))
+                                        .thenReturn(createMockEventoResponse(EVENTO_ID_EXISTENTE, EVENTO_NOME_TESTE));
 
                         mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE))
                                         .andExpect(status().isOk())
+                                        .andExpect(header().string("ETag", EVENTO_ETAG));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/{id} - If-None-Match igual responde 304 sem carregar o evento")
+                void testGetEventoById_NotModified() throws Exception {
+                        Mockito.when(eventoService.getEventoVersao(EVENTO_ID_EXISTENTE))
+                                        .thenReturn(new EventoVersaoDto(EVENTO_ID_EXISTENTE, EVENTO_VERSAO, null));
+
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE)
+                                        .header("If-None-Match", EVENTO_ETAG))
+                                        .andExpect(status().isNotModified())
+                                        .andExpect(content().string(""));
+
+                        verify(eventoService, never()).getEventoResponseById(any());
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/{id} - If-None-Match desatualizado devolve o evento")
+                void testGetEventoById_ETagDesatualizado() throws Exception {
+                        Mockito.when(eventoService.getEventoVersao(EVENTO_ID_EXISTENTE))
+                                        .thenReturn(new EventoVersaoDto(EVENTO_ID_EXISTENTE, EVENTO_VERSAO, null));
+                        Mockito.when(eventoService.getEventoResponseById(EVENTO_ID_EXISTENTE))
+                                        .thenReturn(createMockEventoResponse(EVENTO_ID_EXISTENTE, EVENTO_NOME_TESTE));
+
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE)
+                                        .header("If-None-Match", "\"1-2\""))
+                                        .andExpect(status().isOk())
+                                        .andExpect(header().string("ETag", EVENTO_ETAG))
                                         .andExpect(jsonPath("$.nome").value(EVENTO_NOME_TESTE));
+                }
 
-                        verify(eventoService).getEventoById(EVENTO_ID_EXISTENTE);
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos - ETag da página responde 304 quando nada mudou")
+                void testGetAllEventos_NotModified() throws Exception {
+                        Mockito.when(eventoService.listEventos(any(), isNull(), isNull()))
+                                        .thenReturn(new PaginaDto<>(List.of(
+                                                        createMockEventoResponse(EVENTO_ID_EXISTENTE, EVENTO_NOME_TESTE)), null));
+
+                        String etag = mockMvc.perform(get("/api/eventos"))
+                                        .andExpect(status().isOk())
+                                        .andReturn().getResponse().getHeader("ETag");
+
+                        mockMvc.perform(get("/api/eventos").header("If-None-Match", etag))
+                                        .andExpect(status().isNotModified())
+                                        .andExpect(content().string(""));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/search - busca textual")
+                void testBuscarEventos() throws Exception {
+                        Mockito.when(eventoService.buscarEventos(eq("rock"), isNull(), isNull()))
+                                        .thenReturn(new PaginaDto<>(List.of(
+                                                        createMockEventoResponse(EVENTO_ID_EXISTENTE, EVENTO_NOME_TESTE)), null));
+
+                        mockMvc.perform(get("/api/eventos/search").param("q", "rock"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.itens[0].id").value(EVENTO_ID_EXISTENTE));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/search - termo inválido")
+                void testBuscarEventos_BadRequest() throws Exception {
+                        Mockito.when(eventoService.buscarEventos(isNull(), isNull(), isNull()))
+                                        .thenThrow(new IllegalArgumentException(MSG_TERMO_BUSCA_OBRIGATORIO));
+
+                        mockMvc.perform(get("/api/eventos/search"))
+                                        .andExpect(status().isBadRequest())
+                                        .andExpect(content().string(MSG_TERMO_BUSCA_OBRIGATORIO));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/calendar - totais por dia e status")
+                void testGetCalendario() throws Exception {
+                        LocalDate de = LocalDate.of(2025, 1, 1);
+                        LocalDate ate = LocalDate.of(2025, 1, 31);
+                        Mockito.when(eventoService.getCalendario(de, ate, null))
+                                        .thenReturn(List.of(new CalendarioDto("2025-01-10", StatusEvento.ATIVO, 2)));
+
+                        mockMvc.perform(get("/api/eventos/calendar").param("from", "2025-01-01").param("to", "2025-01-31"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$[0].periodo").value("2025-01-10"))
+                                        .andExpect(jsonPath("$[0].status").value("ATIVO"))
+                                        .andExpect(jsonPath("$[0].total").value(2));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/suggest - sugestões por prefixo")
+                void testSugerirEventos() throws Exception {
+                        Mockito.when(eventoService.sugerirEventos(eq("ev"), isNull()))
+                                        .thenReturn(List.of(EVENTO_NOME_TESTE));
+
+                        mockMvc.perform(get("/api/eventos/suggest").param("prefix", "ev"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$[0]").value(EVENTO_NOME_TESTE));
                 }
 
                 @Test
                 @WithMockUser
                 @DisplayName("GET /api/eventos/{id} - evento não encontrado")
                 void testGetEventoById_NotFound() throws Exception {
-                        Mockito.when(eventoService.getEventoById(EVENTO_ID_INEXISTENTE))
+                        Mockito.when(eventoService.getEventoResponseById(EVENTO_ID_INEXISTENTE))
                                         .thenThrow(new EntityNotFoundException(MSG_EVENTO_NAO_ENCONTRADO));
 
                         mockMvc.perform(get("/api/eventos/" + EVENTO_ID_INEXISTENTE))
                                         .andExpect(status().isNotFound())
                                         .andExpect(content().string(MSG_EVENTO_NAO_ENCONTRADO));
                 }
+
+                private Resource imagem() {
+                        return new ByteArrayResource("0123456789".getBytes(StandardCharsets.US_ASCII)) {
+                                @Override
+                                public String getFilename() {
+                                        return "uuid_foto.png";
+                                }
+                        };
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/{id}/imagem - arquivo inteiro com tipo e tamanho")
+                void testGetEventoImagem() throws Exception {
+                        Mockito.when(eventoService.getEventoImagem(EVENTO_ID_EXISTENTE)).thenReturn(imagem());
+
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE + "/imagem"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(header().string("Content-Type", "image/png"))
+                                        .andExpect(header().string("Content-Length", "10"))
+                                        .andExpect(header().string("Accept-Ranges", "bytes"))
+                                        .andExpect(header().exists("ETag"))
+                                        .andExpect(header().string("Content-Security-Policy", "default-src 'none'; sandbox"))
+                                        .andExpect(header().doesNotExist("Content-Disposition"))
+                                        .andExpect(content().string("0123456789"));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/{id}/imagem - extensao fora da lista sai como download")
+                void testGetEventoImagem_TipoNaoPermitido() throws Exception {
+                        Resource html = new ByteArrayResource("<script>alert(1)</script>".getBytes(StandardCharsets.US_ASCII)) {
+                                @Override
+                                public String getFilename() {
+                                        return "uuid_pagina.html";
+                                }
+                        };
+                        Mockito.when(eventoService.getEventoImagem(EVENTO_ID_EXISTENTE)).thenReturn(html);
+
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE + "/imagem"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(header().string("Content-Type", "application/octet-stream"))
+                                        .andExpect(header().string("Content-Disposition", "attachment"))
+                                        .andExpect(header().string("Content-Security-Policy", "default-src 'none'; sandbox"));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/{id}/imagem - Range devolve 206 com o trecho pedido")
+                void testGetEventoImagem_Range() throws Exception {
+                        Mockito.when(eventoService.getEventoImagem(EVENTO_ID_EXISTENTE)).thenReturn(imagem());
+
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE + "/imagem")
+                                        .header("Range", "bytes=2-5"))
+                                        .andExpect(status().isPartialContent())
+                                        .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                                        .andExpect(header().string("Content-Length", "4"))
+                                        .andExpect(content().string("2345"));
+
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE + "/imagem")
+                                        .header("Range", "bytes=50-60"))
+                                        .andExpect(status().isRequestedRangeNotSatisfiable());
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/{id}/imagem - If-None-Match com a mesma imagem devolve 304")
+                void testGetEventoImagem_NotModified() throws Exception {
+                        Mockito.when(eventoService.getEventoImagem(EVENTO_ID_EXISTENTE)).thenReturn(imagem());
+                        String etag = mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE + "/imagem"))
+                                        .andReturn().getResponse().getHeader("ETag");
+
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE + "/imagem")
+                                        .header("If-None-Match", etag))
+                                        .andExpect(status().isNotModified())
+                                        .andExpect(content().string(""));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/{id}/imagem?variant=thumb - serve a variante pedida")
+                void testGetEventoImagem_Variante() throws Exception {
+                        Resource thumb = new ByteArrayResource(new byte[]{1, 2, 3}) {
+                                @Override
+                                public String getFilename() {
+                                        return "uuid_foto.thumb.jpg";
+                                }
+                        };
+                        Mockito.when(eventoService.getEventoImagem(EVENTO_ID_EXISTENTE, VariantesImagem.Variante.THUMB))
+                                        .thenReturn(thumb);
+
+                        Mockito.when(eventoService.getEventoImagem(EVENTO_ID_EXISTENTE)).thenReturn(imagem());
+                        // o ETag do original nao vale para a variante
+                        String etagOriginal = mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE + "/imagem"))
+                                        .andReturn().getResponse().getHeader("ETag");
+
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE + "/imagem")
+                                        .param("variant", "thumb")
+                                        .header("If-None-Match", etagOriginal))
+                                        .andExpect(status().isOk())
+                                        .andExpect(header().string("Content-Type", "image/jpeg"))
+                                        .andExpect(header().string("Content-Length", "3"));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/{id}/imagem?variant=gigante - variante invalida")
+                void testGetEventoImagem_VarianteInvalida() throws Exception {
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE + "/imagem")
+                                        .param("variant", "gigante"))
+                                        .andExpect(status().isBadRequest());
+
+                        Mockito.verifyNoInteractions(eventoService);
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("GET /api/eventos/{id}/imagem - evento sem imagem")
+                void testGetEventoImagem_NotFound() throws Exception {
+                        Mockito.when(eventoService.getEventoImagem(EVENTO_ID_EXISTENTE))
+                                        .thenThrow(new EntityNotFoundException("Imagem nao encotrado no evento de id: 1"));
+
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE + "/imagem"))
+                                        .andExpect(status().isNotFound());
+                }
         }
 
         // ==================================================================================
@@ -294,6 +590,45 @@ class EventoControllerTest {
                                                 .andExpect(status().isInternalServerError())
                                                 .andExpect(content().string(MSG_ERRO_PROCESSANDO_IMAGEM));
                         }
+
+                        @Test
+                        @WithMockUser
+                        @DisplayName("PUT /api/eventos/{id}/imagem - conteudo que nao e imagem")
+                        void testUpdateEventoImagem_TipoInvalido() throws Exception {
+                                MockMultipartFile file = createImageMultipartFile();
+
+                                Mockito.when(eventoService.updateEventoImagem(eq(EVENTO_ID_EXISTENTE), any()))
+                                                .thenThrow(new IllegalArgumentException("Imagem deve ser JPEG, PNG, GIF ou WEBP"));
+
+                                mockMvc.perform(multipart("/api/eventos/" + EVENTO_ID_EXISTENTE + "/imagem")
+                                                .file(file)
+                                                .with(request -> {
+                                                        request.setMethod("PUT");
+                                                        return request;
+                                                })
+                                                .with(csrf()))
+                                                .andExpect(status().isBadRequest())
+                                                .andExpect(content().string("Imagem deve ser JPEG, PNG, GIF ou WEBP"));
+                        }
+
+                        @Test
+                        @WithMockUser
+                        @DisplayName("PUT /api/eventos/{id}/imagem - evento alterado por outra requisicao")
+                        void testUpdateEventoImagem_Conflict() throws Exception {
+                                MockMultipartFile file = createImageMultipartFile();
+
+                                Mockito.when(eventoService.updateEventoImagem(eq(EVENTO_ID_EXISTENTE), any()))
+                                                .thenThrow(new ObjectOptimisticLockingFailureException(Evento.class, EVENTO_ID_EXISTENTE));
+
+                                mockMvc.perform(multipart("/api/eventos/" + EVENTO_ID_EXISTENTE + "/imagem")
+                                                .file(file)
+                                                .with(request -> {
+                                                        request.setMethod("PUT");
+                                                        return request;
+                                                })
+                                                .with(csrf()))
+                                                .andExpect(status().isConflict());
+                        }
                 }
         }
 
@@ -396,6 +731,125 @@ class EventoControllerTest {
                                         .andExpect(content().string(MSG_PARTICIPANTE_JA_INSCRITO));
                 }
 
+                @Test
+                @WithMockUser(username = EMAIL_ORGANIZADOR, roles = { "USER" })
+                @DisplayName("GET /api/eventos/{id}/participantes - listar participantes")
+                void testListParticipantes_Success() throws Exception {
+                        Mockito.when(eventoService.listParticipantes(EVENTO_ID_EXISTENTE, null, null, EMAIL_ORGANIZADOR))
+                                        .thenReturn(new PaginaDto<>(List.of(new ParticipanteResponseDto(
+                                                        PARTICIPANTE_ID_EXISTENTE, PARTICIPANTE_NOME, PARTICIPANTE_EMAIL)),
+                                                        CURSOR_PROXIMA_PAGINA));
+
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE + "/participantes"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.itens[0].email").value(PARTICIPANTE_EMAIL))
+                                        .andExpect(jsonPath("$.proximoCursor").value(CURSOR_PROXIMA_PAGINA));
+                }
+
+                @Test
+                @DisplayName("GET /api/eventos/{id}/participantes - sem autenticacao")
+                void testListParticipantes_Unauthorized() throws Exception {
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_EXISTENTE + "/participantes"))
+                                        .andExpect(status().isUnauthorized());
+
+                        verify(eventoService, never()).listParticipantes(any(), any(), any(), any());
+                }
+
+                @Test
+                @WithMockUser(username = EMAIL_ORGANIZADOR, roles = { "USER" })
+                @DisplayName("GET /api/eventos/{id}/participantes - evento não encontrado")
+                void testListParticipantes_EventoNotFound() throws Exception {
+                        Mockito.when(eventoService.listParticipantes(EVENTO_ID_INEXISTENTE, null, null, EMAIL_ORGANIZADOR))
+                                        .thenThrow(new EntityNotFoundException(MSG_EVENTO_NAO_ENCONTRADO));
+
+                        mockMvc.perform(get("/api/eventos/" + EVENTO_ID_INEXISTENTE + "/participantes"))
+                                        .andExpect(status().isNotFound());
+                }
+
+                @Test
+                @WithMockUser(username = EMAIL_USUARIO_TESTE)
+                @DisplayName("POST /api/eventos/{id}/reservas - vaga confirmada")
+                void testReservarVaga_Confirmada() throws Exception {
+                        Mockito.when(eventoService.reservarVaga(EVENTO_ID_EXISTENTE, EMAIL_USUARIO_TESTE))
+                                        .thenReturn(new ReservaDto(ReservaDto.CONFIRMADA, PARTICIPANTE_ID_NOVO, null));
+
+                        mockMvc.perform(post("/api/eventos/" + EVENTO_ID_EXISTENTE + "/reservas")
+                                        .with(csrf()))
+                                        .andExpect(status().isCreated())
+                                        .andExpect(jsonPath("$.participanteId").value(PARTICIPANTE_ID_NOVO));
+                }
+
+                @Test
+                @WithMockUser(username = EMAIL_USUARIO_TESTE)
+                @DisplayName("POST /api/eventos/{id}/reservas - email do corpo é ignorado")
+                void testReservarVaga_IgnoraEmailDoCorpo() throws Exception {
+                        Mockito.when(eventoService.reservarVaga(EVENTO_ID_EXISTENTE, EMAIL_USUARIO_TESTE))
+                                        .thenReturn(new ReservaDto(ReservaDto.CONFIRMADA, PARTICIPANTE_ID_NOVO, null));
+
+                        mockMvc.perform(post("/api/eventos/" + EVENTO_ID_EXISTENTE + "/reservas")
+                                        .with(csrf())
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(
+                                                        createParticipanteDto(PARTICIPANTE_NOME, PARTICIPANTE_EMAIL))))
+                                        .andExpect(status().isCreated());
+
+                        verify(eventoService).reservarVaga(EVENTO_ID_EXISTENTE, EMAIL_USUARIO_TESTE);
+                        verify(eventoService, never()).reservarVaga(EVENTO_ID_EXISTENTE, PARTICIPANTE_EMAIL);
+                }
+
+                @Test
+                @WithMockUser(username = EMAIL_USUARIO_TESTE)
+                @DisplayName("POST /api/eventos/{id}/reservas - lista de espera")
+                void testReservarVaga_ListaEspera() throws Exception {
+                        Mockito.when(eventoService.reservarVaga(EVENTO_ID_EXISTENTE, EMAIL_USUARIO_TESTE))
+                                        .thenReturn(new ReservaDto(ReservaDto.LISTA_ESPERA, null, 3L));
+
+                        mockMvc.perform(post("/api/eventos/" + EVENTO_ID_EXISTENTE + "/reservas")
+                                        .with(csrf()))
+                                        .andExpect(status().isAccepted())
+                                        .andExpect(jsonPath("$.situacao").value(ReservaDto.LISTA_ESPERA))
+                                        .andExpect(jsonPath("$.posicao").value(3));
+                }
+
+                @Test
+                @WithMockUser(username = EMAIL_ORGANIZADOR, roles = { "USER" })
+                @DisplayName("POST /api/eventos/{id}/participantes/import - importar CSV")
+                void testImportarParticipantes_Success() throws Exception {
+                        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "convidados.csv", "text/csv",
+                                        "nome,email\nAna,ana@test.com\n".getBytes());
+                        ImportacaoParticipantesDto resumo = new ImportacaoParticipantesDto();
+                        resumo.setLinhas(1);
+                        resumo.setInseridos(1);
+
+                        Mockito.when(participanteImportService.importar(eq(EVENTO_ID_EXISTENTE), any(),
+                                        eq(EMAIL_ORGANIZADOR)))
+                                        .thenReturn(resumo);
+
+                        mockMvc.perform(multipart("/api/eventos/" + EVENTO_ID_EXISTENTE + "/participantes/import")
+                                        .file(arquivo)
+                                        .with(csrf()))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.inseridos").value(1));
+                }
+
+                @Test
+                @WithMockUser(username = EMAIL_ORGANIZADOR, roles = { "USER" })
+                @DisplayName("POST /api/eventos/{id}/participantes/import - sem permissão")
+                void testImportarParticipantes_Forbidden() throws Exception {
+                        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "convidados.csv", "text/csv",
+                                        "nome,email\n".getBytes());
+
+                        Mockito.when(participanteImportService.importar(eq(EVENTO_ID_EXISTENTE), any(),
+                                        eq(EMAIL_ORGANIZADOR)))
+                                        .thenThrow(new SecurityException(MSG_APENAS_ORGANIZADOR_ADICIONA));
+
+                        mockMvc.perform(multipart("/api/eventos/" + EVENTO_ID_EXISTENTE + "/participantes/import")
+                                        .file(arquivo)
+                                        .with(csrf()))
+                                        .andExpect(status().isBadRequest())
+                                        .andExpect(content().string(MSG_APENAS_ORGANIZADOR_ADICIONA));
+                }
+
                 @Test
                 @WithMockUser(username = EMAIL_ORGANIZADOR, roles = { "USER" })
                 @DisplayName("DELETE /api/eventos/{id}/participantes/{participanteId} - remover participante")
@@ -464,6 +918,16 @@ class EventoControllerTest {
                                         .andExpect(status().isUnauthorized());
                 }
 
+                @Test
+                @DisplayName("POST /api/eventos/{id}/reservas - não autorizado (sem usuário)")
+                void testReservarVaga_Unauthorized() throws Exception {
+                        mockMvc.perform(post("/api/eventos/" + EVENTO_ID_EXISTENTE + "/reservas")
+                                        .with(csrf()))
+                                        .andExpect(status().isUnauthorized());
+
+                        verify(eventoService, never()).reservarVaga(any(), any());
+                }
+
                 @Test
                 @DisplayName("DELETE /api/eventos/{id} - não autorizado (sem usuário)")
                 void testDeleteEvento_Unauthorized() throws Exception {
@@ -35,6 +35,9 @@ public final class EventoControllerTestConstants {
   public static final String EVENTO_DESCRICAO = "Descrição de teste";
   public static final String PARTICIPANTE_NOME = "João";
   public static final String PARTICIPANTE_EMAIL = "joao@test.com";
+  public static final Long EVENTO_VERSAO = 3L;
+  public static final String EVENTO_ETAG = "\"1-3\"";
+  public static final String CURSOR_PROXIMA_PAGINA = "MjAzMC0wMS0wMVQxMDowMHwy";
 
   // ==================================================================================
   // MENSAGENS DE ERRO - Mensagens esperadas em cenários de erro
@@ -46,6 +49,9 @@ public final class EventoControllerTestConstants {
   public static final String MSG_PARTICIPANTE_JA_INSCRITO = "Participante já inscrito";
   public static final String MSG_PARTICIPANTE_NAO_PERTENCE_EVENTO = "Participante não pertence ao evento";
   public static final String MSG_ERRO_PROCESSANDO_IMAGEM = "Erro processando a imagem";
+  public static final String MSG_CURSOR_INVALIDO = "Cursor invalido";
+  public static final String MSG_APENAS_ORGANIZADOR_ADICIONA = "Apenas o organizador do evento pode adicionar participantes.";
+  public static final String MSG_TERMO_BUSCA_OBRIGATORIO = "Termo de busca e obrigatorio";
 
   // ==================================================================================
   // ARQUIVOS - Informações sobre arquivos de teste
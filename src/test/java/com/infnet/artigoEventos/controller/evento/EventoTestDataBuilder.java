@@ -2,7 +2,9 @@ package com.infnet.artigoEventos.controller.evento;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.infnet.artigoEventos.dto.EventoCreateDto;
+import com.infnet.artigoEventos.dto.EventoResponseDto;
 import com.infnet.artigoEventos.dto.EventoUpdateDto;
+import com.infnet.artigoEventos.dto.OrganizadorDto;
 import com.infnet.artigoEventos.dto.ParticipanteDto;
 import com.infnet.artigoEventos.model.Evento;
 import com.infnet.artigoEventos.model.Participante;
@@ -95,6 +97,23 @@ public final class EventoTestDataBuilder {
     return evento;
   }
 
+  /**
+   * Cria o modelo de leitura de um evento para testes.
+   *
+   * @param id   ID do evento
+   * @param nome Nome do evento
+   * @return EventoResponseDto configurado com um organizador padrão
+   */
+  public static EventoResponseDto createMockEventoResponse(Integer id, String nome) {
+    EventoResponseDto evento = new EventoResponseDto();
+    evento.setId(id);
+    evento.setNome(nome);
+    evento.setStatus(StatusEvento.ATIVO);
+    evento.setVersao(EVENTO_VERSAO);
+    evento.setOrganizador(new OrganizadorDto(1, "Organizador", EMAIL_ORGANIZADOR));
+    return evento;
+  }
+
   /**
    * Cria um Participante mock para testes.
    *
@@ -0,0 +1,190 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.repository.ImagemBlobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ArmazenamentoImagensTest {
+
+    private static final Path UPLOADS = Path.of("uploads-test");
+    // assinatura de GIF em texto: o conteudo passa na checagem de tipo e continua legivel com readString
+    private static final String GIF = "GIF89a";
+
+    @Autowired
+    private ArmazenamentoImagens armazenamentoImagens;
+    @Autowired
+    private ImagemBlobRepository imagemBlobRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setup() {
+        imagemBlobRepository.deleteAll();
+    }
+
+    private String guardar(String conteudo) throws IOException {
+        return guardar(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String guardar(byte[] conteudo) throws IOException {
+        return armazenamentoImagens.guardar(new ByteArrayInputStream(conteudo));
+    }
+
+    private double contador(String nome) {
+        return meterRegistry.counter(nome).count();
+    }
+
+    @Test
+    void conteudoRepetidoGuardaUmArquivoSoTest() throws IOException {
+        String conteudo = GIF + " banner " + UUID.randomUUID();
+        double deduplicadosAntes = contador("imagens.uploads.deduplicados");
+        double bytesAntes = contador("imagens.bytes.deduplicados");
+
+        String primeiro = guardar(conteudo);
+        String segundo = guardar(conteudo);
+        String terceiro = guardar(conteudo);
+
+        assertEquals(primeiro, segundo);
+        assertEquals(primeiro, terceiro);
+        assertEquals(ArmazenamentoImagens.caminho(ArmazenamentoImagens.hashDe(primeiro), ".gif"), primeiro);
+        assertEquals(conteudo, Files.readString(UPLOADS.resolve(primeiro)));
+        assertEquals(3, imagemBlobRepository.findReferencias(ArmazenamentoImagens.hashDe(primeiro)).orElseThrow());
+        assertEquals(2, contador("imagens.uploads.deduplicados") - deduplicadosAntes);
+        assertEquals(2.0 * conteudo.length(), contador("imagens.bytes.deduplicados") - bytesAntes);
+        armazenamentoImagens.atualizarRazaoDeduplicacao();
+        assertEquals(3.0, meterRegistry.get("imagens.dedup.razao").gauge().value(), 0.0001);
+        try (var arquivos = Files.list(UPLOADS)) {
+            assertTrue(arquivos.noneMatch(p -> p.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void arquivoSaiComAUltimaReferenciaTest() throws IOException {
+        String arquivo = guardar(GIF + " logo " + UUID.randomUUID());
+        guardar(Files.readString(UPLOADS.resolve(arquivo)));
+
+        armazenamentoImagens.liberar(arquivo);
+        assertTrue(Files.exists(UPLOADS.resolve(arquivo)));
+        assertEquals(1, imagemBlobRepository.findReferencias(ArmazenamentoImagens.hashDe(arquivo)).orElseThrow());
+
+        armazenamentoImagens.liberar(arquivo);
+        assertFalse(Files.exists(UPLOADS.resolve(arquivo)));
+        assertFalse(imagemBlobRepository.existsById(ArmazenamentoImagens.hashDe(arquivo)));
+    }
+
+    @Test
+    void arquivoSoSaiDepoisDoCommitTest() throws IOException {
+        String arquivo = guardar(GIF + " rollback " + UUID.randomUUID());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            armazenamentoImagens.liberar(arquivo);
+            assertTrue(Files.exists(UPLOADS.resolve(arquivo)));
+            status.setRollbackOnly();
+        });
+        assertTrue(Files.exists(UPLOADS.resolve(arquivo)));
+        assertEquals(1, imagemBlobRepository.findReferencias(ArmazenamentoImagens.hashDe(arquivo)).orElseThrow());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            armazenamentoImagens.liberar(arquivo);
+            assertTrue(Files.exists(UPLOADS.resolve(arquivo)));
+        });
+        assertFalse(Files.exists(UPLOADS.resolve(arquivo)));
+    }
+
+    @Test
+    void blobApagadoAntesDoCommitDoUploadVoltaTest() throws IOException {
+        String conteudo = GIF + " concorrente " + UUID.randomUUID();
+        String arquivo = guardar(conteudo);
+
+        // outro upload do mesmo conteudo ainda aberto enquanto a liberacao (que nao ve a referencia nova) apaga
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                assertEquals(arquivo, guardar(conteudo));
+                Files.delete(UPLOADS.resolve(arquivo));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        assertEquals(conteudo, Files.readString(UPLOADS.resolve(arquivo)));
+        assertEquals(2, imagemBlobRepository.findReferencias(ArmazenamentoImagens.hashDe(arquivo)).orElseThrow());
+        try (var arquivos = Files.list(UPLOADS)) {
+            assertTrue(arquivos.noneMatch(p -> p.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void nomeAntigoSemBlobEApagadoDiretoTest() throws IOException {
+        Path antigo = Files.writeString(UPLOADS.resolve(UUID.randomUUID() + "_foto.png"), "imagem antiga");
+
+        armazenamentoImagens.liberar(antigo.getFileName().toString());
+
+        assertFalse(Files.exists(antigo));
+    }
+
+    @Test
+    void tipoVemDoConteudoENaoDoNomeTest() throws IOException {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 1, 2, 3, 4, 5};
+        byte[] webp = "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII);
+        byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 9, 8, 7};
+
+        assertTrue(guardar(png).endsWith(".png"));
+        assertTrue(guardar(webp).endsWith(".webp"));
+        assertTrue(guardar(jpeg).endsWith(".jpg"));
+    }
+
+    @Test
+    void conteudoQueNaoEImagemERecusadoTest() throws IOException {
+        long antes;
+        try (var arquivos = Files.walk(UPLOADS)) {
+            antes = arquivos.count();
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> guardar("<html><script>alert(1)</script></html>"));
+        assertThrows(IllegalArgumentException.class, () -> guardar("<svg xmlns=\"http://www.w3.org/2000/svg\"/>"));
+        assertThrows(IllegalArgumentException.class, () -> guardar(new byte[0]));
+
+        try (var arquivos = Files.walk(UPLOADS)) {
+            assertEquals(antes, arquivos.count());
+        }
+        assertEquals(0, imagemBlobRepository.count());
+    }
+
+    @Test
+    void extensaoEHashTest() {
+        assertEquals(".png", ArmazenamentoImagens.extensao("Foto.PNG"));
+        assertEquals(".jpeg", ArmazenamentoImagens.extensao("a.b.jpeg"));
+        assertEquals("", ArmazenamentoImagens.extensao("sem_extensao"));
+        assertEquals("", ArmazenamentoImagens.extensao("estranha.p n g"));
+        assertEquals("", ArmazenamentoImagens.extensao("pagina.html"));
+        assertEquals("", ArmazenamentoImagens.extensao("desenho.svg"));
+        assertEquals(ArmazenamentoImagens.TipoImagem.WEBP, ArmazenamentoImagens.TipoImagem.doArquivo("ab/cd/x.webp").orElseThrow());
+        assertTrue(ArmazenamentoImagens.TipoImagem.doArquivo("ab/cd/x.xml").isEmpty());
+
+        String hash = "ab".repeat(32);
+        assertEquals(hash, ArmazenamentoImagens.hashDe(hash + ".png"));
+        assertEquals(hash, ArmazenamentoImagens.hashDe(hash));
+        assertEquals("ab/ab/" + hash + ".png", ArmazenamentoImagens.caminho(hash, ".png"));
+        assertEquals(hash, ArmazenamentoImagens.hashDe(ArmazenamentoImagens.caminho(hash, ".png")));
+        assertNull(ArmazenamentoImagens.hashDe(UUID.randomUUID() + "_foto.png"));
+    }
+}
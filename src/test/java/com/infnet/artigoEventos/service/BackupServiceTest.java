@@ -0,0 +1,224 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.dto.ImportacaoResumoDto;
+import com.infnet.artigoEventos.model.ConviteOutbox;
+import com.infnet.artigoEventos.model.Evento;
+import com.infnet.artigoEventos.model.Participante;
+import com.infnet.artigoEventos.model.SituacaoConvite;
+import com.infnet.artigoEventos.model.StatusEvento;
+import com.infnet.artigoEventos.model.Usuario;
+import com.infnet.artigoEventos.repository.ConviteOutboxRepository;
+import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ImagemBlobRepository;
+import com.infnet.artigoEventos.repository.ParticipanteRepository;
+import com.infnet.artigoEventos.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BackupServiceTest {
+
+    private static final Path UPLOADS = Path.of("uploads-test");
+
+    @Autowired
+    private BackupService backupService;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private EventoRepository eventoRepository;
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+    @Autowired
+    private ImagemBlobRepository imagemBlobRepository;
+    @Autowired
+    private ArmazenamentoImagens armazenamentoImagens;
+    @Autowired
+    private ConviteOutboxRepository conviteOutboxRepository;
+
+    private Evento evento;
+
+    @BeforeEach
+    void setup() {
+        conviteOutboxRepository.deleteAll();
+        participanteRepository.deleteAll();
+        eventoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        imagemBlobRepository.deleteAll();
+
+        Usuario organizador = new Usuario();
+        organizador.setNome("Organizador");
+        organizador.setEmail("backup@test.com");
+        organizador.setSenha("hash");
+        usuarioRepository.save(organizador);
+
+        evento = new Evento();
+        evento.setNome("Evento Backup");
+        evento.setLocalEvento("Local");
+        evento.setDataEvento(LocalDateTime.of(2030, 1, 1, 10, 0));
+        evento.setStatus(StatusEvento.ATIVO);
+        evento.setOrganizador(organizador);
+        eventoRepository.save(evento);
+
+        Participante participante = new Participante();
+        participante.setNome("Convidado");
+        participante.setEmail("convidado@test.com");
+        participante.setEvento(evento);
+        participanteRepository.save(participante);
+    }
+
+    private byte[] exportar() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        backupService.exportar(out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void exportarUmaLinhaPorRegistroTest() throws IOException {
+        String[] linhas = new String(exportar(), StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(3, linhas.length);
+        assertTrue(linhas[0].startsWith("{\"tabela\":\"usuarios\""));
+        assertTrue(linhas[1].startsWith("{\"tabela\":\"eventos\""));
+        assertTrue(linhas[2].startsWith("{\"tabela\":\"participante\""));
+    }
+
+    @Test
+    void exportarEImportarRestauraDadosTest() throws IOException {
+        byte[] dump = exportar();
+
+        participanteRepository.deleteAll();
+        eventoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        ImportacaoResumoDto resumo = backupService.importar(new ByteArrayInputStream(dump));
+
+        assertEquals(3, resumo.getLinhas());
+        assertEquals(1L, resumo.getInseridos().get("eventos"));
+        Evento restaurado = eventoRepository.findById(evento.getId()).orElseThrow();
+        assertEquals("Evento Backup", restaurado.getNome());
+        assertEquals(evento.getDataEvento(), restaurado.getDataEvento());
+        assertEquals(1, participanteRepository.count());
+    }
+
+    // dois eventos com o mesmo banner: um blob com duas referencias
+    private String banner(String conteudo) throws IOException {
+        byte[] bytes = ("GIF89a " + conteudo).getBytes(StandardCharsets.UTF_8);
+        String arquivo = armazenamentoImagens.guardar(new ByteArrayInputStream(bytes));
+        armazenamentoImagens.guardar(new ByteArrayInputStream(bytes));
+        Usuario organizador = usuarioRepository.findByEmail("backup@test.com").orElseThrow();
+        for (int i = 1; i <= 2; i++) {
+            Evento comBanner = new Evento();
+            comBanner.setNome("Evento com banner " + i);
+            comBanner.setLocalEvento("Local");
+            comBanner.setDataEvento(LocalDateTime.of(2030, 2, i, 10, 0));
+            comBanner.setStatus(StatusEvento.ATIVO);
+            comBanner.setOrganizador(organizador);
+            comBanner.setImagemPath(arquivo);
+            eventoRepository.save(comBanner);
+        }
+        return arquivo;
+    }
+
+    private void apagarTudo() {
+        participanteRepository.deleteAll();
+        eventoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        imagemBlobRepository.deleteAll();
+    }
+
+    @Test
+    void exportarEImportarRestauraContagemDeImagensTest() throws IOException {
+        String arquivo = banner("backup " + UUID.randomUUID());
+        byte[] dump = exportar();
+        apagarTudo();
+
+        ImportacaoResumoDto resumo = backupService.importar(new ByteArrayInputStream(dump));
+
+        assertEquals(1L, resumo.getInseridos().get("imagens_blobs"));
+        assertEquals(2, imagemBlobRepository.findReferencias(ArmazenamentoImagens.hashDe(arquivo)).orElseThrow());
+        armazenamentoImagens.liberar(arquivo);
+        assertTrue(Files.exists(UPLOADS.resolve(arquivo)));
+    }
+
+    @Test
+    void dumpSemContagemNaoApagaImagemAindaUsadaTest() throws IOException {
+        String arquivo = banner("antigo " + UUID.randomUUID());
+        // dump de antes de imagens_blobs entrar no backup
+        String semBlobs = Arrays.stream(new String(exportar(), StandardCharsets.UTF_8).split("\n"))
+                .filter(linha -> !linha.contains("\"imagens_blobs\""))
+                .collect(Collectors.joining("\n"));
+        apagarTudo();
+        backupService.importar(new ByteArrayInputStream(semBlobs.getBytes(StandardCharsets.UTF_8)));
+
+        armazenamentoImagens.liberar(arquivo);
+
+        assertTrue(Files.exists(UPLOADS.resolve(arquivo)));
+    }
+
+    @Test
+    void exportarEImportarMantemConvitesPendentesTest() throws IOException {
+        ConviteOutbox convite = new ConviteOutbox();
+        convite.setEventoId(evento.getId());
+        convite.setEventoNome(evento.getNome());
+        convite.setEmail("convidado@test.com");
+        convite.setNome("Convidado");
+        // longe no futuro para o ConviteDispatcher nao enviar durante o teste
+        convite.setProximaTentativa(LocalDateTime.of(2099, 1, 1, 0, 0));
+        conviteOutboxRepository.save(convite);
+        byte[] dump = exportar();
+        conviteOutboxRepository.deleteAll();
+        apagarTudo();
+
+        ImportacaoResumoDto resumo = backupService.importar(new ByteArrayInputStream(dump));
+
+        assertEquals(1L, resumo.getInseridos().get("convites_outbox"));
+        ConviteOutbox restaurado = conviteOutboxRepository.findById(convite.getId()).orElseThrow();
+        assertEquals(SituacaoConvite.PENDENTE, restaurado.getSituacao());
+        assertEquals("convidado@test.com", restaurado.getEmail());
+        assertEquals(convite.getProximaTentativa(), restaurado.getProximaTentativa());
+    }
+
+    @Test
+    void importarRegistrosExistentesSaoIgnoradosTest() throws IOException {
+        ImportacaoResumoDto resumo = backupService.importar(new ByteArrayInputStream(exportar()));
+
+        assertEquals(0L, resumo.getInseridos().get("usuarios"));
+        assertEquals(1L, resumo.getIgnorados().get("participante"));
+        assertEquals(1, eventoRepository.count());
+    }
+
+    @Test
+    void importarLinhaInvalidaTest() {
+        byte[] dump = "{\"tabela\":\"eventos\",\"dados\":{\"senha_admin\":1}}\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                backupService.importar(new ByteArrayInputStream(dump))
+        );
+    }
+
+    @Test
+    void importarTabelaDesconhecidaTest() {
+        byte[] dump = "{\"tabela\":\"sqlite_master\",\"dados\":{}}\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                backupService.importar(new ByteArrayInputStream(dump))
+        );
+    }
+}
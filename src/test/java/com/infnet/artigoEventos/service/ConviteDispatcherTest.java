@@ -0,0 +1,119 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.model.ConviteOutbox;
+import com.infnet.artigoEventos.model.SituacaoConvite;
+import com.infnet.artigoEventos.repository.ConviteOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {"app.convites.lote=10", "app.convites.max-tentativas=3"})
+@ActiveProfiles("test")
+class ConviteDispatcherTest {
+
+    @Autowired
+    private ConviteDispatcher conviteDispatcher;
+    @Autowired
+    private ConviteOutboxRepository conviteOutboxRepository;
+
+    @MockitoBean
+    private ConviteSender conviteSender;
+
+    @BeforeEach
+    void setup() {
+        conviteOutboxRepository.deleteAll();
+        reset(conviteSender);
+    }
+
+    private ConviteOutbox convite(String email) {
+        return conviteOutboxRepository.save(ConviteDispatcher.novoConvite(1, "Evento", "Convidado", email));
+    }
+
+    @Test
+    void enviaTodosOsPendentesEmLotesTest() throws Exception {
+        List<ConviteOutbox> convites = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            convites.add(ConviteDispatcher.novoConvite(1, "Evento", "Convidado " + i, "c" + i + "@test.com"));
+        }
+        conviteOutboxRepository.saveAll(convites);
+
+        assertEquals(25, conviteDispatcher.despachar());
+
+        verify(conviteSender, times(25)).enviar(any());
+        assertEquals(0, conviteOutboxRepository.countBySituacao(SituacaoConvite.PENDENTE));
+        assertEquals(25, conviteOutboxRepository.countBySituacao(SituacaoConvite.ENVIADO));
+        conviteOutboxRepository.findAll().forEach(c -> assertNotNull(c.getEnviadoEm()));
+    }
+
+    @Test
+    void naoEnviaConviteAindaNaoVencidoTest() throws Exception {
+        ConviteOutbox futuro = ConviteDispatcher.novoConvite(1, "Evento", "Convidado", "futuro@test.com");
+        futuro.setProximaTentativa(LocalDateTime.now().plusMinutes(5));
+        conviteOutboxRepository.save(futuro);
+
+        assertEquals(0, conviteDispatcher.despachar());
+        verify(conviteSender, times(0)).enviar(any());
+    }
+
+    @Test
+    void falhaReagendaComEsperaTest() throws Exception {
+        ConviteOutbox falha = convite("falha@test.com");
+        convite("ok@test.com");
+        doThrow(new IOException("smtp fora do ar")).when(conviteSender)
+                .enviar(argThat(c -> c.getEmail().equals("falha@test.com")));
+
+        conviteDispatcher.despachar();
+
+        ConviteOutbox reagendado = conviteOutboxRepository.findById(falha.getId()).orElseThrow();
+        assertEquals(SituacaoConvite.PENDENTE, reagendado.getSituacao());
+        assertEquals(1, reagendado.getTentativas());
+        assertEquals("smtp fora do ar", reagendado.getUltimoErro());
+        assertTrue(reagendado.getProximaTentativa().isAfter(LocalDateTime.now()));
+        assertEquals(1, conviteOutboxRepository.countBySituacao(SituacaoConvite.ENVIADO));
+    }
+
+    @Test
+    void desisteAposMaximoDeTentativasTest() throws Exception {
+        ConviteOutbox convite = convite("falha@test.com");
+        doThrow(new IOException("caixa inexistente")).when(conviteSender).enviar(any());
+
+        for (int i = 0; i < 3; i++) {
+            ConviteOutbox atual = conviteOutboxRepository.findById(convite.getId()).orElseThrow();
+            atual.setProximaTentativa(LocalDateTime.now().minusSeconds(1));
+            conviteOutboxRepository.save(atual);
+            conviteDispatcher.despachar();
+        }
+
+        ConviteOutbox descartado = conviteOutboxRepository.findById(convite.getId()).orElseThrow();
+        assertEquals(SituacaoConvite.FALHOU, descartado.getSituacao());
+        assertEquals(3, descartado.getTentativas());
+        assertEquals(0, conviteDispatcher.despachar());
+    }
+
+    @Test
+    void esperaCresceAteOLimiteTest() {
+        long primeira = conviteDispatcher.espera(1).toMillis();
+        long terceira = conviteDispatcher.espera(3).toMillis();
+        long centesima = conviteDispatcher.espera(100).toMillis();
+
+        assertTrue(primeira >= 10_000 && primeira <= 12_500);
+        assertTrue(terceira >= 40_000 && terceira <= 50_000);
+        assertTrue(centesima >= 3_600_000 && centesima <= 4_500_000);
+    }
+}
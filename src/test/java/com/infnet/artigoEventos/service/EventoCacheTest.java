@@ -0,0 +1,70 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.dto.EventoResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventoCacheTest {
+
+    private EventoResponseDto evento(Integer id) {
+        EventoResponseDto dto = new EventoResponseDto();
+        dto.setId(id);
+        return dto;
+    }
+
+    @Test
+    void buscasSimultaneasCarregamUmaVezTest() throws Exception {
+        EventoCache cache = new EventoCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        AtomicInteger consultas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<EventoResponseDto>> resultados = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            resultados.add(pool.submit(() -> {
+                largada.await();
+                return cache.get(1, id -> {
+                    consultas.incrementAndGet();
+                    sleep(50);
+                    return evento(id);
+                });
+            }));
+        }
+        largada.countDown();
+        for (Future<EventoResponseDto> resultado : resultados) {
+            assertEquals(1, resultado.get(5, TimeUnit.SECONDS).getId());
+        }
+        pool.shutdown();
+
+        assertEquals(1, consultas.get());
+    }
+
+    @Test
+    void naoGuardaEventoInexistenteTest() {
+        EventoCache cache = new EventoCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+        assertNull(cache.get(1, id -> null));
+        assertNull(cache.getIfPresent(1));
+        assertEquals(2, cache.estatisticas().missCount());
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
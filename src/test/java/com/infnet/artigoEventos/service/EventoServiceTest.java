@@ -1,18 +1,29 @@
 package com.infnet.artigoEventos.service;
 
+import com.infnet.artigoEventos.dto.CalendarioDto;
 import com.infnet.artigoEventos.dto.EventoCreateDto;
+import com.infnet.artigoEventos.dto.EventoFiltroDto;
+import com.infnet.artigoEventos.dto.EventoResponseDto;
 import com.infnet.artigoEventos.dto.EventoUpdateDto;
+import com.infnet.artigoEventos.dto.EventoVersaoDto;
+import com.infnet.artigoEventos.dto.PaginaDto;
 import com.infnet.artigoEventos.dto.ParticipanteDto;
+import com.infnet.artigoEventos.dto.ParticipanteResponseDto;
+import com.infnet.artigoEventos.dto.ReservaDto;
 import com.infnet.artigoEventos.model.*;
+import com.infnet.artigoEventos.repository.ConviteOutboxRepository;
 import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ImagemBlobRepository;
 import com.infnet.artigoEventos.repository.ParticipanteRepository;
 import com.infnet.artigoEventos.repository.UsuarioRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -20,6 +31,7 @@ import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
 
+import static com.infnet.artigoEventos.config.AssercoesSql.assertComandosSql;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -34,6 +46,22 @@ class EventoServiceTest {
     private EventoRepository eventoRepository;
     @Autowired
     private ParticipanteRepository participanteRepository;
+    @Autowired
+    private EventoCache eventoCache;
+    @Autowired
+    private EventoSugestoes eventoSugestoes;
+    @Autowired
+    private EventoCalendario eventoCalendario;
+    @Autowired
+    private VagasEvento vagasEvento;
+    @Autowired
+    private ConviteOutboxRepository conviteOutboxRepository;
+    @Autowired
+    private ImagemBlobRepository imagemBlobRepository;
+    @Autowired
+    private ImagemCache imagemCache;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
     private Usuario organizador;
     private EventoCreateDto eventoDto;
@@ -77,8 +105,14 @@ class EventoServiceTest {
     @BeforeEach
     void setup() throws IOException {
         participanteRepository.deleteAll();
+        conviteOutboxRepository.deleteAll();
         eventoRepository.deleteAll();
+        imagemBlobRepository.deleteAll();
         usuarioRepository.deleteAll();
+        eventoCache.invalidarTodos();
+        eventoSugestoes.recarregar();
+        eventoCalendario.reconstruir();
+        vagasEvento.descartarTodos();
 
         sampleImage = loadSampleImage(1);
 
@@ -108,9 +142,173 @@ class EventoServiceTest {
     }
 
     @Test
-    void getAllEventosTest() {
-        List<Evento> eventos = eventoService.getAllEventos();
-        assertEquals(1, eventos.size());
+    void listEventosTest() {
+        PaginaDto<EventoResponseDto> pagina = eventoService.listEventos(new EventoFiltroDto(), null, null);
+        assertEquals(1, pagina.getItens().size());
+        assertNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    void listEventosPaginacaoPorCursorTest() throws IOException {
+        for (int i = 1; i <= 4; i++) {
+            EventoCreateDto dto = buildEventoDto("Evento " + i);
+            dto.setDataEvento(LocalDate.now().plusDays(i).atStartOfDay());
+            eventoService.createEvento(dto, null, organizador.getEmail());
+        }
+
+        PaginaDto<EventoResponseDto> primeira = eventoService.listEventos(new EventoFiltroDto(), null, 2);
+        PaginaDto<EventoResponseDto> segunda = eventoService.listEventos(new EventoFiltroDto(), primeira.getProximoCursor(), 2);
+        PaginaDto<EventoResponseDto> terceira = eventoService.listEventos(new EventoFiltroDto(), segunda.getProximoCursor(), 2);
+
+        assertEquals(List.of("Evento Teste", "Evento 1"), primeira.getItens().stream().map(EventoResponseDto::getNome).toList());
+        assertEquals(List.of("Evento 2", "Evento 3"), segunda.getItens().stream().map(EventoResponseDto::getNome).toList());
+        assertEquals(List.of("Evento 4"), terceira.getItens().stream().map(EventoResponseDto::getNome).toList());
+        assertNull(terceira.getProximoCursor());
+    }
+
+    @Test
+    void listEventosFiltrosTest() throws IOException {
+        EventoCreateDto dto = buildEventoDto("Em Outro Local");
+        dto.setLocalEvento("Outro Local");
+        dto.setDataEvento(LocalDate.now().plusDays(10).atStartOfDay());
+        Evento outro = eventoService.createEvento(dto, null, organizador.getEmail());
+        EventoUpdateDto cancelamento = new EventoUpdateDto();
+        cancelamento.setStatus(StatusEvento.CANCELADO);
+        eventoService.updateEvento(outro.getId(), cancelamento);
+
+        EventoFiltroDto porLocal = new EventoFiltroDto();
+        porLocal.setLocal("Outro Local");
+        EventoFiltroDto porStatus = new EventoFiltroDto();
+        porStatus.setStatus(StatusEvento.ATIVO);
+        EventoFiltroDto porData = new EventoFiltroDto();
+        porData.setDe(LocalDate.now().plusDays(1).atStartOfDay());
+
+        assertEquals(List.of(outro.getId()), ids(eventoService.listEventos(porLocal, null, null)));
+        assertEquals(List.of(eventoModel.getId()), ids(eventoService.listEventos(porStatus, null, null)));
+        assertEquals(List.of(outro.getId()), ids(eventoService.listEventos(porData, null, null)));
+    }
+
+    @Test
+    void listEventosParametrosInvalidosTest() {
+        assertThrows(IllegalArgumentException.class, () ->
+                eventoService.listEventos(new EventoFiltroDto(), "nao-e-cursor", null)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+                eventoService.listEventos(new EventoFiltroDto(), null, EventoService.LIMITE_MAXIMO + 1)
+        );
+    }
+
+    @Test
+    void buscarEventosPorPalavraEPrefixoTest() throws IOException {
+        EventoCreateDto show = buildEventoDto("Show de Rock");
+        show.setLocalEvento("São Paulo");
+        Evento rock = eventoService.createEvento(show, null, organizador.getEmail());
+
+        assertEquals(List.of(rock.getId()), ids(eventoService.buscarEventos("rock", null, null)));
+        assertEquals(List.of(rock.getId()), ids(eventoService.buscarEventos("Ro", null, null)));
+        assertEquals(List.of(rock.getId()), ids(eventoService.buscarEventos("sao paulo", null, null)));
+        assertTrue(eventoService.buscarEventos("jazz", null, null).getItens().isEmpty());
+    }
+
+    @Test
+    void buscarEventosAcompanhaAtualizacaoEExclusaoTest() {
+        EventoUpdateDto dto = new EventoUpdateDto();
+        dto.setDescricao("Palestra sobre observabilidade");
+        eventoService.updateEvento(eventoModel.getId(), dto);
+
+        assertEquals(List.of(eventoModel.getId()), ids(eventoService.buscarEventos("observ", null, null)));
+
+        eventoService.deleteEvento(eventoModel.getId());
+
+        assertTrue(eventoService.buscarEventos("observ", null, null).getItens().isEmpty());
+    }
+
+    @Test
+    void buscarEventosPaginacaoTest() throws IOException {
+        for (int i = 1; i <= 3; i++) {
+            eventoService.createEvento(buildEventoDto("Feira " + i), null, organizador.getEmail());
+        }
+
+        PaginaDto<EventoResponseDto> primeira = eventoService.buscarEventos("feira", null, 2);
+        PaginaDto<EventoResponseDto> segunda = eventoService.buscarEventos("feira", primeira.getProximoCursor(), 2);
+
+        assertEquals(2, primeira.getItens().size());
+        assertEquals(1, segunda.getItens().size());
+        assertNull(segunda.getProximoCursor());
+        assertFalse(ids(primeira).contains(segunda.getItens().get(0).getId()));
+    }
+
+    @Test
+    void buscarEventosTermoInvalidoTest() {
+        assertThrows(IllegalArgumentException.class, () ->
+                eventoService.buscarEventos(" \"* ", null, null)
+        );
+    }
+
+    @Test
+    void sugerirEventosAcompanhaEscritasTest() throws IOException {
+        EventoCreateDto dto = buildEventoDto("Festival de Inverno");
+        dto.setLocalEvento("São Paulo");
+        Evento festival = eventoService.createEvento(dto, null, organizador.getEmail());
+
+        assertEquals(List.of("Festival de Inverno"), eventoService.sugerirEventos("fest", null));
+        assertEquals(List.of("São Paulo"), eventoService.sugerirEventos("pau", null));
+
+        EventoUpdateDto update = new EventoUpdateDto();
+        update.setNome("Festa Junina");
+        eventoService.updateEvento(festival.getId(), update);
+
+        assertEquals(List.of("Festa Junina"), eventoService.sugerirEventos("fest", null));
+
+        eventoService.deleteEvento(festival.getId());
+
+        assertTrue(eventoService.sugerirEventos("fest", null).isEmpty());
+        assertTrue(eventoService.sugerirEventos("sao", null).isEmpty());
+    }
+
+    @Test
+    void calendarioAcompanhaEscritasTest() throws IOException {
+        LocalDate dia = eventoModel.getDataEvento().toLocalDate();
+        Evento segundo = eventoService.createEvento(buildEventoDto("Segundo"), null, organizador.getEmail());
+
+        assertEquals(List.of(new CalendarioDto(dia.toString(), StatusEvento.ATIVO, 2)),
+                eventoService.getCalendario(dia, dia, null));
+
+        EventoUpdateDto update = new EventoUpdateDto();
+        update.setStatus(StatusEvento.CANCELADO);
+        eventoService.updateEvento(segundo.getId(), update);
+
+        assertEquals(List.of(
+                        new CalendarioDto(dia.toString(), StatusEvento.ATIVO, 1),
+                        new CalendarioDto(dia.toString(), StatusEvento.CANCELADO, 1)),
+                eventoService.getCalendario(dia, dia, null));
+
+        EventoUpdateDto adiado = new EventoUpdateDto();
+        adiado.setDataEvento(eventoModel.getDataEvento().plusMonths(1));
+        eventoService.updateEvento(eventoModel.getId(), adiado);
+        eventoService.deleteEvento(segundo.getId());
+
+        assertTrue(eventoService.getCalendario(dia, dia, null).isEmpty());
+        assertEquals(List.of(new CalendarioDto(dia.plusMonths(1).toString().substring(0, 7), StatusEvento.ATIVO, 1)),
+                eventoService.getCalendario(dia, dia.plusMonths(2), "mes"));
+    }
+
+    @Test
+    void calendarioIntervaloInvalidoTest() {
+        LocalDate hoje = LocalDate.now();
+        assertThrows(IllegalArgumentException.class, () -> eventoService.getCalendario(hoje, hoje.minusDays(1), null));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.getCalendario(hoje, hoje.plusYears(2), null));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.getCalendario(hoje, hoje, "semana"));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.getCalendario(null, hoje, null));
+    }
+
+    @Test
+    void sugerirEventosLimiteInvalidoTest() {
+        assertThrows(IllegalArgumentException.class, () -> eventoService.sugerirEventos("ev", 0));
+    }
+
+    private List<Integer> ids(PaginaDto<EventoResponseDto> pagina) {
+        return pagina.getItens().stream().map(EventoResponseDto::getId).toList();
     }
 
     @Test
@@ -119,6 +317,55 @@ class EventoServiceTest {
         assertEquals(eventoModel.getId(), encontrado.getId());
     }
 
+    @Test
+    void getEventoResponseByIdTest() {
+        EventoResponseDto encontrado = eventoService.getEventoResponseById(eventoModel.getId());
+
+        assertEquals(eventoModel.getNome(), encontrado.getNome());
+        assertEquals(organizador.getId(), encontrado.getOrganizador().getId());
+        assertEquals(organizador.getEmail(), encontrado.getOrganizador().getEmail());
+    }
+
+    @Test
+    void getEventoResponseByIdUsaCacheTest() {
+        long hitsAntes = eventoCache.estatisticas().hitCount();
+
+        EventoResponseDto primeira = eventoService.getEventoResponseById(eventoModel.getId());
+        EventoResponseDto segunda = eventoService.getEventoResponseById(eventoModel.getId());
+
+        assertSame(primeira, segunda);
+        assertEquals(hitsAntes + 1, eventoCache.estatisticas().hitCount());
+    }
+
+    @Test
+    void updateEventoInvalidaCacheTest() {
+        eventoService.getEventoResponseById(eventoModel.getId());
+
+        EventoUpdateDto dto = new EventoUpdateDto();
+        dto.setNome("Nome Novo");
+        eventoService.updateEvento(eventoModel.getId(), dto);
+
+        assertEquals("Nome Novo", eventoService.getEventoResponseById(eventoModel.getId()).getNome());
+    }
+
+    @Test
+    void deleteEventoInvalidaCacheTest() {
+        eventoService.getEventoResponseById(eventoModel.getId());
+
+        eventoService.deleteEvento(eventoModel.getId());
+
+        assertThrows(EntityNotFoundException.class, () ->
+                eventoService.getEventoResponseById(eventoModel.getId())
+        );
+    }
+
+    @Test
+    void getEventoResponseByIdNaoEncontradoTest() {
+        assertThrows(EntityNotFoundException.class, () ->
+                eventoService.getEventoResponseById(-1)
+        );
+    }
+
     @Test
     void getEventoByIdNaoEncontradoTest() {
         assertThrows(EntityNotFoundException.class, () ->
@@ -138,6 +385,59 @@ class EventoServiceTest {
         assertEquals("Desc Atualizada", atualizado.getDescricao());
     }
 
+    @Test
+    void leituraAntesDoCommitNaoFicaNoCacheTest() {
+        EventoResponseDto anterior = eventoService.getEventoResponseById(eventoModel.getId());
+        EventoUpdateDto dto = new EventoUpdateDto();
+        dto.setNome("Congresso Renomeado");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventoService.updateEvento(eventoModel.getId(), dto);
+            // uma leitura simultanea ainda enxerga a linha commitada e a guarda no cache
+            eventoCache.get(eventoModel.getId(), id -> anterior);
+            assertTrue(eventoService.sugerirEventos("congresso", null).isEmpty());
+        });
+
+        assertEquals("Congresso Renomeado", eventoService.getEventoResponseById(eventoModel.getId()).getNome());
+        assertEquals(List.of("Congresso Renomeado"), eventoService.sugerirEventos("congresso", null));
+    }
+
+    @Test
+    void rollbackNaoMexeNasSugestoesTest() {
+        EventoUpdateDto dto = new EventoUpdateDto();
+        dto.setNome("Simposio Cancelado");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventoService.updateEvento(eventoModel.getId(), dto);
+            eventoService.getEventoResponseById(eventoModel.getId());
+            status.setRollbackOnly();
+        });
+
+        assertTrue(eventoService.sugerirEventos("simposio", null).isEmpty());
+        assertEquals(eventoModel.getNome(), eventoService.getEventoResponseById(eventoModel.getId()).getNome());
+    }
+
+    @Test
+    void updateEventoIncrementaVersaoTest() {
+        EventoVersaoDto antes = eventoService.getEventoVersao(eventoModel.getId());
+
+        EventoUpdateDto dto = new EventoUpdateDto();
+        dto.setNome("Outro Nome");
+        eventoService.updateEvento(eventoModel.getId(), dto);
+
+        EventoVersaoDto depois = eventoService.getEventoVersao(eventoModel.getId());
+        assertEquals(antes.versao() + 1, depois.versao());
+        assertNotNull(depois.atualizadoEm());
+        assertNotEquals(antes.etag(), depois.etag());
+    }
+
+    @Test
+    void getEventoVersaoNaoEncontradoTest() {
+        assertThrows(EntityNotFoundException.class, () ->
+                eventoService.getEventoVersao(-1)
+        );
+    }
+
     @Test
     void updateEventoImagemTest() throws IOException {
         MockMultipartFile imagem = loadSampleImage(2);
@@ -150,6 +450,58 @@ class EventoServiceTest {
         assertTrue(Files.exists(savedPath));
     }
 
+    @Test
+    void imagemEmCacheSaiComATrocaEComODeleteTest() throws IOException {
+        Path original = Path.of("uploads-test").resolve(eventoModel.getImagemPath());
+        Resource primeira = eventoService.getEventoImagem(eventoModel.getId());
+        assertSame(primeira, eventoService.getEventoImagem(eventoModel.getId()));
+        assertTrue(imagemCache.contem(original));
+
+        Evento atualizado = eventoService.updateEventoImagem(eventoModel.getId(), loadSampleImage(2));
+        assertFalse(imagemCache.contem(original));
+        assertArrayEquals(loadSampleImage(2).getBytes(),
+                eventoService.getEventoImagem(eventoModel.getId()).getContentAsByteArray());
+
+        Path nova = Path.of("uploads-test").resolve(atualizado.getImagemPath());
+        assertTrue(imagemCache.contem(nova));
+        eventoService.deleteEvento(eventoModel.getId());
+        assertFalse(imagemCache.contem(nova));
+    }
+
+    @Test
+    void imagemEmCacheNaoConfereODiscoTest() throws IOException {
+        Path original = Path.of("uploads-test").resolve(eventoModel.getImagemPath());
+        Resource primeira = eventoService.getEventoImagem(eventoModel.getId());
+        Path guardado = original.resolveSibling(original.getFileName() + ".bak");
+        Files.move(original, guardado);
+        try {
+            assertSame(primeira, eventoService.getEventoImagem(eventoModel.getId()));
+        } finally {
+            Files.move(guardado, original);
+        }
+    }
+
+    @Test
+    void mesmaImagemEmDoisEventosOcupaUmArquivoTest() throws IOException {
+        Evento outro = eventoService.createEvento(buildEventoDto("Outro Evento"), loadSampleImage(1), organizador.getEmail());
+
+        assertEquals(eventoModel.getImagemPath(), outro.getImagemPath());
+        assertTrue(outro.getImagemPath().matches("([0-9a-f]{2})/([0-9a-f]{2})/\\1\\2[0-9a-f]{60}\\.png"));
+        String hash = outro.getImagemPath().substring(6, 70);
+        assertEquals(2, imagemBlobRepository.findReferencias(hash).orElseThrow());
+
+        // reenviar a mesma imagem nao pode apagar o arquivo
+        eventoService.updateEventoImagem(outro.getId(), loadSampleImage(1));
+        assertEquals(2, imagemBlobRepository.findReferencias(hash).orElseThrow());
+
+        Path arquivo = Path.of("uploads-test").resolve(outro.getImagemPath());
+        eventoService.deleteEvento(eventoModel.getId());
+        assertTrue(Files.exists(arquivo));
+        eventoService.deleteEvento(outro.getId());
+        assertFalse(Files.exists(arquivo));
+        assertFalse(imagemBlobRepository.existsById(hash));
+    }
+
     @Test
     void deleteEventoTest() {
         assertDoesNotThrow(() ->
@@ -170,7 +522,11 @@ class EventoServiceTest {
     void getEventoImagemTest() throws IOException {
         MockMultipartFile imagemOriginal = loadSampleImage(1);
 
-        byte[] bytesRetornados = eventoService.getEventoImagem(eventoModel.getId());
+        Resource imagem = eventoService.getEventoImagem(eventoModel.getId());
+        assertTrue(imagem.exists());
+        assertEquals(Path.of(eventoModel.getImagemPath()).getFileName().toString(), imagem.getFilename());
+        assertEquals(imagemOriginal.getSize(), imagem.contentLength());
+        byte[] bytesRetornados = imagem.getContentAsByteArray();
 
         assertNotNull(bytesRetornados);
         assertTrue(bytesRetornados.length > 0);
@@ -180,6 +536,25 @@ class EventoServiceTest {
         assertArrayEquals(bytesOriginais, bytesRetornados);
     }
 
+    @Test
+    void getEventoImagemVarianteTest() throws Exception {
+        String original = eventoModel.getImagemPath();
+
+        // enquanto a miniatura nao fica pronta, vem o original
+        Resource imagem = eventoService.getEventoImagem(eventoModel.getId(), VariantesImagem.Variante.THUMB);
+        for (int i = 0; i < 100 && original.endsWith("/" + imagem.getFilename()); i++) {
+            Thread.sleep(50);
+            imagem = eventoService.getEventoImagem(eventoModel.getId(), VariantesImagem.Variante.THUMB);
+        }
+
+        Path thumb = Path.of("uploads-test").resolve(VariantesImagem.nomeVariante(original, VariantesImagem.Variante.THUMB));
+        assertEquals(thumb.getFileName().toString(), imagem.getFilename());
+        assertTrue(imagem.contentLength() > 0);
+
+        eventoService.deleteEvento(eventoModel.getId());
+        assertFalse(Files.exists(thumb));
+    }
+
     @Test
     void getEventoImagemNaoExisteTest() throws IOException {
         EventoCreateDto dto = buildEventoDto("Sem Imagem");
@@ -197,6 +572,23 @@ class EventoServiceTest {
         Participante participante = eventoService.addParticipante(eventoModel.getId(), dto, organizador.getEmail());
 
         assertNotNull(participante.getId());
+        List<ConviteOutbox> convites = conviteOutboxRepository.findAll();
+        assertEquals(1, convites.size());
+        assertEquals("participante@test.com", convites.get(0).getEmail());
+        assertEquals(eventoModel.getNome(), convites.get(0).getEventoNome());
+        assertEquals(SituacaoConvite.PENDENTE, convites.get(0).getSituacao());
+    }
+
+    @Test
+    void addParticipanteOrcamentoSqlTest() {
+        eventoService.addParticipante(eventoModel.getId(), buildParticipante("Primeiro", "primeiro@test.com"),
+                organizador.getEmail());
+
+        // modelo de leitura, vaga condicional, participante e convite (cada insert + last_insert_rowid)
+        assertComandosSql(6, () -> eventoService.addParticipante(eventoModel.getId(),
+                buildParticipante("Segundo", "segundo@test.com"), organizador.getEmail()));
+        assertComandosSql(2, () -> eventoService.listParticipantes(eventoModel.getId(), null, 10, organizador.getEmail()));
+        assertComandosSql(0, () -> eventoService.getEventoResponseById(eventoModel.getId()));
     }
 
     @Test
@@ -210,6 +602,21 @@ class EventoServiceTest {
         );
     }
 
+    @Test
+    void addParticipanteDuplicadoForaDoFiltroTest() {
+        eventoService.addParticipante(eventoModel.getId(), buildParticipante("P1", "p1@test.com"), organizador.getEmail());
+
+        // gravado sem passar pelo servico: o filtro do evento nao conhece este email
+        Participante direto = new Participante();
+        direto.setNome("Direto");
+        direto.setEmail("direto@test.com");
+        direto.setEvento(eventoModel);
+        participanteRepository.save(direto);
+
+        assertThrows(IllegalArgumentException.class, () -> eventoService.addParticipante(eventoModel.getId(),
+                buildParticipante("Direto", "direto@test.com"), organizador.getEmail()));
+    }
+
     @Test
     void addParticipanteOrganizadorInvalidoTest() {
         Usuario outroUsuario = buildUsuario("Outro", "outro@test.com");
@@ -232,6 +639,132 @@ class EventoServiceTest {
         );
     }
 
+    @Test
+    void contadorDeParticipantesTest() {
+        EventoResponseDto antes = eventoService.getEventoResponseById(eventoModel.getId());
+        assertEquals(0, antes.getTotalParticipantes());
+
+        Participante p1 = eventoService.addParticipante(eventoModel.getId(),
+                buildParticipante("P1", "p1@test.com"), organizador.getEmail());
+        eventoService.addParticipante(eventoModel.getId(), buildParticipante("P2", "p2@test.com"), organizador.getEmail());
+
+        EventoResponseDto depois = eventoService.getEventoResponseById(eventoModel.getId());
+        assertEquals(2, depois.getTotalParticipantes());
+        assertTrue(depois.getVersao() > antes.getVersao());
+
+        eventoService.removeParticipante(eventoModel.getId(), p1.getId(), organizador.getEmail());
+        assertEquals(1, eventoService.getEventoResponseById(eventoModel.getId()).getTotalParticipantes());
+
+        // editar o evento nao pode sobrescrever o contador
+        EventoUpdateDto dto = new EventoUpdateDto();
+        dto.setNome("Renomeado");
+        eventoService.updateEvento(eventoModel.getId(), dto);
+        assertEquals(1, eventoService.getEventoResponseById(eventoModel.getId()).getTotalParticipantes());
+    }
+
+    @Test
+    void listParticipantesPaginadoTest() {
+        for (int i = 1; i <= 5; i++) {
+            eventoService.addParticipante(eventoModel.getId(),
+                    buildParticipante("P" + i, "p" + i + "@test.com"), organizador.getEmail());
+        }
+
+        PaginaDto<ParticipanteResponseDto> primeira =
+                eventoService.listParticipantes(eventoModel.getId(), null, 3, organizador.getEmail());
+        PaginaDto<ParticipanteResponseDto> segunda = eventoService.listParticipantes(
+                eventoModel.getId(), primeira.getProximoCursor(), 3, organizador.getEmail());
+
+        assertEquals(List.of("p1@test.com", "p2@test.com", "p3@test.com"),
+                primeira.getItens().stream().map(ParticipanteResponseDto::getEmail).toList());
+        assertEquals(List.of("p4@test.com", "p5@test.com"),
+                segunda.getItens().stream().map(ParticipanteResponseDto::getEmail).toList());
+        assertNull(segunda.getProximoCursor());
+    }
+
+    @Test
+    void listParticipantesSemPermissaoTest() {
+        Usuario outro = buildUsuario("Outro", "outro@test.com");
+        usuarioRepository.save(outro);
+
+        assertThrows(SecurityException.class, () ->
+                eventoService.listParticipantes(eventoModel.getId(), null, null, outro.getEmail()));
+        assertThrows(IllegalArgumentException.class, () ->
+                eventoService.listParticipantes(eventoModel.getId(), "@@", null, organizador.getEmail()));
+    }
+
+    @Test
+    void reservarVagaComListaDeEsperaTest() throws IOException {
+        EventoCreateDto dto = buildEventoDto("Show Lotado");
+        dto.setCapacidade(2);
+        Evento show = eventoService.createEvento(dto, null, organizador.getEmail());
+        for (String nome : List.of("A", "B", "C", "D", "F")) {
+            usuarioRepository.save(buildUsuario(nome, nome.toLowerCase() + "@test.com"));
+        }
+
+        ReservaDto r1 = eventoService.reservarVaga(show.getId(), "a@test.com");
+        ReservaDto r2 = eventoService.reservarVaga(show.getId(), "b@test.com");
+        ReservaDto r3 = eventoService.reservarVaga(show.getId(), "c@test.com");
+        ReservaDto r4 = eventoService.reservarVaga(show.getId(), "d@test.com");
+
+        assertEquals(ReservaDto.CONFIRMADA, r1.getSituacao());
+        assertEquals(ReservaDto.CONFIRMADA, r2.getSituacao());
+        assertEquals(new ReservaDto(ReservaDto.LISTA_ESPERA, null, 1L), r3);
+        assertEquals(new ReservaDto(ReservaDto.LISTA_ESPERA, null, 2L), r4);
+        assertEquals(2, eventoService.getEventoResponseById(show.getId()).getTotalParticipantes());
+
+        assertThrows(IllegalArgumentException.class, () ->
+                eventoService.reservarVaga(show.getId(), "c@test.com"));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.addParticipante(show.getId(),
+                buildParticipante("E", "e@test.com"), organizador.getEmail()));
+
+        // a vaga liberada vai para o primeiro da lista de espera
+        eventoService.removeParticipante(show.getId(), r1.getParticipanteId(), organizador.getEmail());
+
+        assertEquals(2, eventoService.getEventoResponseById(show.getId()).getTotalParticipantes());
+        assertEquals(List.of("b@test.com", "c@test.com"), emails(show));
+
+        // aumentar a capacidade promove o restante da fila
+        EventoUpdateDto update = new EventoUpdateDto();
+        update.setCapacidade(5);
+        Evento ampliado = eventoService.updateEvento(show.getId(), update);
+
+        EventoResponseDto noBanco = eventoService.getEventoResponseById(show.getId());
+        assertEquals(3, noBanco.getTotalParticipantes());
+        assertEquals(3, ampliado.getTotalParticipantes());
+        assertEquals(noBanco.getVersao(), ampliado.getVersao());
+        assertEquals(List.of("b@test.com", "c@test.com", "d@test.com"), emails(show));
+        assertEquals(ReservaDto.CONFIRMADA,
+                eventoService.reservarVaga(show.getId(), "f@test.com").getSituacao());
+    }
+
+    @Test
+    void reservarVagaEventoCanceladoTest() {
+        EventoUpdateDto update = new EventoUpdateDto();
+        update.setStatus(StatusEvento.CANCELADO);
+        eventoService.updateEvento(eventoModel.getId(), update);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                eventoService.reservarVaga(eventoModel.getId(), "a@test.com"));
+    }
+
+    @Test
+    void reservarVagaUsaAContaDoUsuarioTest() {
+        usuarioRepository.save(buildUsuario("Ana Souza", "ana@test.com"));
+
+        ReservaDto reserva = eventoService.reservarVaga(eventoModel.getId(), "ana@test.com");
+
+        Participante participante = participanteRepository.findById(reserva.getParticipanteId()).orElseThrow();
+        assertEquals("Ana Souza", participante.getNome());
+        assertEquals("ana@test.com", participante.getEmail());
+        assertThrows(EntityNotFoundException.class, () ->
+                eventoService.reservarVaga(eventoModel.getId(), "sem-conta@test.com"));
+    }
+
+    private List<String> emails(Evento evento) {
+        return eventoService.listParticipantes(evento.getId(), null, null, organizador.getEmail()).getItens().stream()
+                .map(ParticipanteResponseDto::getEmail).toList();
+    }
+
     @Test
     void removeParticipanteOrganizadorInvalidoTest() {
         Usuario outro = buildUsuario("Outro", "outro@test.com");
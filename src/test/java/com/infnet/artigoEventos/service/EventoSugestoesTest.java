@@ -0,0 +1,93 @@
+package com.infnet.artigoEventos.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventoSugestoesTest {
+
+    @Test
+    void sugerePorInicioDeQualquerPalavraSemAcentoTest() {
+        EventoSugestoes sugestoes = new EventoSugestoes();
+        sugestoes.indexar(1, "Show de Rock", "São Paulo");
+        sugestoes.indexar(2, "Semana de Tecnologia", "Rio de Janeiro");
+
+        assertEquals(List.of("Show de Rock"), sugestoes.sugerir("roc", 10));
+        assertEquals(List.of("São Paulo"), sugestoes.sugerir("SAO", 10));
+        assertEquals(List.of("Rio de Janeiro"), sugestoes.sugerir("jan", 10));
+        assertEquals(3, sugestoes.sugerir("s", 10).size());
+        assertEquals(2, sugestoes.sugerir("s", 2).size());
+        assertTrue(sugestoes.sugerir("  ", 10).isEmpty());
+    }
+
+    @Test
+    void termosCompartilhadosSaoContadosPorEventoTest() {
+        EventoSugestoes sugestoes = new EventoSugestoes();
+        sugestoes.indexar(1, "Feira", "Recife");
+        sugestoes.indexar(2, "Congresso", "Recife");
+        sugestoes.indexar(3, "Regata", "Rio");
+
+        assertEquals("Recife", sugestoes.sugerir("re", 10).get(0));
+
+        sugestoes.remover(1);
+        assertTrue(sugestoes.sugerir("re", 10).contains("Recife"));
+
+        sugestoes.remover(2);
+        assertEquals(List.of("Regata"), sugestoes.sugerir("re", 10));
+    }
+
+    @Test
+    void reindexarSubstituiTermosAntigosTest() {
+        EventoSugestoes sugestoes = new EventoSugestoes();
+        sugestoes.indexar(1, "Palestra", "Auditorio");
+        sugestoes.indexar(1, "Workshop", "Auditorio");
+
+        assertTrue(sugestoes.sugerir("pal", 10).isEmpty());
+        assertEquals(List.of("Workshop"), sugestoes.sugerir("work", 10));
+        assertEquals(List.of("Auditorio"), sugestoes.sugerir("aud", 10));
+    }
+
+    @Test
+    void termoPopularVemPrimeiroMesmoEntreMuitosTermosTest() {
+        EventoSugestoes sugestoes = new EventoSugestoes();
+        for (int i = 1; i <= 600; i++) {
+            sugestoes.indexar(i, String.format("Aula %03d", i), null);
+        }
+        for (int i = 1001; i <= 1003; i++) {
+            sugestoes.indexar(i, "Azulejaria", null);
+        }
+
+        assertEquals(List.of("Azulejaria"), sugestoes.sugerir("a", 1));
+        assertEquals(List.of("Azulejaria", "Aula 001"), sugestoes.sugerir("a", 2));
+    }
+
+    @Test
+    void listaCheiaRecalculadaQuandoTermoDesceOuSaiTest() {
+        EventoSugestoes sugestoes = new EventoSugestoes();
+        for (int i = 1; i <= 120; i++) {
+            sugestoes.indexar(i, String.format("Tema %03d", i), null);
+        }
+        for (int i = 201; i <= 205; i++) {
+            sugestoes.indexar(i, "Torneio", null);
+        }
+        for (int i = 301; i <= 303; i++) {
+            sugestoes.indexar(i, "Trilha", null);
+        }
+        assertEquals(List.of("Torneio", "Trilha"), sugestoes.sugerir("t", 2));
+
+        for (int i = 201; i <= 204; i++) {
+            sugestoes.remover(i);
+        }
+        assertEquals(List.of("Trilha", "Tema 001"), sugestoes.sugerir("t", 2));
+
+        for (int i = 301; i <= 303; i++) {
+            sugestoes.remover(i);
+        }
+        List<String> todas = sugestoes.sugerir("t", 100);
+        assertEquals(100, todas.size());
+        assertEquals("Tema 100", todas.get(99));
+        assertTrue(sugestoes.sugerir("tri", 10).isEmpty());
+    }
+}
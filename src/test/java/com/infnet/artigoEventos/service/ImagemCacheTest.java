@@ -0,0 +1,118 @@
+package com.infnet.artigoEventos.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImagemCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ImagemCache cache;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ImagemCache(1000, 400, meterRegistry);
+    }
+
+    private Path arquivo(String nome, int tamanho) throws IOException {
+        byte[] bytes = new byte[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            bytes[i] = (byte) (i * 31 + nome.length());
+        }
+        return Files.write(dir.resolve(nome), bytes);
+    }
+
+    @Test
+    void segundaLeituraVemDaMemoriaTest() throws IOException {
+        Path arquivo = arquivo("a.png", 300);
+
+        Resource primeira = cache.obter(arquivo);
+        Files.delete(arquivo);
+        Resource segunda = cache.obter(arquivo);
+
+        assertSame(primeira, segunda);
+        assertFalse(segunda.isFile());
+        assertEquals(300, segunda.contentLength());
+        assertEquals("a.png", segunda.getFilename());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "imagens").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(300.0, meterRegistry.get("imagens.cache.bytes").gauge().value());
+    }
+
+    @Test
+    void leiturasSimultaneasEPorTrechoTest() throws IOException {
+        Path arquivo = arquivo("b.png", 350);
+        byte[] esperado = Files.readAllBytes(arquivo);
+        Resource imagem = cache.obter(arquivo);
+
+        try (InputStream inteira = imagem.getInputStream(); InputStream trecho = imagem.getInputStream()) {
+            assertEquals(100, trecho.skip(100));
+            assertArrayEquals(Arrays.copyOfRange(esperado, 100, 150), trecho.readNBytes(50));
+            assertArrayEquals(esperado, inteira.readAllBytes());
+            assertEquals(esperado[150] & 0xFF, trecho.read());
+            assertEquals(199, trecho.skip(1000));
+            assertEquals(-1, trecho.read());
+        }
+    }
+
+    @Test
+    void arquivoGrandeContinuaNoDiscoTest() throws IOException {
+        Path grande = arquivo("grande.png", 401);
+
+        Resource imagem = cache.obter(grande);
+
+        assertInstanceOf(FileSystemResource.class, imagem);
+        assertFalse(cache.contem(grande));
+    }
+
+    @Test
+    void orcamentoLimitaOTotalEmMemoriaTest() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            Path arquivo = arquivo("img" + i + ".png", 300);
+            assertArrayEquals(Files.readAllBytes(arquivo), cache.obter(arquivo).getContentAsByteArray());
+        }
+        cache.limpar();
+
+        assertTrue(cache.getBytes() <= 1000);
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", "imagens").functionCounter().count() > 0);
+    }
+
+    @Test
+    void invalidarImagemTiraOriginalEVariantesTest() throws IOException {
+        String original = "ab/cd/imagem.png";
+        Files.createDirectories(dir.resolve("ab/cd"));
+        Path arquivo = arquivo(original, 100);
+        Path thumb = arquivo(VariantesImagem.nomeVariante(original, VariantesImagem.Variante.THUMB), 50);
+        Resource antes = cache.obter(arquivo);
+        cache.obter(thumb);
+
+        cache.invalidarImagem(dir, original);
+
+        assertFalse(cache.contem(arquivo));
+        assertFalse(cache.contem(thumb));
+        assertNotSame(antes, cache.obter(arquivo));
+    }
+
+    @Test
+    void arquivoInexistenteVoltaComoArquivoTest() {
+        Resource imagem = cache.obter(dir.resolve("sumiu.png"));
+
+        assertFalse(imagem.exists());
+        assertEquals(0.0, meterRegistry.get("imagens.cache.bytes").gauge().value());
+    }
+}
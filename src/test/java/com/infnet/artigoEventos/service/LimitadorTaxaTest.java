@@ -0,0 +1,102 @@
+package com.infnet.artigoEventos.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitadorTaxaTest {
+
+    private final AtomicLong agora = new AtomicLong(1_000_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private LimitadorTaxa limitador;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        limitador = new LimitadorTaxa(Duration.ofMinutes(10), 3, meterRegistry);
+        ReflectionTestUtils.setField(limitador, "loginCapacidade", 3);
+        ReflectionTestUtils.setField(limitador, "loginReposicao", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(limitador, "uploadCapacidade", 50);
+        ReflectionTestUtils.setField(limitador, "uploadReposicao", Duration.ofSeconds(1));
+        limitador.setRelogio(agora::get);
+    }
+
+    @Test
+    void rajadaAteACapacidadeTest() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Duration.ZERO, limitador.consumir(LimitadorTaxa.Grupo.LOGIN, "10.0.0.1"));
+        }
+
+        Duration espera = limitador.consumir(LimitadorTaxa.Grupo.LOGIN, "10.0.0.1");
+
+        assertEquals(Duration.ofSeconds(10), espera);
+        assertEquals(Duration.ZERO, limitador.consumir(LimitadorTaxa.Grupo.LOGIN, "10.0.0.2"));
+        assertEquals(1.0, meterRegistry.counter("limite.rejeicoes", "grupo", "login").count());
+    }
+
+    @Test
+    void fichasVoltamComOTempoTest() {
+        for (int i = 0; i < 3; i++) {
+            limitador.consumir(LimitadorTaxa.Grupo.LOGIN, "10.0.0.1");
+        }
+
+        agora.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals(Duration.ofSeconds(6), limitador.consumir(LimitadorTaxa.Grupo.LOGIN, "10.0.0.1"));
+
+        agora.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertEquals(Duration.ZERO, limitador.consumir(LimitadorTaxa.Grupo.LOGIN, "10.0.0.1"));
+        assertFalse(limitador.consumir(LimitadorTaxa.Grupo.LOGIN, "10.0.0.1").isZero());
+
+        // ocioso por muito tempo o balde volta cheio, sem acumular alem da capacidade
+        agora.addAndGet(Duration.ofHours(1).toNanos());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Duration.ZERO, limitador.consumir(LimitadorTaxa.Grupo.LOGIN, "10.0.0.1"));
+        }
+        assertFalse(limitador.consumir(LimitadorTaxa.Grupo.LOGIN, "10.0.0.1").isZero());
+    }
+
+    @Test
+    void concorrenciaNaoPassaDaCapacidadeTest() throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<Duration>> tentativas = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tentativas.add(pool.submit(() -> {
+                largada.await();
+                return limitador.consumir(LimitadorTaxa.Grupo.UPLOAD, "10.0.0.1");
+            }));
+        }
+        largada.countDown();
+
+        int aceitas = 0;
+        for (Future<Duration> tentativa : tentativas) {
+            if (tentativa.get().isZero()) {
+                aceitas++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(50, aceitas);
+    }
+
+    @Test
+    void memoriaLimitadaTest() {
+        for (int i = 0; i < 100; i++) {
+            limitador.consumir(LimitadorTaxa.Grupo.LOGIN, "10.0.0." + i);
+        }
+
+        assertTrue(limitador.chaves() <= 3);
+    }
+}
@@ -0,0 +1,184 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.dto.EventoCreateDto;
+import com.infnet.artigoEventos.dto.MigracaoUploadsDto;
+import com.infnet.artigoEventos.model.Evento;
+import com.infnet.artigoEventos.model.ImagemBlob;
+import com.infnet.artigoEventos.model.Usuario;
+import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ImagemBlobRepository;
+import com.infnet.artigoEventos.repository.ParticipanteRepository;
+import com.infnet.artigoEventos.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MigracaoUploadsTest {
+
+    private static final Path UPLOADS = Path.of("uploads-test");
+
+    @Autowired
+    private MigracaoUploads migracaoUploads;
+    @Autowired
+    private EventoService eventoService;
+    @Autowired
+    private EventoRepository eventoRepository;
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private ImagemBlobRepository imagemBlobRepository;
+    @Autowired
+    private EventoCache eventoCache;
+
+    private Usuario organizador;
+
+    @BeforeEach
+    void setup() {
+        participanteRepository.deleteAll();
+        eventoRepository.deleteAll();
+        imagemBlobRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        eventoCache.invalidarTodos();
+
+        organizador = new Usuario();
+        organizador.setNome("Organizador");
+        organizador.setEmail("organizador@test.com");
+        organizador.setSenha("123456");
+        usuarioRepository.save(organizador);
+    }
+
+    private Evento evento(String imagemPath) throws IOException {
+        EventoCreateDto dto = new EventoCreateDto();
+        dto.setNome("Evento " + UUID.randomUUID());
+        dto.setLocalEvento("Local");
+        dto.setDataEvento(LocalDate.now().atStartOfDay());
+        Evento evento = eventoService.createEvento(dto, null, organizador.getEmail());
+        evento.setImagemPath(imagemPath);
+        return eventoRepository.save(evento);
+    }
+
+    private String antigo(String conteudo) throws IOException {
+        String nome = UUID.randomUUID() + "_foto.png";
+        Files.writeString(UPLOADS.resolve(nome), conteudo);
+        return nome;
+    }
+
+    private String imagemPath(Evento evento) {
+        return eventoRepository.findById(evento.getId()).orElseThrow().getImagemPath();
+    }
+
+    private MigracaoUploadsDto migrarTudo() {
+        MigracaoUploadsDto ultimo;
+        int lotes = 0;
+        do {
+            ultimo = migracaoUploads.migrarLote();
+        } while (!ultimo.isConcluida() && ++lotes < 20);
+        return ultimo;
+    }
+
+    @Test
+    void moveArquivosAntigosParaOLayoutEJuntaRepetidosTest() throws IOException {
+        String conteudo = "banner " + UUID.randomUUID();
+        String copiaA = antigo(conteudo);
+        String copiaB = antigo(conteudo);
+        String unico = antigo("unico " + UUID.randomUUID());
+        Evento a1 = evento(copiaA);
+        Evento a2 = evento(copiaA);
+        Evento b = evento(copiaB);
+        Evento u = evento(unico);
+
+        assertTrue(migrarTudo().isConcluida());
+
+        String hash = ArmazenamentoImagens.hashDoArquivo(UPLOADS.resolve(imagemPath(a1)));
+        String destino = ArmazenamentoImagens.caminho(hash, ".png");
+        assertEquals(destino, imagemPath(a1));
+        assertEquals(destino, imagemPath(a2));
+        assertEquals(destino, imagemPath(b));
+        assertEquals(3, imagemBlobRepository.findReferencias(hash).orElseThrow());
+        assertEquals(conteudo, Files.readString(UPLOADS.resolve(destino)));
+
+        assertTrue(ArmazenamentoImagens.noLayout(imagemPath(u)));
+        assertEquals(1, imagemBlobRepository.findReferencias(ArmazenamentoImagens.hashDe(imagemPath(u))).orElseThrow());
+
+        assertFalse(Files.exists(UPLOADS.resolve(copiaA)));
+        assertFalse(Files.exists(UPLOADS.resolve(copiaB)));
+        assertFalse(Files.exists(UPLOADS.resolve(unico)));
+        assertTrue(eventoRepository.findImagensForaDoLayout("", 10).isEmpty());
+
+        // a contagem vale para a liberacao: o arquivo so sai com o ultimo evento
+        eventoService.deleteEvento(a1.getId());
+        eventoService.deleteEvento(a2.getId());
+        assertTrue(Files.exists(UPLOADS.resolve(destino)));
+        eventoService.deleteEvento(b.getId());
+        assertFalse(Files.exists(UPLOADS.resolve(destino)));
+    }
+
+    @Test
+    void blobSoltoNaRaizMantemAContagemTest() throws IOException {
+        String conteudo = "blob " + UUID.randomUUID();
+        Path temporario = Files.writeString(Files.createTempFile("blob", ".png"), conteudo);
+        String hash = ArmazenamentoImagens.hashDoArquivo(temporario);
+        Files.delete(temporario);
+        String solto = hash + ".jpg";
+        Files.writeString(UPLOADS.resolve(solto), conteudo);
+        ImagemBlob blob = new ImagemBlob();
+        blob.setHash(hash);
+        blob.setArquivo(solto);
+        blob.setTamanho((long) conteudo.length());
+        blob.setReferencias(2);
+        imagemBlobRepository.save(blob);
+        Evento e1 = evento(solto);
+        Evento e2 = evento(solto);
+
+        migrarTudo();
+
+        assertEquals(ArmazenamentoImagens.caminho(hash, ".jpg"), imagemPath(e1));
+        assertEquals(imagemPath(e1), imagemPath(e2));
+        assertEquals(2, imagemBlobRepository.findReferencias(hash).orElseThrow());
+        assertEquals(imagemPath(e1), imagemBlobRepository.findArquivo(hash).orElseThrow());
+        assertFalse(Files.exists(UPLOADS.resolve(solto)));
+    }
+
+    @Test
+    void leituraEmCacheVeOCaminhoNovoTest() throws IOException {
+        String conteudo = "cache " + UUID.randomUUID();
+        Evento evento = evento(antigo(conteudo));
+        // deixa a resposta do evento no cache com o caminho antigo
+        assertEquals(conteudo, eventoService.getEventoImagem(evento.getId()).getContentAsString(StandardCharsets.UTF_8));
+
+        migrarTudo();
+
+        Resource imagem = eventoService.getEventoImagem(evento.getId());
+        assertEquals(conteudo, imagem.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(Path.of(imagemPath(evento)).getFileName().toString(), imagem.getFilename());
+    }
+
+    @Test
+    void arquivoAusenteNaoTravaAMigracaoTest() throws IOException {
+        Evento sumido = evento(UUID.randomUUID() + "_sumiu.png");
+        Evento presente = evento(antigo("presente " + UUID.randomUUID()));
+
+        MigracaoUploadsDto resultado = migracaoUploads.migrarLote();
+        assertEquals(1, resultado.getMovidos());
+
+        assertTrue(migrarTudo().isConcluida());
+        assertFalse(ArmazenamentoImagens.noLayout(imagemPath(sumido)));
+        assertTrue(ArmazenamentoImagens.noLayout(imagemPath(presente)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.repository.ParticipanteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ParticipanteBloomTest {
+
+    @Test
+    void filtroSemFalsosNegativosENaTaxaPlanejadaTest() {
+        ParticipanteBloom.Filtro filtro = new ParticipanteBloom.Filtro(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("convidado" + i + "@test.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.talvezContenha("convidado" + i + "@test.com"));
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.talvezContenha("outro" + i + "@test.com")) {
+                falsosPositivos++;
+            }
+        }
+        assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    void negativoDefinitivoNaoConsultaOBancoTest() {
+        ParticipanteRepository repository = Mockito.mock(ParticipanteRepository.class);
+        when(repository.findEmailsByEventoId(1)).thenReturn(Set.of("ana@test.com"));
+        when(repository.existsByEmailAndEventoId("ana@test.com", 1)).thenReturn(true);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ParticipanteBloom bloom = new ParticipanteBloom(repository, 1 << 20, Duration.ofMinutes(1), registry);
+
+        assertTrue(bloom.jaConvidado(1, "ana@test.com"));
+        assertFalse(bloom.jaConvidado(1, "bruno@test.com"));
+        bloom.adicionar(1, "bruno@test.com");
+        when(repository.existsByEmailAndEventoId("bruno@test.com", 1)).thenReturn(true);
+        assertTrue(bloom.jaConvidado(1, "bruno@test.com"));
+
+        verify(repository, times(1)).findEmailsByEventoId(1);
+        // bruno so vai ao banco depois de adicionado ao filtro
+        verify(repository, times(1)).existsByEmailAndEventoId("bruno@test.com", 1);
+        verify(repository, times(2)).existsByEmailAndEventoId(anyString(), anyInt());
+
+        assertEquals(1.0, registry.get("participantes.bloom.consultas").tag("resultado", "negativo").counter().count());
+        assertTrue(registry.get("participantes.bloom.memoria").gauge().value() > 0);
+    }
+}
@@ -0,0 +1,162 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.dto.EventoUpdateDto;
+import com.infnet.artigoEventos.dto.ImportacaoLinhaDto;
+import com.infnet.artigoEventos.dto.ImportacaoParticipantesDto;
+import com.infnet.artigoEventos.model.Evento;
+import com.infnet.artigoEventos.model.Participante;
+import com.infnet.artigoEventos.model.SituacaoConvite;
+import com.infnet.artigoEventos.model.StatusEvento;
+import com.infnet.artigoEventos.model.Usuario;
+import com.infnet.artigoEventos.repository.ConviteOutboxRepository;
+import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ParticipanteRepository;
+import com.infnet.artigoEventos.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ParticipanteImportServiceTest {
+
+    @Autowired
+    private ParticipanteImportService participanteImportService;
+    @Autowired
+    private EventoService eventoService;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private EventoRepository eventoRepository;
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+    @Autowired
+    private EventoCache eventoCache;
+    @Autowired
+    private ConviteOutboxRepository conviteOutboxRepository;
+
+    private Usuario organizador;
+    private Evento evento;
+
+    @BeforeEach
+    void setup() {
+        participanteRepository.deleteAll();
+        conviteOutboxRepository.deleteAll();
+        eventoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        eventoCache.invalidarTodos();
+
+        organizador = usuario("Organizador", "import@test.com");
+
+        evento = new Evento();
+        evento.setNome("Evento Import");
+        evento.setLocalEvento("Local");
+        evento.setDataEvento(LocalDateTime.of(2030, 1, 1, 10, 0));
+        evento.setStatus(StatusEvento.ATIVO);
+        evento.setOrganizador(organizador);
+        eventoRepository.save(evento);
+
+        Participante existente = new Participante();
+        existente.setNome("Ja Convidado");
+        existente.setEmail("ja@test.com");
+        existente.setEvento(evento);
+        participanteRepository.save(existente);
+    }
+
+    private Usuario usuario(String nome, String email) {
+        Usuario usuario = new Usuario();
+        usuario.setNome(nome);
+        usuario.setEmail(email);
+        usuario.setSenha("hash");
+        return usuarioRepository.save(usuario);
+    }
+
+    private InputStream csv(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importarRelatorioPorLinhaTest() throws IOException {
+        String conteudo = "email,nome\n"
+                + "ana@test.com,Ana\n"
+                + "ja@test.com,Ja Convidado\n"
+                + "\n"
+                + "invalido,Sem Email\n"
+                + "bruno@test.com,\"Souza, Bruno\"\n"
+                + "ana@test.com,Ana de novo\n";
+
+        ImportacaoParticipantesDto resumo = participanteImportService.importar(
+                evento.getId(), csv(conteudo), organizador.getEmail());
+
+        assertEquals(5, resumo.getLinhas());
+        assertEquals(2, resumo.getInseridos());
+        assertEquals(2, resumo.getDuplicados());
+        assertEquals(1, resumo.getInvalidos());
+        assertEquals(List.of(
+                        ImportacaoLinhaDto.INSERIDO, ImportacaoLinhaDto.DUPLICADO, ImportacaoLinhaDto.INVALIDO,
+                        ImportacaoLinhaDto.INSERIDO, ImportacaoLinhaDto.DUPLICADO),
+                resumo.getResultados().stream().map(ImportacaoLinhaDto::getSituacao).toList());
+        assertEquals(5, resumo.getResultados().get(2).getLinha());
+        assertEquals("Email deve ser válido", resumo.getResultados().get(2).getMensagem());
+
+        assertEquals(3, participanteRepository.count());
+        assertEquals(2, conviteOutboxRepository.countBySituacao(SituacaoConvite.PENDENTE));
+        assertEquals(2, eventoRepository.findResponseById(evento.getId()).orElseThrow().getTotalParticipantes());
+        assertTrue(participanteRepository.findEmailsByEventoId(evento.getId()).contains("bruno@test.com"));
+    }
+
+    @Test
+    void importarEmVariosLotesTest() throws IOException {
+        StringBuilder conteudo = new StringBuilder("nome,email\n");
+        for (int i = 0; i < 2500; i++) {
+            conteudo.append("Convidado ").append(i).append(",convidado").append(i).append("@test.com\n");
+        }
+
+        ImportacaoParticipantesDto resumo = participanteImportService.importar(
+                evento.getId(), csv(conteudo.toString()), organizador.getEmail());
+
+        assertEquals(2500, resumo.getInseridos());
+        assertEquals(2501, participanteRepository.count());
+    }
+
+    @Test
+    void importarRespeitaCapacidadeTest() throws IOException {
+        EventoUpdateDto update = new EventoUpdateDto();
+        update.setCapacidade(1);
+        eventoService.updateEvento(evento.getId(), update);
+
+        ImportacaoParticipantesDto resumo = participanteImportService.importar(evento.getId(),
+                csv("nome,email\nAna,ana@test.com\nBia,bia@test.com\n"), organizador.getEmail());
+
+        assertEquals(1, resumo.getInseridos());
+        assertEquals(ImportacaoLinhaDto.INVALIDO, resumo.getResultados().get(1).getSituacao());
+    }
+
+    @Test
+    void importarSemPermissaoTest() {
+        Usuario outro = usuario("Outro", "outro@test.com");
+
+        assertThrows(SecurityException.class, () -> participanteImportService.importar(
+                evento.getId(), csv("nome,email\nAna,ana@test.com\n"), outro.getEmail()));
+        assertEquals(1, participanteRepository.count());
+    }
+
+    @Test
+    void importarCabecalhoInvalidoTest() {
+        assertThrows(IllegalArgumentException.class, () -> participanteImportService.importar(
+                evento.getId(), csv("nome;email\nAna;ana@test.com\n"), organizador.getEmail()));
+        assertThrows(IllegalArgumentException.class, () -> participanteImportService.importar(
+                evento.getId(), csv(""), organizador.getEmail()));
+    }
+}
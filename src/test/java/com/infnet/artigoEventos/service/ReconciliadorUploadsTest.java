@@ -0,0 +1,146 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.dto.EventoCreateDto;
+import com.infnet.artigoEventos.dto.ReconciliacaoUploadsDto;
+import com.infnet.artigoEventos.model.Evento;
+import com.infnet.artigoEventos.model.ImagemBlob;
+import com.infnet.artigoEventos.model.Usuario;
+import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ImagemBlobRepository;
+import com.infnet.artigoEventos.repository.ParticipanteRepository;
+import com.infnet.artigoEventos.repository.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReconciliadorUploadsTest {
+
+    private static final Path UPLOADS = Path.of("uploads-test");
+
+    @Autowired
+    private ReconciliadorUploads reconciliadorUploads;
+    @Autowired
+    private EventoService eventoService;
+    @Autowired
+    private EventoRepository eventoRepository;
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private ImagemBlobRepository imagemBlobRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Usuario organizador;
+
+    @BeforeEach
+    void setup() {
+        participanteRepository.deleteAll();
+        eventoRepository.deleteAll();
+        imagemBlobRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        organizador = new Usuario();
+        organizador.setNome("Organizador");
+        organizador.setEmail("organizador@test.com");
+        organizador.setSenha("123456");
+        usuarioRepository.save(organizador);
+    }
+
+    private void evento(String imagemPath) throws IOException {
+        EventoCreateDto dto = new EventoCreateDto();
+        dto.setNome("Evento " + UUID.randomUUID());
+        dto.setLocalEvento("Local");
+        dto.setDataEvento(LocalDate.now().atStartOfDay());
+        Evento evento = eventoService.createEvento(dto, null, organizador.getEmail());
+        evento.setImagemPath(imagemPath);
+        eventoRepository.save(evento);
+    }
+
+    // arquivo com data de duas horas atras, fora da carencia padrao (1h)
+    private String arquivo(String caminho, String conteudo) throws IOException {
+        Path arquivo = UPLOADS.resolve(caminho);
+        Files.createDirectories(arquivo.getParent());
+        Files.writeString(arquivo, conteudo);
+        Files.setLastModifiedTime(arquivo, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        return caminho;
+    }
+
+    private String sharded(String extensao) {
+        String hash = UUID.randomUUID().toString().replace("-", "").repeat(2);
+        return ArmazenamentoImagens.caminho(hash, extensao);
+    }
+
+    @Test
+    void removeSoOsArquivosSemReferenciaForaDaCarenciaTest() throws IOException {
+        String orfao = arquivo(UUID.randomUUID() + "_orfao.png", "orfao");
+        String orfaoNoLayout = arquivo(sharded(".png"), "orfao no layout");
+        String temporario = arquivo(".upload-" + UUID.randomUUID() + ".tmp", "pela metade");
+        String usado = arquivo(sharded(".png"), "usado");
+        String thumbDoUsado = arquivo(VariantesImagem.nomeVariante(usado, VariantesImagem.Variante.THUMB), "thumb");
+        String thumbSemOriginal = arquivo(VariantesImagem.nomeVariante(orfaoNoLayout, VariantesImagem.Variante.THUMB), "t");
+        String soNoBlob = arquivo(sharded(".jpg"), "so no blob");
+        String recente = UUID.randomUUID() + "_recente.png";
+        Files.writeString(UPLOADS.resolve(recente), "acabou de chegar");
+        evento(usado);
+
+        ImagemBlob blob = new ImagemBlob();
+        blob.setHash(ArmazenamentoImagens.hashDe(soNoBlob));
+        blob.setArquivo(soNoBlob);
+        blob.setTamanho(10L);
+        blob.setReferencias(1);
+        imagemBlobRepository.save(blob);
+
+        double bytesAntes = meterRegistry.counter("uploads.reconciliacao.bytes.liberados").count();
+        ReconciliacaoUploadsDto resultado = reconciliadorUploads.reconciliar();
+
+        assertFalse(Files.exists(UPLOADS.resolve(orfao)));
+        assertFalse(Files.exists(UPLOADS.resolve(orfaoNoLayout)));
+        assertFalse(Files.exists(UPLOADS.resolve(temporario)));
+        assertFalse(Files.exists(UPLOADS.resolve(thumbSemOriginal)));
+        assertTrue(Files.exists(UPLOADS.resolve(usado)));
+        assertTrue(Files.exists(UPLOADS.resolve(thumbDoUsado)));
+        assertTrue(Files.exists(UPLOADS.resolve(soNoBlob)));
+        assertTrue(Files.exists(UPLOADS.resolve(recente)));
+
+        // pode haver sobras antigas de outros testes no diretorio; os deste teste tem que estar contados
+        long esperados = "orfao".length() + "orfao no layout".length() + "pela metade".length() + "t".length();
+        assertTrue(resultado.getRemovidos() >= 4);
+        assertTrue(resultado.getBytesLiberados() >= esperados);
+        assertEquals(resultado.getBytesLiberados(),
+                meterRegistry.counter("uploads.reconciliacao.bytes.liberados").count() - bytesAntes);
+        Files.delete(UPLOADS.resolve(recente));
+    }
+
+    @Test
+    void reportaEventosComImagemInexistenteTest() throws IOException {
+        String sumiu = sharded(".png");
+        evento(sumiu);
+        evento(sumiu);
+        evento(arquivo(sharded(".png"), "existe"));
+
+        ReconciliacaoUploadsDto resultado = reconciliadorUploads.reconciliar();
+
+        assertEquals(1, resultado.getReferenciasQuebradas());
+        assertEquals(List.of(sumiu), resultado.getQuebradas());
+        assertEquals(1.0, meterRegistry.get("uploads.reconciliacao.referencias.quebradas").gauge().value());
+    }
+}
@@ -0,0 +1,100 @@
+package com.infnet.artigoEventos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final String SEGREDO = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private TokenService tokenService() {
+        return new TokenService(new ObjectMapper(), SEGREDO, Duration.ofMinutes(15), Duration.ofDays(7));
+    }
+
+    @Test
+    void emitirEValidarAcessoTest() {
+        TokenService tokenService = tokenService();
+
+        String token = tokenService.emitirAcesso("ana@test.com", List.of("ROLE_ADMIN"));
+        TokenService.Token validado = tokenService.validar(token, TokenService.ACESSO);
+
+        assertEquals("ana@test.com", validado.email());
+        assertEquals(List.of("ROLE_ADMIN"), validado.papeis());
+    }
+
+    @Test
+    void tokenAdulteradoTest() {
+        TokenService tokenService = tokenService();
+        String token = tokenService.emitirAcesso("ana@test.com", List.of());
+        String[] partes = token.split("\\.");
+        String outroConteudo = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"sub\":\"admin@test.com\",\"typ\":\"access\",\"roles\":[\"ROLE_ADMIN\"],\"exp\":9999999999}".getBytes());
+
+        assertThrows(IllegalArgumentException.class, () ->
+                tokenService.validar(partes[0] + "." + outroConteudo + "." + partes[2], TokenService.ACESSO));
+        assertThrows(IllegalArgumentException.class, () -> tokenService.validar("abc", TokenService.ACESSO));
+        assertThrows(IllegalArgumentException.class, () -> tokenService.validar(null, TokenService.ACESSO));
+    }
+
+    @Test
+    void chaveDiferenteNaoValidaTest() {
+        String token = tokenService().emitirAcesso("ana@test.com", List.of());
+        TokenService outro = new TokenService(new ObjectMapper(),
+                Base64.getEncoder().encodeToString("outra-chave-com-pelo-menos-32-bytes".getBytes()),
+                Duration.ofMinutes(15), Duration.ofDays(7));
+
+        assertThrows(IllegalArgumentException.class, () -> outro.validar(token, TokenService.ACESSO));
+    }
+
+    @Test
+    void tipoErradoTest() {
+        TokenService tokenService = tokenService();
+
+        String refresh = tokenService.emitirRefresh("ana@test.com", 0);
+        String acesso = tokenService.emitirAcesso("ana@test.com", List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> tokenService.validar(refresh, TokenService.ACESSO));
+        assertThrows(IllegalArgumentException.class, () -> tokenService.validar(acesso, TokenService.REFRESH));
+        assertEquals("ana@test.com", tokenService.validar(refresh, TokenService.REFRESH).email());
+    }
+
+    @Test
+    void refreshLevaAVersaoTest() {
+        TokenService tokenService = tokenService();
+
+        String refresh = tokenService.emitirRefresh("ana@test.com", 3);
+
+        assertEquals(3, tokenService.validar(refresh, TokenService.REFRESH).versao());
+    }
+
+    @Test
+    void tokenExpiradoTest() {
+        TokenService tokenService = tokenService();
+        Instant inicio = Instant.parse("2030-01-01T10:00:00Z");
+        tokenService.setClock(Clock.fixed(inicio, ZoneOffset.UTC));
+        String token = tokenService.emitirAcesso("ana@test.com", List.of());
+
+        tokenService.setClock(Clock.fixed(inicio.plus(Duration.ofMinutes(16)), ZoneOffset.UTC));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                tokenService.validar(token, TokenService.ACESSO));
+        assertEquals("Token expirado", e.getMessage());
+    }
+
+    @Test
+    void segredoCurtoTest() {
+        String curto = Base64.getEncoder().encodeToString(new byte[16]);
+
+        assertThrows(IllegalStateException.class, () ->
+                new TokenService(new ObjectMapper(), curto, Duration.ofMinutes(15), Duration.ofDays(7)));
+    }
+}
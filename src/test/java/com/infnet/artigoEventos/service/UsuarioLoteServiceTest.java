@@ -0,0 +1,100 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.dto.CadastroLoteDto;
+import com.infnet.artigoEventos.dto.ImportacaoLinhaDto;
+import com.infnet.artigoEventos.dto.LoginDto;
+import com.infnet.artigoEventos.dto.UsuarioDto;
+import com.infnet.artigoEventos.repository.EventoRepository;
+import com.infnet.artigoEventos.repository.ParticipanteRepository;
+import com.infnet.artigoEventos.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.usuarios.lote.tamanho=100")
+@ActiveProfiles("test")
+class UsuarioLoteServiceTest {
+
+    @Autowired
+    private UsuarioLoteService usuarioLoteService;
+    @Autowired
+    private UsuarioService usuarioService;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private EventoRepository eventoRepository;
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+
+    @BeforeEach
+    void setup() {
+        participanteRepository.deleteAll();
+        eventoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        usuarioService.signup(usuario("Existente", "existente@test.com"));
+    }
+
+    private UsuarioDto usuario(String nome, String email) {
+        UsuarioDto dto = new UsuarioDto();
+        dto.setNome(nome);
+        dto.setEmail(email);
+        dto.setSenha("123456");
+        return dto;
+    }
+
+    @Test
+    void cadastrarRelatorioPorUsuarioTest() {
+        UsuarioDto semSenha = usuario("Sem Senha", "semsenha@test.com");
+        semSenha.setSenha(null);
+
+        CadastroLoteDto resumo = usuarioLoteService.cadastrar(List.of(
+                usuario("Ana", "ana@test.com"),
+                usuario("Existente", "existente@test.com"),
+                semSenha,
+                usuario("Ana de novo", "ana@test.com"),
+                usuario("Bruno", "bruno@test.com")));
+
+        assertEquals(5, resumo.getTotal());
+        assertEquals(2, resumo.getInseridos());
+        assertEquals(2, resumo.getDuplicados());
+        assertEquals(1, resumo.getInvalidos());
+        assertEquals(List.of(
+                        ImportacaoLinhaDto.INSERIDO, ImportacaoLinhaDto.DUPLICADO, ImportacaoLinhaDto.INVALIDO,
+                        ImportacaoLinhaDto.DUPLICADO, ImportacaoLinhaDto.INSERIDO),
+                resumo.getResultados().stream().map(ImportacaoLinhaDto::getSituacao).toList());
+        assertEquals("Senha é obrigatória", resumo.getResultados().get(2).getMensagem());
+        assertEquals(3, usuarioRepository.count());
+
+        LoginDto login = new LoginDto();
+        login.setEmail("bruno@test.com");
+        login.setSenha("123456");
+        assertEquals("Bruno", usuarioService.login(login).getNome());
+    }
+
+    @Test
+    void cadastrarEmVariosLotesTest() {
+        List<UsuarioDto> usuarios = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            usuarios.add(usuario("Usuario " + i, "u" + i + "@test.com"));
+        }
+
+        CadastroLoteDto resumo = usuarioLoteService.cadastrar(usuarios);
+
+        assertEquals(250, resumo.getInseridos());
+        assertEquals(251, usuarioRepository.count());
+        assertTrue(resumo.getUsuariosPorSegundo() > 0);
+        assertEquals(250, resumo.getResultados().get(249).getLinha());
+    }
+
+    @Test
+    void cadastrarListaVaziaTest() {
+        assertThrows(IllegalArgumentException.class, () -> usuarioLoteService.cadastrar(List.of()));
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -90,6 +91,19 @@ class UsuarioServiceTest {
         assertNotEquals(usuarioDto.getSenha() + "7654321", atualizado.getSenha());
     }
 
+    @Test
+    public void updateUsuarioTrocaSenhaSobeVersaoDoTokenTest() {
+        Integer id = usuarioRepository.findByEmail(usuarioDto.getEmail()).orElseThrow().getId();
+        UsuarioUpdateDto soNome = new UsuarioUpdateDto();
+        soNome.setNome("Outro Nome");
+        UsuarioUpdateDto comSenha = new UsuarioUpdateDto();
+        comSenha.setSenha("nova-senha");
+
+        assertEquals(0, usuarioService.updateUsuario(id, soNome).getTokenVersao());
+        assertEquals(1, usuarioService.updateUsuario(id, comSenha).getTokenVersao());
+        assertEquals(1, usuarioRepository.findById(id).orElseThrow().getTokenVersao());
+    }
+
     @Test
     public void updateUsuarioNaoEncontradoTest() {
         UsuarioUpdateDto updateDto = new UsuarioUpdateDto();
@@ -101,6 +115,22 @@ class UsuarioServiceTest {
         });
     }
 
+    @Test
+    public void loginRefazHashAntigoTest() {
+        Usuario usuario = usuarioRepository.findByEmail("email@test.com").orElseThrow();
+        usuario.setSenha(new BCryptPasswordEncoder(4).encode("123456"));
+        usuarioRepository.save(usuario);
+
+        LoginDto loginDto = new LoginDto();
+        loginDto.setEmail("email@test.com");
+        loginDto.setSenha("123456");
+        usuarioService.login(loginDto);
+
+        String novoHash = usuarioRepository.findByEmail("email@test.com").orElseThrow().getSenha();
+        assertTrue(novoHash.startsWith("{bcrypt}$2a$04$"));
+        assertEquals(novoHash, usuarioService.login(loginDto).getSenha());
+    }
+
     @Test
     public void deleteUsuarioTest() {
         assertDoesNotThrow(() -> usuarioService.deleteUsuario(1));
@@ -121,6 +151,20 @@ class UsuarioServiceTest {
         assertNotNull(user.getPassword());
     }
 
+    @Test
+    public void loadUserByUsernameAdminTest() {
+        UsuarioDto admin = new UsuarioDto();
+        admin.setNome("Admin");
+        admin.setEmail("admin@test.com");
+        admin.setSenha("123456");
+        usuarioService.signup(admin);
+
+        UserDetails user = usuarioService.loadUserByUsername("admin@test.com");
+
+        assertTrue(user.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+        assertTrue(usuarioService.loadUserByUsername("email@test.com").getAuthorities().isEmpty());
+    }
+
     @Test
     public void loadUserByUsernameNaoEncontradoTest() {
         assertThrows(UsernameNotFoundException.class, () -> {
@@ -0,0 +1,72 @@
+package com.infnet.artigoEventos.service;
+
+import com.infnet.artigoEventos.repository.EventoRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class VagasEventoTest {
+
+    private VagasEvento vagasEvento(EventoRepository repository) {
+        VagasEvento vagas = new VagasEvento();
+        ReflectionTestUtils.setField(vagas, "eventoRepository", repository);
+        return vagas;
+    }
+
+    @Test
+    void reservasSimultaneasNaoPassamDaCapacidadeTest() throws Exception {
+        EventoRepository repository = Mockito.mock(EventoRepository.class);
+        when(repository.findTotalParticipantesById(1)).thenReturn(Optional.of(3));
+        VagasEvento vagas = vagasEvento(repository);
+
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<Boolean>> tentativas = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tentativas.add(pool.submit(() -> {
+                largada.await();
+                return vagas.reservar(1, 50);
+            }));
+        }
+        largada.countDown();
+
+        int confirmadas = 0;
+        for (Future<Boolean> tentativa : tentativas) {
+            if (tentativa.get()) {
+                confirmadas++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(47, confirmadas);
+        assertEquals(50, vagas.ocupadas(1));
+    }
+
+    @Test
+    void reconciliarComOBancoTest() {
+        EventoRepository repository = Mockito.mock(EventoRepository.class);
+        when(repository.findTotalParticipantesById(1)).thenReturn(Optional.of(10));
+        VagasEvento vagas = vagasEvento(repository);
+        assertFalse(vagas.reservar(1, 10));
+
+        when(repository.findTotalParticipantesById(1)).thenReturn(Optional.of(4));
+        vagas.reconciliar();
+        assertEquals(4, vagas.ocupadas(1));
+        assertTrue(vagas.reservar(1, 10));
+
+        when(repository.findTotalParticipantesById(1)).thenReturn(Optional.empty());
+        vagas.reconciliar();
+        assertEquals(-1, vagas.ocupadas(1));
+    }
+}
@@ -0,0 +1,153 @@
+package com.infnet.artigoEventos.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VariantesImagemTest {
+
+    @TempDir
+    Path dir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VariantesImagem variantes;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        variantes = new VariantesImagem(dir.toString(), 1, 4, 3, meterRegistry);
+        ReflectionTestUtils.setField(variantes, "qualidade", 0.8f);
+        ReflectionTestUtils.setField(variantes, "maximoPixels", 40_000_000L);
+    }
+
+    @AfterEach
+    void encerrar() {
+        variantes.encerrar();
+    }
+
+    private String png(String nome, int largura, int altura) throws IOException {
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < largura; x++) {
+            for (int y = 0; y < altura; y++) {
+                imagem.setRGB(x, y, (x * 7 + y * 13) % 2 == 0 ? 0xFF3366CC : 0x00000000);
+            }
+        }
+        ImageIO.write(imagem, "png", dir.resolve(nome).toFile());
+        return nome;
+    }
+
+    private BufferedImage variante(String filename, VariantesImagem.Variante variante) throws IOException {
+        return ImageIO.read(dir.resolve(VariantesImagem.nomeVariante(filename, variante)).toFile());
+    }
+
+    @Test
+    void geraVariantesReduzidasMantendoProporcaoTest() throws IOException {
+        String filename = png("uuid_foto.png", 2000, 1000);
+
+        assertEquals(2, variantes.gerar(filename));
+
+        BufferedImage thumb = variante(filename, VariantesImagem.Variante.THUMB);
+        assertEquals(240, thumb.getWidth());
+        assertEquals(120, thumb.getHeight());
+        BufferedImage medium = variante(filename, VariantesImagem.Variante.MEDIUM);
+        assertEquals(960, medium.getWidth());
+        assertEquals(480, medium.getHeight());
+        assertEquals(2.0, meterRegistry.counter("imagens.variantes.geradas").count());
+
+        // ja existem: nada a refazer
+        assertEquals(0, variantes.gerar(filename));
+        try (var arquivos = Files.list(dir)) {
+            assertTrue(arquivos.noneMatch(p -> p.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void naoAmpliaImagemPequenaTest() throws IOException {
+        String filename = png("uuid_pequena.png", 100, 300);
+
+        variantes.gerar(filename);
+
+        BufferedImage thumb = variante(filename, VariantesImagem.Variante.THUMB);
+        assertEquals(80, thumb.getWidth());
+        assertEquals(240, thumb.getHeight());
+        BufferedImage medium = variante(filename, VariantesImagem.Variante.MEDIUM);
+        assertEquals(100, medium.getWidth());
+        assertEquals(300, medium.getHeight());
+    }
+
+    @Test
+    void arquivoQueNaoEImagemFicaSemVariantesTest() throws IOException {
+        Files.writeString(dir.resolve("uuid_texto.png"), "nao sou uma imagem");
+
+        assertEquals(0, variantes.gerar("uuid_texto.png"));
+        assertNull(variantes.resolver("uuid_texto.png", VariantesImagem.Variante.THUMB));
+        assertEquals(0, variantes.getPendentes());
+        assertFalse(Files.exists(dir.resolve(VariantesImagem.nomeVariante("uuid_texto.png", VariantesImagem.Variante.THUMB))));
+    }
+
+    @Test
+    void marcacaoDeSemVariantesTemLimiteTest() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            Files.writeString(dir.resolve("uuid_texto" + i + ".png"), "nao sou uma imagem");
+            assertEquals(0, variantes.gerar("uuid_texto" + i + ".png"));
+        }
+
+        assertTrue(variantes.getSemVariantes() <= 3);
+    }
+
+    @Test
+    void imagemAcimaDoLimiteDePixelsNaoEDecodificadaTest() throws IOException {
+        ReflectionTestUtils.setField(variantes, "maximoPixels", 1_000L);
+        String filename = png("uuid_grande.png", 100, 100);
+
+        assertEquals(0, variantes.gerar(filename));
+        assertFalse(Files.exists(dir.resolve(VariantesImagem.nomeVariante(filename, VariantesImagem.Variante.MEDIUM))));
+    }
+
+    @Test
+    void resolverDevolveNullEGeraEmSegundoPlanoTest() throws Exception {
+        String filename = png("uuid_foto.png", 800, 600);
+
+        assertNull(variantes.resolver(filename, VariantesImagem.Variante.THUMB));
+
+        Path thumb = null;
+        for (int i = 0; i < 100 && thumb == null; i++) {
+            Thread.sleep(50);
+            thumb = variantes.resolver(filename, VariantesImagem.Variante.THUMB);
+        }
+        assertNotNull(thumb);
+        assertEquals(VariantesImagem.nomeVariante(filename, VariantesImagem.Variante.THUMB), thumb.getFileName().toString());
+    }
+
+    @Test
+    void removerApagaAsVariantesTest() throws IOException {
+        String filename = png("uuid_foto.png", 500, 500);
+        variantes.gerar(filename);
+
+        variantes.remover(filename);
+
+        for (VariantesImagem.Variante variante : VariantesImagem.Variante.values()) {
+            assertFalse(Files.exists(dir.resolve(VariantesImagem.nomeVariante(filename, variante))));
+        }
+        assertTrue(Files.exists(dir.resolve(filename)));
+    }
+
+    @Test
+    void nomeDaVarianteTest() {
+        assertEquals("abc_foto.thumb.jpg", VariantesImagem.nomeVariante("abc_foto.png", VariantesImagem.Variante.THUMB));
+        assertEquals("abc_foto.medium.jpg", VariantesImagem.nomeVariante("abc_foto", VariantesImagem.Variante.MEDIUM));
+        assertEquals(VariantesImagem.Variante.MEDIUM, VariantesImagem.Variante.de("Medium"));
+        assertThrows(IllegalArgumentException.class, () -> VariantesImagem.Variante.de("gigante"));
+    }
+}
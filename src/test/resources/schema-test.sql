@@ -0,0 +1,5 @@
+-- o dialeto SQLite do Hibernate nao gera restricoes UNIQUE no ddl-auto=create;
+-- recria aqui a do schema.sql de producao que o cadastro de participantes usa
+CREATE UNIQUE INDEX IF NOT EXISTS uk_participante_email_evento ON participante(email, evento_id)^;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_lista_espera_email_evento ON lista_espera(email, evento_id)^;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_usuarios_email ON usuarios(email)^;